@@ -9,6 +9,7 @@ class ApiEndpoints {
   // Transaction endpoints
   static const String transactions = '/transactions';
   static const String transactionById = '/transactions/{id}';
+  static const String transactionSearch = '/transactions/search';
   static const String smsBatch = '/transactions/sms/batch';
   
   // Dashboard endpoints
@@ -108,10 +108,45 @@ class ApiService {
   }
 
   // Transaction methods
-  Future<List<Transaction>> getTransactions() async {
-    final response = await _dio.get(ApiEndpoints.transactions);
+  /// One page of transactions, newest first, and the cursor of the next page
+  /// (null on the last one); pass it back as [cursor] to read on.
+  /// [filters] must be the same for every page: from, to (ISO date-times),
+  /// category, merchant (prefix), origin, direction (DEBIT/CREDIT), minAmount,
+  /// maxAmount.
+  Future<({List<Transaction> items, String? nextCursor})> getTransactions({
+    Map<String, dynamic> filters = const {},
+    String? cursor,
+    int limit = 100,
+  }) async {
+    final response = await _dio.get(
+      ApiEndpoints.transactions,
+      queryParameters: {...filters, 'limit': limit, if (cursor != null) 'cursor': cursor},
+    );
     final List<dynamic> data = response.data;
-    return data.map((json) => Transaction.fromJson(json)).toList();
+    return (
+      items: data.map((json) => Transaction.fromJson(json)).toList(),
+      nextCursor: response.headers.value('x-next-cursor'),
+    );
+  }
+
+  /// Ranked full-text search over SMS text and merchants. Returns the page's
+  /// transactions, the total number of hits, and the offset of the next page
+  /// (null on the last one).
+  Future<({List<Transaction> items, int total, int? nextOffset})> searchTransactions(
+    String query, {
+    int offset = 0,
+    int limit = 20,
+  }) async {
+    final response = await _dio.get(
+      ApiEndpoints.transactionSearch,
+      queryParameters: {'q': query, 'offset': offset, 'limit': limit},
+    );
+    final List<dynamic> items = response.data['items'];
+    return (
+      items: items.map((json) => Transaction.fromJson(json)).toList(),
+      total: response.data['total'] as int,
+      nextOffset: response.data['nextOffset'] as int?,
+    );
   }
 
   Future<Transaction> createTransaction(Transaction transaction) async {
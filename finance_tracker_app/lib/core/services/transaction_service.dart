@@ -14,6 +14,11 @@ class TransactionService {
   List<Transaction> _transactions = [];
   List<Transaction> get transactions => _transactions;
 
+  // Cursor of the next page on the server, null once the last page is loaded.
+  String? _nextCursor;
+  bool _loadingMore = false;
+  bool get hasMore => _nextCursor != null;
+
   // Initialize transaction service
   Future<void> initialize() async {
     _transactionBox = await Hive.openBox<Transaction>('transactions');
@@ -31,13 +36,14 @@ class TransactionService {
     }
   }
 
-  // Get all transactions
+  // Get the newest page of transactions; loadMoreTransactions reads on
   Future<List<Transaction>> getTransactions() async {
     try {
       // Try to fetch from API first
-      final apiTransactions = await _apiService.getTransactions();
-      if (apiTransactions.isNotEmpty) {
-        _transactions = apiTransactions;
+      final page = await _apiService.getTransactions();
+      _nextCursor = page.nextCursor;
+      if (page.items.isNotEmpty) {
+        _transactions = page.items;
         await _saveTransactions();
         return _transactions;
       }
@@ -50,6 +56,27 @@ class TransactionService {
     return _transactions;
   }
 
+  // Append the next page, if there is one and it is not already loading;
+  // on failure the cursor is kept, so a retry reads the same page
+  Future<List<Transaction>> loadMoreTransactions() async {
+    if (_nextCursor == null || _loadingMore) {
+      return _transactions;
+    }
+    _loadingMore = true;
+    try {
+      final page = await _apiService.getTransactions(cursor: _nextCursor);
+      _transactions.addAll(page.items);
+      _nextCursor = page.nextCursor;
+      await _saveTransactions();
+    } catch (e) {
+      print('Error loading more transactions: $e');
+      rethrow;
+    } finally {
+      _loadingMore = false;
+    }
+    return _transactions;
+  }
+
   // Get transactions by date range
   Future<List<Transaction>> getTransactionsByDateRange(DateTime start, DateTime end) async {
     await _loadTransactions();
@@ -237,15 +264,26 @@ class TransactionService {
 
   // Sync with backend
   Future<bool> syncWithBackend() async {
+    if (_transactions.isEmpty) {
+      await getTransactions();
+      return true;
+    }
     try {
-      final apiTransactions = await _apiService.getTransactions();
-      
-      // Merge with local transactions
+      // New transactions come first, so read pages only until one holds a
+      // transaction we already have
       final localIds = _transactions.map((t) => t.id).toSet();
-      final newTransactions = apiTransactions.where((t) => !localIds.contains(t.id)).toList();
+      final newTransactions = <Transaction>[];
+      String? cursor;
+      do {
+        final page = await _apiService.getTransactions(cursor: cursor);
+        final fresh = page.items.where((t) => !localIds.contains(t.id)).toList();
+        newTransactions.addAll(fresh);
+        cursor = fresh.length == page.items.length ? page.nextCursor : null;
+      } while (cursor != null);
       
       if (newTransactions.isNotEmpty) {
         _transactions.addAll(newTransactions);
+        _transactions.sort((a, b) => b.transactionTime.compareTo(a.transactionTime));
         await _saveTransactions();
       }
       
@@ -260,6 +298,7 @@ class TransactionService {
   Future<void> clearAllTransactions() async {
     try {
       _transactions.clear();
+      _nextCursor = null;
       await _transactionBox.clear();
     } catch (e) {
       print('Error clearing transactions: $e');
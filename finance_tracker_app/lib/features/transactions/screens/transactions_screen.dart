@@ -17,6 +17,8 @@ class _TransactionsScreenState extends State<TransactionsScreen> {
   String _selectedCategory = 'All';
   String _selectedType = 'All';
   bool _isLoading = false;
+  bool _isLoadingMore = false;
+  bool _loadMoreFailed = false;
 
   final List<String> _categories = [
     'All',
@@ -72,6 +74,28 @@ class _TransactionsScreenState extends State<TransactionsScreen> {
     }
   }
 
+  // Called when the list's footer comes into view, or from its retry button
+  Future<void> _loadMoreTransactions() async {
+    if (_isLoadingMore) return;
+    setState(() {
+      _isLoadingMore = true;
+      _loadMoreFailed = false;
+    });
+
+    try {
+      final transactionService = Provider.of<TransactionService>(context, listen: false);
+      await transactionService.loadMoreTransactions();
+    } catch (e) {
+      _loadMoreFailed = true;
+    } finally {
+      if (mounted) {
+        setState(() {
+          _isLoadingMore = false;
+        });
+      }
+    }
+  }
+
   List<Transaction> _getFilteredTransactions() {
     final transactionService = Provider.of<TransactionService>(context, listen: false);
     List<Transaction> transactions = transactionService.transactions;
@@ -251,7 +275,7 @@ class _TransactionsScreenState extends State<TransactionsScreen> {
                   );
                 }
                 
-                if (transactions.isEmpty) {
+                if (transactions.isEmpty && !transactionService.hasMore) {
                   return Center(
                     child: Column(
                       mainAxisAlignment: MainAxisAlignment.center,
@@ -308,8 +332,36 @@ class _TransactionsScreenState extends State<TransactionsScreen> {
                   color: const Color(0xFF667eea),
                   child: ListView.builder(
                     padding: const EdgeInsets.all(16),
-                    itemCount: transactions.length,
+                    itemCount: transactions.length + (transactionService.hasMore ? 1 : 0),
                     itemBuilder: (context, index) {
+                      if (index == transactions.length) {
+                        // After a failed page, wait for the user to retry
+                        if (_loadMoreFailed) {
+                          return Center(
+                            child: TextButton.icon(
+                              onPressed: _loadMoreTransactions,
+                              icon: const Icon(Icons.refresh),
+                              label: const Text('Load more'),
+                            ),
+                          );
+                        }
+                        // The list builds lazily, so this footer is built only
+                        // once the user scrolls near the end
+                        if (!_isLoadingMore) {
+                          WidgetsBinding.instance.addPostFrameCallback((_) {
+                            if (mounted) _loadMoreTransactions();
+                          });
+                        }
+                        return const Padding(
+                          padding: EdgeInsets.symmetric(vertical: 16),
+                          child: Center(
+                            child: CircularProgressIndicator(
+                              valueColor: AlwaysStoppedAnimation<Color>(Color(0xFF667eea)),
+                            ),
+                          ),
+                        );
+                      }
+
                       final transaction = transactions[index];
                       final isExpense = transaction.amount < 0;
                       
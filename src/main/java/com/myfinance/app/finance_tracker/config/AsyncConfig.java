@@ -0,0 +1,91 @@
+package com.myfinance.app.finance_tracker.config;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that runs off the request thread.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.categories.recategorize.threads:2}")
+    private int recategorizeThreads;
+
+    @Value("${app.categories.recategorize.queue-capacity:100}")
+    private int recategorizeQueueCapacity;
+
+    /** 0 means one per available processor. */
+    @Value("${app.sms.parse.threads:0}")
+    private int smsParseThreads;
+
+    @Value("${app.sms.parse.queue-capacity:256}")
+    private int smsParseQueueCapacity;
+
+    /** 0 means one per available processor. */
+    @Value("${app.sms.mmap.parallelism:0}")
+    private int smsFileParseParallelism;
+
+    @Value("${app.sms.jobs.threads:2}")
+    private int smsJobThreads;
+
+    @Value("${app.sms.jobs.queue-capacity:20}")
+    private int smsJobQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor recategorizationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(recategorizeThreads);
+        executor.setMaxPoolSize(recategorizeThreads);
+        executor.setQueueCapacity(recategorizeQueueCapacity);
+        executor.setThreadNamePrefix("recategorize-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * CPU-only parse and categorize work for SMS batches. Sized to the cores;
+     * a full queue is handled by the caller running the work itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor smsParseExecutor() {
+        int threads = smsParseThreads > 0 ? smsParseThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(smsParseQueueCapacity);
+        executor.setThreadNamePrefix("sms-parse-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Background SMS file imports. Each job keeps a thread for its whole run,
+     * so the pool stays small; when the queue is full new uploads are turned
+     * away with 429 instead of piling up. Unfinished jobs are not waited for
+     * on shutdown, since they resume from their last chunk on the next start.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor smsIngestionJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(smsJobThreads);
+        executor.setMaxPoolSize(smsJobThreads);
+        executor.setQueueCapacity(smsJobQueueCapacity);
+        executor.setThreadNamePrefix("sms-job-");
+        return executor;
+    }
+
+    /** Parses pieces of memory-mapped uploads; CPU only, so sized to the cores. */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool smsFileParsePool() {
+        return new ForkJoinPool(smsFileParseParallelism > 0
+            ? smsFileParseParallelism
+            : Runtime.getRuntime().availableProcessors());
+    }
+}
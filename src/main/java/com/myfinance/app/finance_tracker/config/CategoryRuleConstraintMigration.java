@@ -0,0 +1,62 @@
+package com.myfinance.app.finance_tracker.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off drop of the old unique constraint on {@code category_rules
+ * (user_id, pattern)}.
+ *
+ * Rules used to be unique per pattern; they are now unique per pattern and
+ * predicates ({@code uk_category_rules_user_pattern_predicates}). Hibernate's
+ * schema update adds the new constraint but never drops one the entities no
+ * longer declare, and the old one would keep rejecting a second rule for a
+ * pattern. It had a generated name, so it is looked up by its columns. Once
+ * it is gone this finds nothing, so later starts are a no-op.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryRuleConstraintMigration implements SmartInitializingSingleton {
+
+    /** Unique constraints on category_rules made of exactly user_id and pattern. */
+    private static final String FIND_OLD_CONSTRAINT =
+        "SELECT tc.constraint_name FROM information_schema.table_constraints tc"
+        + " JOIN information_schema.key_column_usage kcu ON kcu.constraint_schema = tc.constraint_schema"
+        + " AND kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name"
+        + " WHERE LOWER(tc.table_name) = 'category_rules' AND tc.constraint_type = 'UNIQUE'"
+        + " AND tc.table_schema = %s"
+        + " GROUP BY tc.constraint_name"
+        + " HAVING COUNT(*) = 2"
+        + " AND SUM(CASE WHEN LOWER(kcu.column_name) IN ('user_id', 'pattern') THEN 1 ELSE 0 END) = 2";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product) && !"PostgreSQL".equals(product) && !"MySQL".equals(product)) {
+            log.warn("Not checking category_rules constraints on unsupported database {}", product);
+            return;
+        }
+        String schema = "MySQL".equals(product) ? "DATABASE()" : "CURRENT_SCHEMA";
+        List<String> names = jdbcTemplate.queryForList(FIND_OLD_CONSTRAINT.formatted(schema), String.class);
+        for (String name : names) {
+            // MySQL implements unique constraints as indexes and drops them as such.
+            jdbcTemplate.execute("MySQL".equals(product)
+                ? "ALTER TABLE category_rules DROP INDEX `" + name + "`"
+                : "ALTER TABLE category_rules DROP CONSTRAINT \"" + name + "\"");
+            log.info("Dropped unique constraint {} on category_rules (user_id, pattern)", name);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.myfinance.app.finance_tracker.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.myfinance.app.finance_tracker.service.UploadDecompressor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Accepts request bodies sent with {@code Content-Encoding: gzip} (e.g. a
+ * JSON SMS batch from the PWA on mobile data) and hands them on inflated,
+ * under the limits of {@link UploadDecompressor}. Other encodings, and gzip
+ * on multipart requests (whose parts the container parses from the raw
+ * body), are answered 415; compressed files are uploaded as .gz or .zip
+ * parts instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private final UploadDecompressor decompressor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.trim().equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String contentType = request.getContentType();
+        boolean gzip = encoding.trim().equalsIgnoreCase("gzip") || encoding.trim().equalsIgnoreCase("x-gzip");
+        if (!gzip || (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE))) {
+            response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+        filterChain.doFilter(new InflatedRequest(request, decompressor.gunzip(request.getInputStream())), response);
+    }
+
+    /** The request with its body inflated and the encoding and length headers gone. */
+    private static final class InflatedRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream body;
+
+        InflatedRequest(HttpServletRequest request, InputStream inflated) {
+            super(request);
+            this.body = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = inflated.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = inflated.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Inflated request bodies are read blocking");
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(body, charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isDropped(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isDropped(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(InflatedRequest::isDropped);
+            return Collections.enumeration(names);
+        }
+
+        private static boolean isDropped(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.myfinance.app.finance_tracker.config;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off move from identity columns to the pooled id sequences.
+ *
+ * Hibernate's schema update creates {@code users_seq}, {@code category_rules_seq}
+ * and {@code transactions_seq} starting at 1, which on a database that already
+ * has rows would hand out ids that are taken. Once the schema is up to date,
+ * and before the web server accepts requests, each sequence is moved to
+ * {@code MAX(id) + allocationSize}, the smallest value whose pooled block
+ * ({@code [v - 49, v]}) lies past every existing id. Sequences already past
+ * that point are left alone, so this is a no-op after the first start.
+ *
+ * MySQL has no sequences; there Hibernate keeps the next value in a one-row
+ * table of the same name, which is updated instead.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceMigration implements SmartInitializingSingleton {
+
+    /** Must match {@code allocationSize} on the entities' {@code @SequenceGenerator}s. */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+        "users", "users_seq",
+        "category_rules", "category_rules_seq",
+        "transactions", "transactions_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product) && !"PostgreSQL".equals(product) && !"MySQL".equals(product)) {
+            log.warn("Not syncing id sequences on unsupported database {}", product);
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> sync(product, table, sequence));
+    }
+
+    private void sync(String product, String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long target = maxId + ALLOCATION_SIZE;
+        long next = nextValue(product, sequence);
+        if (next >= target) {
+            return;
+        }
+        switch (product) {
+            case "PostgreSQL" -> jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', ?, false)", Long.class, target);
+            // H2 does not take a parameter here.
+            case "H2" -> jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + target);
+            default -> jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", target);
+        }
+        log.info("Moved {} from {} to {}, past the existing ids in {}", sequence, next, target, table);
+    }
+
+    /** The value the next fetch from the sequence will return. */
+    private long nextValue(String product, String sequence) {
+        Long next = switch (product) {
+            case "PostgreSQL" -> jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value + " + ALLOCATION_SIZE + " ELSE last_value END FROM "
+                    + sequence, Long.class);
+            case "H2" -> jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?", Long.class,
+                sequence.toUpperCase(Locale.ROOT));
+            default -> jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence, Long.class);
+        };
+        return next != null ? next : 1;
+    }
+}
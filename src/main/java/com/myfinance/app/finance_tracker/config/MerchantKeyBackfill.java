@@ -0,0 +1,62 @@
+package com.myfinance.app.finance_tracker.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in {@code transactions.merchant_key} for rows saved before the column
+ * existed, so merchant prefix filters find them. Runs once the schema is up
+ * to date and before the web server accepts requests, in id ranges of
+ * {@value #BATCH_IDS} so no single statement locks the whole table. Rows
+ * that already have a key are left alone, so later starts change nothing.
+ *
+ * On Postgres it also adds a {@code varchar_pattern_ops} index for the
+ * prefix LIKE: under any collation but C, Postgres will not use a plain
+ * btree for it, and {@code @Index} cannot name an operator class.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class MerchantKeyBackfill implements SmartInitializingSingleton {
+
+    static final int BATCH_IDS = 10_000;
+
+    // Must match Transaction.merchantKey().
+    private static final String BACKFILL =
+        "UPDATE transactions SET merchant_key = LOWER(COALESCE(canonical_merchant, merchant))"
+        + " WHERE id > ? AND id <= ? AND merchant_key IS NULL"
+        + " AND (canonical_merchant IS NOT NULL OR merchant IS NOT NULL)";
+
+    private static final String PATTERN_INDEX =
+        "CREATE INDEX IF NOT EXISTS idx_transactions_user_merchant_key_pattern"
+        + " ON transactions (user_id, merchant_key varchar_pattern_ops)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.execute(PATTERN_INDEX);
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long updated = 0;
+        for (long from = 0; from < maxId; from += BATCH_IDS) {
+            updated += jdbcTemplate.update(BACKFILL, from, from + BATCH_IDS);
+        }
+        if (updated > 0) {
+            log.info("Filled in merchant_key for {} transactions", updated);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.myfinance.app.finance_tracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods, such as the category dictionary's change polling.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
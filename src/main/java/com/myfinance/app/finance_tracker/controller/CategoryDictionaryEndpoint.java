@@ -0,0 +1,55 @@
+package com.myfinance.app.finance_tracker.controller;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import com.myfinance.app.finance_tracker.service.StaticCategoryDictionary;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admin view of the built-in category dictionary: {@code info} shows what is
+ * loaded and {@code reload} reloads it from its file. The app has no admin
+ * role, so this is not in the web exposure; it is reached over JMX. A changed
+ * file is picked up by the poller anyway.
+ */
+@Component
+@Endpoint(id = "categorydictionary")
+@RequiredArgsConstructor
+public class CategoryDictionaryEndpoint {
+
+    private final StaticCategoryDictionary dictionary;
+
+    @ReadOperation
+    public Map<String, Object> info() {
+        return describe(dictionary.current());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> reload() {
+        try {
+            return new WebEndpointResponse<>(describe(dictionary.reload()));
+        } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("error", e.getMessage());
+            response.put("status", "error");
+            return new WebEndpointResponse<>(response, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    private static Map<String, Object> describe(StaticCategoryDictionary.Snapshot snapshot) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("version", snapshot.version());
+        info.put("source", snapshot.source());
+        info.put("keywords", snapshot.matcher().size());
+        info.put("loadedAt", snapshot.loadedAt());
+        return info;
+    }
+}
@@ -12,9 +12,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.myfinance.app.finance_tracker.dto.BulkRuleResponse;
 import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
 import com.myfinance.app.finance_tracker.dto.CategoryRuleResponse;
+import com.myfinance.app.finance_tracker.dto.RecategorizationStatusResponse;
+import com.myfinance.app.finance_tracker.dto.RuleBundle;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse;
 import com.myfinance.app.finance_tracker.service.CategoryRuleService;
+import com.myfinance.app.finance_tracker.service.RecategorizationService;
+import com.myfinance.app.finance_tracker.service.RulePreviewService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +31,8 @@ import lombok.RequiredArgsConstructor;
 public class CategoryRuleController {
 
     private final CategoryRuleService ruleService;
+    private final RecategorizationService recategorizationService;
+    private final RulePreviewService rulePreviewService;
 
     @GetMapping
     public ResponseEntity<List<CategoryRuleResponse>> listRules(Authentication auth) {
@@ -41,6 +49,31 @@ public class CategoryRuleController {
         return ResponseEntity.status(201).body(resp);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkRuleResponse> importRules(
+            Authentication auth,
+            @Valid @RequestBody RuleBundle bundle) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(ruleService.importRules(userId, bundle));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<RuleBundle> exportRules(Authentication auth) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(ruleService.exportRules(userId));
+    }
+
+    /**
+     * Dry run: how the user's existing transactions would be re-labelled if this rule were saved.
+     */
+    @PostMapping("/preview")
+    public ResponseEntity<RulePreviewResponse> previewRule(
+            Authentication auth,
+            @Valid @RequestBody CategoryRuleRequest req) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(rulePreviewService.previewRule(userId, req));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRule(
             Authentication auth,
@@ -49,4 +82,13 @@ public class CategoryRuleController {
         ruleService.deleteRule(userId, id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Progress of the background re-categorization triggered by the last rule change.
+     */
+    @GetMapping("/recategorization")
+    public ResponseEntity<RecategorizationStatusResponse> getRecategorizationStatus(Authentication auth) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(recategorizationService.getStatus(userId));
+    }
 }
\ No newline at end of file
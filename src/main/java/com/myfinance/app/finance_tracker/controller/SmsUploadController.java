@@ -2,23 +2,45 @@ package com.myfinance.app.finance_tracker.controller;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.myfinance.app.finance_tracker.dto.SmsBatchRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
 import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
-import com.myfinance.app.finance_tracker.service.TransactionService;
+import com.myfinance.app.finance_tracker.dto.SmsIngestProgress;
+import com.myfinance.app.finance_tracker.dto.SmsIngestionJobResponse;
+import com.myfinance.app.finance_tracker.exception.DecompressionLimitException;
+import com.myfinance.app.finance_tracker.service.MappedSmsFileParser;
+import com.myfinance.app.finance_tracker.service.MappedSmsFileReader;
+import com.myfinance.app.finance_tracker.service.SmsFileReader;
+import com.myfinance.app.finance_tracker.service.SmsIngestionJobService;
+import com.myfinance.app.finance_tracker.service.SmsIngestionService;
+import com.myfinance.app.finance_tracker.service.UploadDecompressor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,186 +51,248 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SmsUploadController {
 
-    private final TransactionService transactionService;
+    private final SmsIngestionService ingestionService;
+    private final SmsIngestionJobService jobService;
+    private final MappedSmsFileParser mappedParser;
+    private final UploadDecompressor decompressor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.sms.upload.max-results:1000}")
+    private int maxResults;
 
     /**
      * Upload SMS messages from a text file
      * Each line in the file should contain one SMS message
+     * Only failed messages are listed in the response; for large files use
+     * {@code /upload/text/stream}
      */
     @PostMapping("/upload/text")
     public ResponseEntity<SmsBatchResponse> uploadSmsTextFile(
             Authentication auth,
             @RequestParam("file") MultipartFile file) {
-        
-        Long userId = (Long) auth.getPrincipal();
-        
-        try {
-            List<SmsBatchRequest.SmsMessage> messages = parseTextFile(file);
-            SmsBatchRequest request = SmsBatchRequest.builder()
-                .messages(messages)
-                .build();
-            
-            SmsBatchResponse response = transactionService.processSmsBatch(userId, request);
-            return ResponseEntity.ok(response);
-            
-        } catch (IOException e) {
-            log.error("Error processing SMS file", e);
-            return ResponseEntity.badRequest().build();
-        }
+        return upload(auth, file, SmsFileReader.Format.TEXT, StandardCharsets.UTF_8);
     }
 
     /**
      * Upload SMS messages from a CSV file
-     * Expected format: timestamp,message_text
+     * Expected format: a header row, then timestamp,message_text (or columns
+     * named in the header, in any order). Decoded as {@code charset} unless
+     * the file starts with a byte order mark.
+     * Only failed messages are listed in the response; for large files use
+     * {@code /upload/csv/stream}
      */
     @PostMapping("/upload/csv")
     public ResponseEntity<SmsBatchResponse> uploadSmsCsvFile(
             Authentication auth,
-            @RequestParam("file") MultipartFile file) {
-        
-        Long userId = (Long) auth.getPrincipal();
-        
-        try {
-            List<SmsBatchRequest.SmsMessage> messages = parseCsvFile(file);
-            SmsBatchRequest request = SmsBatchRequest.builder()
-                .messages(messages)
-                .build();
-            
-            SmsBatchResponse response = transactionService.processSmsBatch(userId, request);
-            return ResponseEntity.ok(response);
-            
-        } catch (IOException e) {
-            log.error("Error processing SMS CSV file", e);
-            return ResponseEntity.badRequest().build();
-        }
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "charset", defaultValue = "UTF-8") Charset charset) {
+        return upload(auth, file, SmsFileReader.Format.CSV, charset);
     }
 
     /**
      * Upload SMS messages from WhatsApp chat export
      * Parses WhatsApp chat format and extracts SMS-like messages
+     * Only failed messages are listed in the response; for large files use
+     * {@code /upload/whatsapp/stream}
      */
     @PostMapping("/upload/whatsapp")
     public ResponseEntity<SmsBatchResponse> uploadWhatsAppChat(
             Authentication auth,
             @RequestParam("file") MultipartFile file) {
-        
+        return upload(auth, file, SmsFileReader.Format.WHATSAPP, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Upload a file of any size ({@code format} is text, csv or whatsapp).
+     * The file is read, parsed and saved one chunk at a time, and the response
+     * is NDJSON: one {@link SmsIngestProgress} line per committed chunk, then
+     * a line with the totals and {@code done} set. If the file cannot be read
+     * to the end, the last line has {@code error} set; chunks reported before
+     * it stay saved. The file is decoded as {@code charset} unless it starts
+     * with a byte order mark.
+     */
+    @PostMapping(value = "/upload/{format}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUpload(
+            Authentication auth,
+            @PathVariable String format,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "charset", defaultValue = "UTF-8") Charset charset) {
+
         Long userId = (Long) auth.getPrincipal();
-        
-        try {
-            List<SmsBatchRequest.SmsMessage> messages = parseWhatsAppChat(file);
-            SmsBatchRequest request = SmsBatchRequest.builder()
-                .messages(messages)
-                .build();
-            
-            SmsBatchResponse response = transactionService.processSmsBatch(userId, request);
-            return ResponseEntity.ok(response);
-            
-        } catch (IOException e) {
-            log.error("Error processing WhatsApp chat file", e);
+        SmsFileReader.Format fileFormat = parseFormat(format);
+        if (fileFormat == null) {
             return ResponseEntity.badRequest().build();
         }
-    }
 
-    private List<SmsBatchRequest.SmsMessage> parseTextFile(MultipartFile file) throws IOException {
-        List<SmsBatchRequest.SmsMessage> messages = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream()))) {
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty() && !line.startsWith("#")) {
-                    // Parse format: timestamp|sender|message_text
-                    String[] parts = line.split("\\|", 3);
-                    if (parts.length >= 3) {
-                        String timestamp = parts[0].trim();
-                        String sender = parts[1].trim();
-                        String messageText = parts[2].trim();
-                        
-                        messages.add(SmsBatchRequest.SmsMessage.builder()
-                            .text(messageText)
-                            .timestamp(timestamp)
-                            .build());
-                    } else {
-                        // Fallback: treat as plain message
-                        messages.add(SmsBatchRequest.SmsMessage.builder()
-                            .text(line)
-                            .timestamp(LocalDateTime.now().toString())
-                            .build());
-                    }
-                }
+        StreamingResponseBody body = out -> {
+            try (BufferedReader reader = SmsFileReader.open(decompressor.open(file.getInputStream()), charset)) {
+                ingestTo(out, userId, new SmsFileReader(reader, fileFormat));
             }
-        }
-        
-        return messages;
+        };
+        return ResponseEntity.ok(body);
     }
 
-    private List<SmsBatchRequest.SmsMessage> parseCsvFile(MultipartFile file) throws IOException {
-        List<SmsBatchRequest.SmsMessage> messages = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream()))) {
-            
-            String line;
-            boolean firstLine = true;
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false; // Skip header
-                    continue;
+    /**
+     * Like {@link #streamUpload}, for very large files: the upload is spooled
+     * to a temporary file, memory-mapped, and parsed in parallel pieces (see
+     * {@link MappedSmsFileReader}) while earlier messages are being saved.
+     * Same NDJSON response, with messages in file order.
+     */
+    @PostMapping(value = "/upload/{format}/parallel", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> parallelUpload(
+            Authentication auth,
+            @PathVariable String format,
+            @RequestParam("file") MultipartFile file) {
+
+        Long userId = (Long) auth.getPrincipal();
+        SmsFileReader.Format fileFormat = parseFormat(format);
+        if (fileFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            Path spool = Files.createTempFile("sms-upload-", ".txt");
+            try {
+                // Mapping needs the plain file, so a compressed upload is inflated into the spool.
+                try (InputStream content = decompressor.open(file.getInputStream())) {
+                    Files.copy(content, spool, StandardCopyOption.REPLACE_EXISTING);
+                } catch (DecompressionLimitException e) {
+                    writeLine(out, SmsIngestProgress.builder().done(true).error(e.getMessage()).build());
+                    return;
                 }
-                
-                String[] parts = line.split(",", 2);
-                if (parts.length >= 2) {
-                    String timestamp = parts[0].trim();
-                    String text = parts[1].trim();
-                    
-                    messages.add(SmsBatchRequest.SmsMessage.builder()
-                        .text(text)
-                        .timestamp(timestamp)
-                        .build());
+                try (MappedSmsFileReader messages = mappedParser.open(spool, fileFormat)) {
+                    ingestTo(out, userId, messages);
                 }
+            } finally {
+                Files.deleteIfExists(spool);
             }
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Queue a file of any size for background import ({@code format} is text,
+     * csv or whatsapp). Responds 202 with the job; poll {@code GET /api/sms/jobs/{id}}
+     * for progress. Responds 429 with Retry-After when the import queue is full.
+     */
+    @PostMapping("/upload/{format}/async")
+    public ResponseEntity<SmsIngestionJobResponse> submitUpload(
+            Authentication auth,
+            @PathVariable String format,
+            @RequestParam("file") MultipartFile file) {
+
+        Long userId = (Long) auth.getPrincipal();
+        SmsFileReader.Format fileFormat = parseFormat(format);
+        if (fileFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            SmsIngestionJobResponse job = jobService.submit(userId, fileFormat, file.getOriginalFilename(), content);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/sms/jobs/" + job.getId()))
+                .body(job);
+        } catch (IOException e) {
+            log.error("Error spooling SMS {} file", fileFormat, e);
+            return ResponseEntity.badRequest().build();
         }
-        
-        return messages;
     }
 
-    private List<SmsBatchRequest.SmsMessage> parseWhatsAppChat(MultipartFile file) throws IOException {
-        List<SmsBatchRequest.SmsMessage> messages = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yy, HH:mm");
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream()))) {
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                
-                // Look for WhatsApp message format: [date, time] sender: message
-                if (line.matches("\\[\\d{1,2}/\\d{1,2}/\\d{2}, \\d{1,2}:\\d{2}\\] .*: .*")) {
-                    // Extract timestamp and message
-                    int timestampEnd = line.indexOf("]");
-                    int messageStart = line.indexOf(": ", timestampEnd) + 2;
-                    
-                    if (timestampEnd > 0 && messageStart > 2) {
-                        String timestampStr = line.substring(1, timestampEnd);
-                        String messageText = line.substring(messageStart);
-                        
-                        try {
-                            LocalDateTime timestamp = LocalDateTime.parse(timestampStr, formatter);
-                            messages.add(SmsBatchRequest.SmsMessage.builder()
-                                .text(messageText)
-                                .timestamp(timestamp.toString())
-                                .build());
-                        } catch (Exception e) {
-                            log.warn("Could not parse timestamp: {}", timestampStr);
+    /** Progress of a background import: counts so far and, while running, rate and ETA. */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SmsIngestionJobResponse> getJob(Authentication auth, @PathVariable Long id) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(jobService.getJob(userId, id));
+    }
+
+    /**
+     * Same pipeline as {@link #streamUpload}, with the chunks gathered into
+     * one response. Of the per-message results only failures are kept, and
+     * at most {@code maxResults} of those, so a large file does not build a
+     * response the size of its import.
+     */
+    private ResponseEntity<SmsBatchResponse> upload(Authentication auth, MultipartFile file,
+                                                    SmsFileReader.Format format, Charset charset) {
+        Long userId = (Long) auth.getPrincipal();
+        List<SmsBatchResponse.TransactionResult> results = new ArrayList<>();
+        List<SmsBatchResponse.ChunkTiming> chunks = new ArrayList<>();
+        long[] parseMillis = new long[1];
+        boolean[] truncated = new boolean[1];
+
+        try (BufferedReader reader = SmsFileReader.open(decompressor.open(file.getInputStream()), charset)) {
+            SmsIngestProgress totals = ingestionService.ingest(userId, new SmsFileReader(reader, format),
+                progress -> {
+                    for (SmsBatchResponse.TransactionResult result : progress.getResults()) {
+                        if (result.getOutcome() != SmsBatchResponse.Outcome.FAILED) {
+                            continue;
+                        }
+                        if (results.size() < maxResults) {
+                            results.add(result);
+                        } else {
+                            truncated[0] = true;
                         }
                     }
-                }
+                    chunks.add(progress.getChunk());
+                    parseMillis[0] += progress.getParseMillis();
+                });
+            return ResponseEntity.ok(SmsBatchResponse.builder()
+                .totalProcessed(totals.getTotalProcessed())
+                .successfulTransactions(totals.getSuccessfulTransactions())
+                .failedTransactions(totals.getFailedTransactions())
+                .duplicateTransactions(totals.getDuplicateTransactions())
+                .results(results)
+                .resultsTruncated(truncated[0])
+                .parseMillis(parseMillis[0])
+                .chunks(chunks)
+                .build());
+
+        } catch (IOException | UncheckedIOException e) {
+            if (e instanceof DecompressionLimitException || e.getCause() instanceof DecompressionLimitException) {
+                log.warn("Refused SMS {} file: {}", format, e.getMessage());
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
             }
+            log.error("Error processing SMS {} file", format, e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Ingests {@code messages}, writing a progress line per chunk and then the
+     * totals. A read failure ends the stream with an error line instead.
+     */
+    private void ingestTo(OutputStream out, Long userId, Iterator<SmsMessage> messages) {
+        SmsIngestProgress last;
+        try {
+            last = ingestionService.ingest(userId, messages, progress -> writeLine(out, progress));
+        } catch (UncheckedIOException e) {
+            log.error("Error streaming SMS upload", e);
+            last = SmsIngestProgress.builder()
+                .done(true)
+                .error(e.getCause() instanceof DecompressionLimitException
+                    ? e.getCause().getMessage()
+                    : "Could not read the uploaded file")
+                .build();
+        }
+        writeLine(out, last);
+    }
+
+    /** Null for anything but text, csv or whatsapp. */
+    private static SmsFileReader.Format parseFormat(String format) {
+        try {
+            return SmsFileReader.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeLine(OutputStream out, SmsIngestProgress progress) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(progress));
+            out.write('\n');
+            // Push each chunk's line to the client now rather than when the buffer fills.
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
-        return messages;
     }
-} 
\ No newline at end of file
+}
@@ -4,18 +4,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.myfinance.app.finance_tracker.dto.SmsBatchRequest;
 import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.dto.TransactionPage;
 import com.myfinance.app.finance_tracker.dto.TransactionRequest;
 import com.myfinance.app.finance_tracker.dto.TransactionResponse;
+import com.myfinance.app.finance_tracker.dto.TransactionSearchPage;
 import com.myfinance.app.finance_tracker.model.TransactionOrigin;
 import com.myfinance.app.finance_tracker.service.TransactionService;
 
@@ -27,12 +33,52 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TransactionService transactionService;
 
+    /**
+     * One page of transactions, newest first, as a JSON array, optionally
+     * filtered (see {@link TransactionFilter}). While there are
+     * more, the response carries the next page's cursor in {@code X-Next-Cursor}
+     * and as a {@code Link: <...>; rel="next"} header. {@code limit} defaults to
+     * {@code app.transactions.page.default-size} and is capped at
+     * {@code app.transactions.page.max-size}. The filter is part of every
+     * page's request; the cursor only says where the last page ended.
+     */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getTransactions(Authentication auth) {
+    public ResponseEntity<List<TransactionResponse>> getTransactions(
+            Authentication auth,
+            @Valid TransactionFilter filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        Long userId = (Long) auth.getPrincipal();
+        TransactionPage page = transactionService.getTransactions(userId, filter, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Full-text search over the SMS text and merchant of the user's
+     * transactions, best match first. Every word of {@code q} must match; the
+     * last may be the start of a word. Page with {@code offset} (the previous
+     * page's {@code nextOffset}) and {@code limit}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchPage> searchTransactions(
+            Authentication auth,
+            @RequestParam("q") String query,
+            @RequestParam(value = "offset", required = false) Integer offset,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         Long userId = (Long) auth.getPrincipal();
-        return ResponseEntity.ok(transactionService.getAllTransactions(userId));
+        return ResponseEntity.ok(transactionService.searchTransactions(userId, query, offset, limit));
     }
 
     @PostMapping
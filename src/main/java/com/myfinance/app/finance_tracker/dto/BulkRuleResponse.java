@@ -0,0 +1,25 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkRuleResponse {
+    private int received;
+    private int created;
+    /** Rules whose pattern the user already has, or that repeat an earlier entry. */
+    private int duplicates;
+    private List<RejectedRule> rejected;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class RejectedRule {
+        private int index;
+        private String pattern;
+        private String error;
+    }
+}
@@ -1,6 +1,15 @@
 package com.myfinance.app.finance_tracker.dto;
 
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,4 +24,23 @@ public class CategoryRuleRequest {
 
     @NotBlank @Size(max = 50)
     private String category;
+
+    // Optional compound-rule predicates
+    private TransactionDirection direction;
+    private TransactionOrigin origin;
+
+    @DecimalMin("0")
+    private BigDecimal minAmount;
+
+    @DecimalMin("0")
+    private BigDecimal maxAmount;
+
+    @Pattern(regexp = "[A-Za-z]{3}", message = "must be a 3-letter currency code")
+    private String currency;
+
+    @JsonIgnore
+    @AssertTrue(message = "minAmount must not exceed maxAmount")
+    public boolean isAmountRangeValid() {
+        return minAmount == null || maxAmount == null || minAmount.compareTo(maxAmount) <= 0;
+    }
 }
\ No newline at end of file
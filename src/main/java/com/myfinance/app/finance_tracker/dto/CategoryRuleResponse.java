@@ -1,5 +1,10 @@
 package com.myfinance.app.finance_tracker.dto;
 
+import java.math.BigDecimal;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,4 +16,9 @@ public class CategoryRuleResponse {
     private Long id;
     private String pattern;
     private String category;
+    private TransactionDirection direction;
+    private TransactionOrigin origin;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String currency;
 }
\ No newline at end of file
@@ -21,6 +21,8 @@ public class DashboardStatsResponse {
     private BigDecimal netAmount;
     private Long totalTransactions;
     private Map<String, BigDecimal> spendingByCategory;
+    /** Top merchants by spending, keyed by canonical merchant name. */
+    private Map<String, BigDecimal> spendingByMerchant;
     private Map<String, BigDecimal> monthlyTrend;
     private List<RecentTransactionDto> recentTransactions;
     private BigDecimal averageTransactionAmount;
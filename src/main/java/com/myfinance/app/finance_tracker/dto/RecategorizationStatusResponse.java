@@ -0,0 +1,21 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RecategorizationStatusResponse {
+    private String state;
+    private long scanned;
+    private long updated;
+    private long chunks;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
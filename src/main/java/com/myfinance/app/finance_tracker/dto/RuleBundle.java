@@ -0,0 +1,22 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A user's rules in priority order, as exported by {@code GET /api/rules/export}
+ * and accepted by {@code POST /api/rules/bulk}.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RuleBundle {
+    @NotNull @Size(max = 5000)
+    private List<@Valid @NotNull CategoryRuleRequest> rules;
+}
@@ -0,0 +1,43 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RulePreviewResponse {
+    private long scanned;
+    /** Transactions the candidate rule's pattern and predicates match. */
+    private long matched;
+    /** Matched, but an existing rule of the user takes priority. */
+    private long shadowed;
+    /** Matched transactions whose category would actually change. */
+    private long changed;
+    private List<CategoryChange> changes;
+    private List<Sample> samples;
+    private long elapsedMillis;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class CategoryChange {
+        private String from;
+        private String to;
+        private long count;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Sample {
+        private Long id;
+        private String merchant;
+        private String rawText;
+        private BigDecimal amount;
+        private LocalDateTime transactionTime;
+        private String currentCategory;
+        private String newCategory;
+    }
+}
@@ -17,7 +17,18 @@ public class SmsBatchResponse {
     private int totalProcessed;
     private int successfulTransactions;
     private int failedTransactions;
+    /** Messages already imported earlier (or earlier in this batch); not counted as failures. */
+    private int duplicateTransactions;
     private List<TransactionResult> results;
+    /**
+     * Set by the file uploads, whose {@code results} hold only failures and
+     * stop at {@code app.sms.upload.max-results}; the counts cover every message.
+     */
+    private boolean resultsTruncated;
+    /** Parse and categorize time for the whole batch. */
+    private long parseMillis;
+    /** Persistence, one entry per chunk in order. */
+    private List<ChunkTiming> chunks;
     
     @Getter
     @Setter
@@ -26,9 +37,32 @@ public class SmsBatchResponse {
     @Builder
     public static class TransactionResult {
         private int index;
+        private Outcome outcome;
         private boolean success;
         private String message;
         private TransactionResponse transaction;
         private String error;
     }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChunkTiming {
+        private int index;
+        /** Index of the chunk's first message in the batch, numbered like {@code TransactionResult.index}. */
+        private int firstMessage;
+        private int size;
+        private int created;
+        private int duplicates;
+        private int failed;
+        /** The chunk's single save failed and its rows were saved one by one. */
+        private boolean retriedRowByRow;
+        private long millis;
+    }
+
+    public enum Outcome {
+        CREATED, DUPLICATE, FAILED
+    }
 } 
\ No newline at end of file
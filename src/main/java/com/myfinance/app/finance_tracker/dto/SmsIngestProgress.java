@@ -0,0 +1,37 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.util.List;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.ChunkTiming;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.TransactionResult;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of a streamed upload's NDJSON response: a line per committed chunk,
+ * then a final line with {@code done} set. Counts are running totals.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SmsIngestProgress {
+    private boolean done;
+    private int totalProcessed;
+    private int successfulTransactions;
+    private int failedTransactions;
+    private int duplicateTransactions;
+    /** Parse and categorize time for this chunk. */
+    private long parseMillis;
+    /** The chunk just committed; null on the final line. */
+    private ChunkTiming chunk;
+    /** Results for this chunk's messages only. */
+    private List<TransactionResult> results;
+    /** Why the upload stopped early, on the final line only. */
+    private String error;
+}
@@ -0,0 +1,35 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.time.LocalDateTime;
+
+import com.myfinance.app.finance_tracker.model.SmsIngestionJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SmsIngestionJobResponse {
+    private Long id;
+    private SmsIngestionJobStatus status;
+    private String format;
+    private String fileName;
+    private long fileSize;
+    /** Share of the file read and committed, 0 to 100. */
+    private double percentComplete;
+    private int totalProcessed;
+    private int successfulTransactions;
+    private int failedTransactions;
+    private int duplicateTransactions;
+    private int chunks;
+    /** Rate of the current run; 0 when the job is not running here. */
+    private double messagesPerSecond;
+    /** Estimated seconds left, from the current run's byte rate; null until known. */
+    private Long etaSeconds;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,51 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Query parameters of {@code GET /api/transactions}; every one is optional
+ * and they combine with AND. Amounts are magnitudes, so {@code minAmount=500}
+ * finds debits of 500 or more as well as credits; {@code direction} narrows
+ * to one sign.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransactionFilter {
+    /** Inclusive. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /** Exclusive. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Size(max = 50)
+    private String category;
+
+    /** Start of the merchant name, any case. */
+    @Size(max = 100)
+    private String merchant;
+
+    private TransactionOrigin origin;
+
+    private TransactionDirection direction;
+
+    @PositiveOrZero
+    private BigDecimal minAmount;
+
+    @PositiveOrZero
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,19 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a user's transactions, newest first. {@code nextCursor} fetches
+ * the page after it, and is null on the last page.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransactionPage {
+    private List<TransactionResponse> items;
+    private String nextCursor;
+}
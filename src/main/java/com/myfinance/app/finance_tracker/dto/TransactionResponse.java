@@ -17,6 +17,7 @@ public class TransactionResponse {
     private BigDecimal amount;
     private String currency;
     private String merchant;
+    private String canonicalMerchant;
     private String category;
     private LocalDateTime transactionTime;
     private TransactionOrigin origin;
@@ -0,0 +1,21 @@
+package com.myfinance.app.finance_tracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of search hits, best match first. {@code total} counts every
+ * match; {@code nextOffset} fetches the page after this one, and is null on
+ * the last page.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransactionSearchPage {
+    private List<TransactionResponse> items;
+    private int total;
+    private Integer nextOffset;
+}
@@ -0,0 +1,15 @@
+package com.myfinance.app.finance_tracker.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a compressed upload or request body that inflates
+ * past the configured size or ratio. An {@link IOException}, since it
+ * surfaces from {@code read()} in the middle of a stream.
+ */
+public class DecompressionLimitException extends IOException {
+
+    public DecompressionLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.myfinance.app.finance_tracker.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the background ingestion queue cannot take another job.
+ */
+@Getter
+public class IngestionQueueFullException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public IngestionQueueFullException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.myfinance.app.finance_tracker.exception;
+
+/**
+ * Thrown when a pagination cursor was not issued by this server, or has been altered.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.myfinance.app.finance_tracker.exception;
+
+/**
+ * Thrown when a category rule pattern is not an acceptable substring or regex.
+ */
+public class InvalidPatternException extends RuntimeException {
+    public InvalidPatternException(String message) {
+        super(message);
+    }
+}
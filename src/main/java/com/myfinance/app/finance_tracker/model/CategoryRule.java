@@ -1,9 +1,12 @@
 package com.myfinance.app.finance_tracker.model;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,6 +15,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -21,12 +25,18 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// One rule per pattern and set of predicates, so a pattern can map to different
+// categories by amount, direction and so on. Databases treat NULLs as distinct
+// here, so CategoryRuleServiceImpl checks for duplicates itself as well.
 @Table(name = "category_rules",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id","pattern"}))
+       uniqueConstraints = @UniqueConstraint(name = "uk_category_rules_user_pattern_predicates",
+                                             columnNames = {"user_id", "pattern", "direction", "origin",
+                                                            "min_amount", "max_amount", "currency"}))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class CategoryRule {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_rules_seq")
+    @SequenceGenerator(name = "category_rules_seq", sequenceName = "category_rules_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -36,6 +46,7 @@ public class CategoryRule {
     /** 
      * A case-insensitive substring or regex fragment. 
      * e.g. "zomato", ".*swiggy.*" 
+     * See RulePatterns for how the two are told apart.
      */
     @Column(nullable = false, length = 100)
     private String pattern;
@@ -47,6 +58,26 @@ public class CategoryRule {
     @Column(nullable = false, length = 50)
     private String category;
 
+    // Optional predicates; a null field places no constraint on the transaction.
+
+    /** Only debits or only credits. */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private TransactionDirection direction;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private TransactionOrigin origin;
+
+    /** Inclusive bounds on the absolute amount. */
+    @Column(precision = 13, scale = 2)
+    private BigDecimal minAmount;
+    @Column(precision = 13, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(length = 3)
+    private String currency;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
     @Column(nullable = false)
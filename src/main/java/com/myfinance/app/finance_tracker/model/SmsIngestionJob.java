@@ -0,0 +1,101 @@
+package com.myfinance.app.finance_tracker.model;
+
+import java.time.LocalDateTime;
+
+import com.myfinance.app.finance_tracker.service.SmsFileReader;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A background import of an uploaded SMS file. The upload is spooled to
+ * {@link #spoolPath} and the counters are written after every committed
+ * chunk, so after a restart the job carries on from message
+ * {@link #processed}.
+ */
+@Entity
+@Table(name = "sms_ingestion_jobs",
+       indexes = @Index(name = "idx_sms_ingestion_jobs_status", columnList = "status"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SmsIngestionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sms_ingestion_jobs_seq")
+    @SequenceGenerator(name = "sms_ingestion_jobs_seq", sequenceName = "sms_ingestion_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private SmsFileReader.Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private SmsIngestionJobStatus status;
+
+    /** Name the client gave the file. */
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 1024)
+    private String spoolPath;
+
+    /**
+     * {@code app.sms.jobs.node-id} of the node that took the upload. The
+     * spool file is on that node's disk, so only it runs the job.
+     */
+    @Column(length = 255)
+    private String owner;
+
+    private long fileSize;
+
+    /** Bytes of the spooled file consumed up to the last committed chunk. */
+    private long bytesRead;
+
+    /** Messages read up to the last committed chunk; a resumed run skips this many. */
+    private int processed;
+    private int succeeded;
+    private int failed;
+    private int duplicates;
+    private int chunks;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
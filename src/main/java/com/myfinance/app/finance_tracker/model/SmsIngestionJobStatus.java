@@ -0,0 +1,8 @@
+package com.myfinance.app.finance_tracker.model;
+
+public enum SmsIngestionJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
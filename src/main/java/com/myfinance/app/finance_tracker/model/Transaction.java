@@ -2,20 +2,27 @@ package com.myfinance.app.finance_tracker.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Locale;
+
+import com.myfinance.app.finance_tracker.service.TransactionSearchListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,10 +30,24 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "transactions")
+@EntityListeners(TransactionSearchListener.class)
+@Table(name = "transactions",
+       indexes = {
+           @Index(name = "idx_transactions_user_id_id", columnList = "user_id, id"),
+           // Keyset pagination: (user, time, id) newest first, read backwards.
+           @Index(name = "idx_transactions_user_time_id", columnList = "user_id, transaction_time, id"),
+           // Filters that are selective enough to lead a range scan of their own.
+           @Index(name = "idx_transactions_user_category_time", columnList = "user_id, category, transaction_time, id"),
+           @Index(name = "idx_transactions_user_merchant_key", columnList = "user_id, merchant_key")
+       },
+       uniqueConstraints = @UniqueConstraint(name = "uk_transactions_user_content_hash",
+                                             columnNames = {"user_id", "content_hash"}))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Transaction {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /** Pooled: one sequence call per 50 ids, which is what lets Hibernate batch the inserts. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -50,6 +71,25 @@ public class Transaction {
     @Column(length = 100)
     private String merchant;
 
+    /** {@link #merchant} mapped to one name per real merchant, for grouping; see MerchantNormalizer. */
+    @Column(length = 100)
+    private String canonicalMerchant;
+
+    /**
+     * {@link #canonicalMerchant} (or {@link #merchant} if there is none)
+     * lower-cased, for indexed merchant prefix search. Kept up to date on
+     * every save; rows from before it existed are filled in by MerchantKeyBackfill.
+     */
+    @Column(length = 100)
+    private String merchantKey;
+
+    /**
+     * SHA-256 of the normalized SMS text (and sender timestamp, if any); null
+     * for manual entries. Unique per user, so a re-uploaded export adds nothing.
+     */
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(length = 50)
     @Builder.Default
     private String category = "Uncategorized";
@@ -65,10 +105,16 @@ public class Transaction {
     @PrePersist
     protected void onCreate() {
         createdAt = updatedAt = LocalDateTime.now();
+        merchantKey = merchantKey(canonicalMerchant != null ? canonicalMerchant : merchant);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        merchantKey = merchantKey(canonicalMerchant != null ? canonicalMerchant : merchant);
+    }
+
+    public static String merchantKey(String merchant) {
+        return merchant != null ? merchant.toLowerCase(Locale.ROOT) : null;
     }
 }
\ No newline at end of file
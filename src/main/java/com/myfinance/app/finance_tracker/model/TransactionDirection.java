@@ -0,0 +1,9 @@
+package com.myfinance.app.finance_tracker.model;
+
+/**
+ * Sign of a transaction: debits are stored as negative amounts, credits as positive.
+ */
+public enum TransactionDirection {
+    DEBIT,
+    CREDIT
+}
@@ -10,5 +10,5 @@ import com.myfinance.app.finance_tracker.model.CategoryRule;
 @Repository
 public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
     List<CategoryRule> findByUserId(Long userId);
-    boolean existsByUserIdAndPatternIgnoreCase(Long userId, String pattern);
+    List<CategoryRule> findByUserIdAndPatternIgnoreCase(Long userId, String pattern);
 }
\ No newline at end of file
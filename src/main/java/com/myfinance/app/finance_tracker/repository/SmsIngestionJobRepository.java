@@ -0,0 +1,27 @@
+package com.myfinance.app.finance_tracker.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.myfinance.app.finance_tracker.model.SmsIngestionJob;
+import com.myfinance.app.finance_tracker.model.SmsIngestionJobStatus;
+
+@Repository
+public interface SmsIngestionJobRepository extends JpaRepository<SmsIngestionJob, Long> {
+    Optional<SmsIngestionJob> findByIdAndUserId(Long id, Long userId);
+    List<SmsIngestionJob> findByStatusInOrderByIdAsc(Collection<SmsIngestionJobStatus> statuses);
+
+    /** Takes over a job recorded without an owner; 0 if another node got there first. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SmsIngestionJob j SET j.owner = :owner WHERE j.id = :id AND j.owner IS NULL")
+    int claim(@Param("id") Long id, @Param("owner") String owner);
+}
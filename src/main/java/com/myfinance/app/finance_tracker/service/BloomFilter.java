@@ -0,0 +1,48 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over keys that are already well-mixed 128-bit
+ * hashes, given as two longs; probe positions come from double hashing.
+ * Adds and lookups are lock-free and may run concurrently. It never reports
+ * an added key as absent.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int probes;
+
+    /** Sized for {@code expectedKeys} at the given false-positive rate. */
+    BloomFilter(int expectedKeys, double falsePositiveRate) {
+        int n = Math.max(1, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = wordCount * 64L;
+        this.probes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    void add(long h1, long h2) {
+        for (int i = 0; i < probes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long h1, long h2) {
+        for (int i = 0; i < probes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package com.myfinance.app.finance_tracker.service;
 
+import com.myfinance.app.finance_tracker.model.Transaction;
+
 public interface CategoryResolverService {
     /**
      * Resolve a transaction's category by:
@@ -8,4 +10,10 @@ public interface CategoryResolverService {
      * 3) Default "Uncategorized"
      */
     String resolveCategory(Long userId, String rawText, String merchant);
+
+    /**
+     * Same as {@link #resolveCategory(Long, String, String)}, but also lets rules
+     * constrained by direction, origin, amount or currency match.
+     */
+    String resolveCategory(Long userId, Transaction transaction);
 }
\ No newline at end of file
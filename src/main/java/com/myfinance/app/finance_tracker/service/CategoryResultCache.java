@@ -0,0 +1,155 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded LRU memo of resolved categories, keyed by user and text fingerprint.
+ *
+ * Entries remember the rule-set version they were computed under and are
+ * ignored once the user's rules move on, so a rule change never serves a
+ * stale category. The map is split into independently locked segments so
+ * concurrent ingestion threads do not serialize on a single lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryResultCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.categories.result-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Key(Long userId, String fingerprint) {}
+
+    private record Entry(long version, String category) {}
+
+    private final class Segment extends LinkedHashMap<Key, Entry> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        FunctionCounter.builder("category.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("category.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("category.cache.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("category.cache.size", this, CategoryResultCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached category, or {@code null} on a miss or if the entry
+     * was computed under a different rule-set version.
+     */
+    public String get(Long userId, String fingerprint, long version) {
+        Key key = new Key(userId, fingerprint);
+        Segment segment = segmentFor(key);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+            if (entry != null && entry.version() != version) {
+                segment.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.category();
+    }
+
+    public void put(Long userId, String fingerprint, long version, String category) {
+        Key key = new Key(userId, fingerprint);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry(version, category));
+        }
+    }
+
+    /**
+     * Normalizes a text so that SMSs differing only in amounts, dates or
+     * letter case share a key: A-Z are lower-cased and each run of digits
+     * collapses to a single {@code 0}. Collapsing digits is only safe when no
+     * rule can see digits, so callers pass {@code keepDigits} otherwise.
+     */
+    public static String fingerprint(String text, boolean keepDigits) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean inDigits = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!keepDigits && c >= '0' && c <= '9') {
+                if (!inDigits) {
+                    sb.append('0');
+                    inDigits = true;
+                }
+                continue;
+            }
+            inDigits = false;
+            sb.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return sb.toString();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Key key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+}
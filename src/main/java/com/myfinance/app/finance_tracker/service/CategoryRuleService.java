@@ -2,11 +2,22 @@ package com.myfinance.app.finance_tracker.service;
 
 import java.util.List;
 
+import com.myfinance.app.finance_tracker.dto.BulkRuleResponse;
 import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
 import com.myfinance.app.finance_tracker.dto.CategoryRuleResponse;
+import com.myfinance.app.finance_tracker.dto.RuleBundle;
 
 public interface CategoryRuleService {
     List<CategoryRuleResponse> listRules(Long userId);
     CategoryRuleResponse createRule(Long userId, CategoryRuleRequest req);
     void deleteRule(Long userId, Long ruleId);
+
+    /**
+     * Adds rules after the user's existing ones, in the given order. Patterns the
+     * user already has (or that repeat within the bundle) are skipped, and
+     * invalid ones are reported rather than failing the whole import.
+     */
+    BulkRuleResponse importRules(Long userId, RuleBundle bundle);
+
+    RuleBundle exportRules(Long userId);
 }
\ No newline at end of file
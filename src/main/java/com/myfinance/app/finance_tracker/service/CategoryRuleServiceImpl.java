@@ -4,11 +4,17 @@ import com.myfinance.app.finance_tracker.dto.*;
 import com.myfinance.app.finance_tracker.exception.*;
 import com.myfinance.app.finance_tracker.model.*;
 import com.myfinance.app.finance_tracker.repository.*;
+import com.myfinance.app.finance_tracker.dto.BulkRuleResponse.RejectedRule;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,15 +23,13 @@ import java.util.stream.Collectors;
 public class CategoryRuleServiceImpl implements CategoryRuleService {
     private final CategoryRuleRepository ruleRepo;
     private final UserRepository userRepo;
+    private final UserRuleMatcherCache ruleMatchers;
+    private final RecategorizationService recategorizationService;
 
     @Override
     public List<CategoryRuleResponse> listRules(Long userId) {
         return ruleRepo.findByUserId(userId).stream()
-            .map(rule -> CategoryRuleResponse.builder()
-                .id(rule.getId())
-                .pattern(rule.getPattern())
-                .category(rule.getCategory())
-                .build())
+            .map(this::toResponse)
             .collect(Collectors.toList());
     }
 
@@ -34,24 +38,90 @@ public class CategoryRuleServiceImpl implements CategoryRuleService {
         if (!userRepo.existsById(userId)) {
             throw new ResourceNotFoundException("User not found");
         }
-        if (ruleRepo.existsByUserIdAndPatternIgnoreCase(userId, req.getPattern())) {
-            if (ruleRepo.existsByUserIdAndPatternIgnoreCase(userId, req.getPattern())) {
-                throw new DuplicateResourceException("Rule already exists for pattern: " + req.getPattern());
-            }
+        RulePatterns.validate(req.getPattern());
+        CategoryRule rule = toRule(req);
+        RuleKey key = RuleKey.of(rule);
+        if (ruleRepo.findByUserIdAndPatternIgnoreCase(userId, rule.getPattern()).stream()
+                .map(RuleKey::of)
+                .anyMatch(key::equals)) {
+            throw new DuplicateResourceException("Rule already exists for pattern: " + req.getPattern());
         }
-        CategoryRule rule = CategoryRule.builder()
-            .user(userRepo.getReferenceById(userId))
-            .pattern(req.getPattern().toLowerCase())
-            .category(req.getCategory())
-            .build();
+        rule.setUser(userRepo.getReferenceById(userId));
         rule = ruleRepo.save(rule);
-        return CategoryRuleResponse.builder()
-            .id(rule.getId())
-            .pattern(rule.getPattern())
-            .category(rule.getCategory())
+        ruleMatchers.invalidate(userId);
+        recategorizationService.requestRecategorization(userId);
+        return toResponse(rule);
+    }
+
+    @Override
+    public BulkRuleResponse importRules(Long userId, RuleBundle bundle) {
+        if (!userRepo.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        // One fetch of the existing rules; everything else is checked in memory.
+        Set<RuleKey> seen = ruleRepo.findByUserId(userId).stream()
+            .map(RuleKey::of)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        List<CategoryRule> accepted = new ArrayList<>();
+        List<RejectedRule> rejected = new ArrayList<>();
+        int duplicates = 0;
+        List<CategoryRuleRequest> requests = bundle.getRules();
+        for (int i = 0; i < requests.size(); i++) {
+            CategoryRuleRequest req = requests.get(i);
+            try {
+                RulePatterns.validate(req.getPattern());
+            } catch (InvalidPatternException e) {
+                rejected.add(RejectedRule.builder()
+                    .index(i)
+                    .pattern(req.getPattern())
+                    .error(e.getMessage())
+                    .build());
+                continue;
+            }
+            CategoryRule rule = toRule(req);
+            if (!seen.add(RuleKey.of(rule))) {
+                duplicates++;
+                continue;
+            }
+            accepted.add(rule);
+        }
+
+        if (!accepted.isEmpty()) {
+            User user = userRepo.getReferenceById(userId);
+            accepted.forEach(rule -> rule.setUser(user));
+            // Pooled ids, so Hibernate sends these as JDBC batches of hibernate.jdbc.batch_size.
+            ruleRepo.saveAll(accepted);
+            // One matcher rebuild and one re-categorization pass for the whole import.
+            ruleMatchers.invalidate(userId);
+            recategorizationService.requestRecategorization(userId);
+        }
+
+        return BulkRuleResponse.builder()
+            .received(requests.size())
+            .created(accepted.size())
+            .duplicates(duplicates)
+            .rejected(rejected)
             .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public RuleBundle exportRules(Long userId) {
+        List<CategoryRuleRequest> rules = ruleRepo.findByUserId(userId).stream()
+            .map(rule -> CategoryRuleRequest.builder()
+                .pattern(rule.getPattern())
+                .category(rule.getCategory())
+                .direction(rule.getDirection())
+                .origin(rule.getOrigin())
+                .minAmount(rule.getMinAmount())
+                .maxAmount(rule.getMaxAmount())
+                .currency(rule.getCurrency())
+                .build())
+            .collect(Collectors.toList());
+        return RuleBundle.builder().rules(rules).build();
+    }
+
     @Override
     public void deleteRule(Long userId, Long ruleId) {
         CategoryRule rule = ruleRepo.findById(ruleId)
@@ -60,5 +130,53 @@ public class CategoryRuleServiceImpl implements CategoryRuleService {
             throw new AccessDeniedException("Cannot delete rule of another user");
         }
         ruleRepo.delete(rule);
+        ruleMatchers.invalidate(userId);
+        recategorizationService.requestRecategorization(userId);
+    }
+
+    /**
+     * What makes two rules duplicates: the same pattern under the same
+     * predicates. Substrings compare ignoring case, regexes exactly ({@code \d}
+     * and {@code \D} are different rules). Amounts compare by value, so 500
+     * and 500.00 are one bound.
+     */
+    private record RuleKey(String pattern, TransactionDirection direction, TransactionOrigin origin,
+                           BigDecimal minAmount, BigDecimal maxAmount, String currency) {
+
+        static RuleKey of(CategoryRule rule) {
+            return new RuleKey(RulePatterns.normalize(rule.getPattern()), rule.getDirection(), rule.getOrigin(),
+                byValue(rule.getMinAmount()), byValue(rule.getMaxAmount()),
+                rule.getCurrency() != null ? rule.getCurrency().toUpperCase(Locale.ROOT) : null);
+        }
+
+        private static BigDecimal byValue(BigDecimal amount) {
+            return amount != null ? amount.stripTrailingZeros() : null;
+        }
+    }
+
+    /** Unsaved rule in the stored form; the caller has validated the pattern. */
+    private static CategoryRule toRule(CategoryRuleRequest req) {
+        return CategoryRule.builder()
+            .pattern(RulePatterns.normalize(req.getPattern()))
+            .category(req.getCategory())
+            .direction(req.getDirection())
+            .origin(req.getOrigin())
+            .minAmount(req.getMinAmount())
+            .maxAmount(req.getMaxAmount())
+            .currency(req.getCurrency() != null ? req.getCurrency().toUpperCase() : null)
+            .build();
+    }
+
+    private CategoryRuleResponse toResponse(CategoryRule rule) {
+        return CategoryRuleResponse.builder()
+            .id(rule.getId())
+            .pattern(rule.getPattern())
+            .category(rule.getCategory())
+            .direction(rule.getDirection())
+            .origin(rule.getOrigin())
+            .minAmount(rule.getMinAmount())
+            .maxAmount(rule.getMaxAmount())
+            .currency(rule.getCurrency())
+            .build();
     }
-}
\ No newline at end of file
+}
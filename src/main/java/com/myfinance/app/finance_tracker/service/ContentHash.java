@@ -0,0 +1,68 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identity of an imported message for deduplication: SHA-256, in hex, of the
+ * text lower-cased with whitespace runs collapsed, plus the sender timestamp
+ * when the upload carries one. The timestamp keeps two genuine identical
+ * payments ("Rs.250 paid to ZOMATO via UPI") apart as long as the export
+ * dates them.
+ */
+final class ContentHash {
+
+    /** The unique {@code (user_id, content_hash)} constraint declared on Transaction. */
+    static final String UNIQUE_CONSTRAINT = "uk_transactions_user_content_hash";
+
+    private ContentHash() {
+    }
+
+    /**
+     * Whether {@code e} is the unique hash constraint refusing a row, i.e. a
+     * concurrent import saved the same message first. Databases report the
+     * name in their own case and with their own decorations.
+     */
+    static boolean isDuplicate(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    static String of(String text, String timestamp) {
+        StringBuilder normalized = new StringBuilder(text.length() + 32);
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(c);
+        }
+        String key = normalized.toString().toLowerCase(Locale.ROOT);
+        if (timestamp != null && !timestamp.isBlank()) {
+            key = key + '\n' + timestamp.strip();
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record at a time from a {@link Reader},
+ * through a fixed buffer, with no regex and no per-line strings.
+ *
+ * Fields are separated by commas and records by LF, CRLF or CR. A field
+ * that starts with a double quote runs to the matching closing quote and
+ * may contain commas, line breaks and {@code ""} for a literal quote. Input
+ * that is not quite RFC 4180 is read leniently rather than rejected: a quote
+ * inside an unquoted field is kept as-is, text after a closing quote is
+ * appended to the field, and a quote left open runs to the end of the input.
+ * A leading byte order mark is dropped.
+ *
+ * Fields are cut off at {@link #MAX_FIELD_CHARS}, so a runaway quoted field
+ * costs time but not memory. Not thread-safe.
+ */
+public final class CsvRecordReader {
+
+    public static final int MAX_FIELD_CHARS = 8192;
+
+    private final Reader in;
+    private final char[] buf = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder(256);
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean started;
+
+    public CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record into {@code fields}, which is cleared first.
+     * Returns false at the end of the input. A blank line is a record with
+     * one empty field.
+     */
+    public boolean readRecord(List<String> fields) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        if (!fill()) {
+            return false;
+        }
+        if (!started) {
+            started = true;
+            if (buf[pos] == '\uFEFF') {
+                pos++;
+            }
+        }
+
+        boolean atFieldStart = true;
+        boolean inQuotes = false;
+        while (true) {
+            if (pos == limit && !fill()) {
+                fields.add(field.toString());
+                return true;
+            }
+            if (inQuotes) {
+                int start = pos;
+                while (pos < limit && buf[pos] != '"') {
+                    pos++;
+                }
+                append(start, pos);
+                if (pos < limit) {
+                    pos++;
+                    // "" inside quotes is a literal quote; anything else closes the field.
+                    if ((pos < limit || fill()) && buf[pos] == '"') {
+                        append(pos, pos + 1);
+                        pos++;
+                    } else {
+                        inQuotes = false;
+                    }
+                }
+                continue;
+            }
+
+            int start = pos;
+            char c = 0;
+            while (pos < limit) {
+                c = buf[pos];
+                if (c == ',' || c == '\n' || c == '\r' || c == '"') {
+                    break;
+                }
+                pos++;
+            }
+            append(start, pos);
+            if (pos == limit) {
+                atFieldStart = false;
+                continue;
+            }
+            pos++;
+            switch (c) {
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    atFieldStart = true;
+                }
+                case '"' -> {
+                    if (atFieldStart && field.isEmpty()) {
+                        inQuotes = true;
+                    } else {
+                        append(pos - 1, pos);
+                    }
+                    atFieldStart = false;
+                }
+                default -> {
+                    if (c == '\r' && (pos < limit || fill()) && buf[pos] == '\n') {
+                        pos++;
+                    }
+                    fields.add(field.toString());
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void append(int from, int to) {
+        int room = MAX_FIELD_CHARS - field.length();
+        if (room > 0 && to > from) {
+            field.append(buf, from, Math.min(to - from, room));
+        }
+    }
+
+    /** Makes sure there is a character at {@code pos}; false at the end of the input. */
+    private boolean fill() throws IOException {
+        if (pos < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,7 +24,10 @@ import lombok.RequiredArgsConstructor;
 @Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final int TOP_MERCHANTS = 10;
+
     private final TransactionRepository transactionRepository;
+    private final MerchantNormalizer merchantNormalizer;
 
     @Override
     public DashboardStatsResponse getMonthlyStats(Long userId, int year, int month) {
@@ -56,6 +60,7 @@ public class DashboardServiceImpl implements DashboardService {
                 .netAmount(BigDecimal.ZERO)
                 .totalTransactions(0L)
                 .spendingByCategory(Map.of())
+                .spendingByMerchant(Map.of())
                 .monthlyTrend(Map.of())
                 .recentTransactions(List.of())
                 .averageTransactionAmount(BigDecimal.ZERO)
@@ -86,6 +91,9 @@ public class DashboardServiceImpl implements DashboardService {
                 Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, (a, b) -> a.add(b.abs()))
             ));
 
+        // Spending by merchant (top 10)
+        Map<String, BigDecimal> spendingByMerchant = calculateSpendingByMerchant(transactions);
+
         // Monthly trend (last 6 months)
         Map<String, BigDecimal> monthlyTrend = calculateMonthlyTrend(transactions);
 
@@ -115,6 +123,7 @@ public class DashboardServiceImpl implements DashboardService {
             .netAmount(netAmount)
             .totalTransactions((long) transactions.size())
             .spendingByCategory(spendingByCategory)
+            .spendingByMerchant(spendingByMerchant)
             .monthlyTrend(monthlyTrend)
             .recentTransactions(recentTransactions)
             .averageTransactionAmount(averageTransactionAmount)
@@ -123,6 +132,27 @@ public class DashboardServiceImpl implements DashboardService {
             .build();
     }
 
+    private Map<String, BigDecimal> calculateSpendingByMerchant(List<Transaction> transactions) {
+        Map<String, BigDecimal> totals = transactions.stream()
+            .filter(t -> t.getAmount().compareTo(BigDecimal.ZERO) < 0)
+            .filter(t -> merchantKey(t) != null)
+            .collect(Collectors.groupingBy(
+                this::merchantKey,
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, (a, b) -> a.add(b.abs()))
+            ));
+        return totals.entrySet().stream()
+            .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+            .limit(TOP_MERCHANTS)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /** Rows saved before canonical merchants existed are normalized on the fly. */
+    private String merchantKey(Transaction transaction) {
+        return transaction.getCanonicalMerchant() != null
+            ? transaction.getCanonicalMerchant()
+            : merchantNormalizer.normalize(transaction.getMerchant());
+    }
+
     private Map<String, BigDecimal> calculateMonthlyTrend(List<Transaction> transactions) {
         return transactions.stream()
             .collect(Collectors.groupingBy(
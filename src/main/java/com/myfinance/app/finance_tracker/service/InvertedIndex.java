@@ -0,0 +1,291 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over the text of one user's transactions, ranked
+ * with BM25.
+ *
+ * Text is split into lower-cased runs of letters and digits, so
+ * {@code "IRCTC/UPI-4521"} becomes {@code irctc}, {@code upi}, {@code 4521}.
+ * Merchant names count {@value #MERCHANT_WEIGHT} times over, so a search for
+ * a merchant ranks its own transactions above ones that merely mention it.
+ * Every query term must match; the last one also matches as a prefix once it
+ * has {@value #MIN_PREFIX_CHARS} characters, for search-as-you-type.
+ *
+ * Postings are kept in document order, one slot per indexed document. A
+ * removed (or replaced) document only has its slot marked dead; once dead
+ * slots outnumber live ones the postings are compacted. Slots are packed
+ * into 24 bits, which caps an index at about 16 million documents. Most of
+ * the memory goes to terms that occur once (amounts, reference numbers):
+ * about 0.5 KB per document for typical bank SMS. Not thread-safe.
+ */
+public final class InvertedIndex {
+
+    static final int MERCHANT_WEIGHT = 3;
+    static final int MIN_PREFIX_CHARS = 3;
+    /** Longer runs are cut here; they are reference numbers, not words. */
+    static final int MAX_TERM_CHARS = 32;
+    /** Prefix matches beyond this many terms are ignored. */
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * The documents containing one term, in slot order, each entry packing
+     * the slot and the term frequency (capped at 255) into one int. Most
+     * terms (reference numbers, amounts) occur once, so lists start at one
+     * entry.
+     */
+    private static final class Postings {
+        final String term;
+        int[] entries = new int[1];
+        int size;
+        int live;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int slot, int freq) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = slot << 8 | Math.min(freq, 255);
+            live++;
+        }
+    }
+
+    /** Ranked ids for one page, best first, and how many documents matched in all. */
+    public record Hits(List<Long> ids, int total) {
+    }
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private long[] ids = new long[64];
+    /** Weighted term count per slot; -1 once the slot is dead. */
+    private int[] lengths = new int[64];
+    /** The posting lists each slot is in, to keep {@link Postings#live} right on removal. */
+    private Postings[][] slotPostings = new Postings[64][];
+    private int slotCount;
+    private long totalLength;
+
+    int size() {
+        return slotsById.size();
+    }
+
+    /** Indexes a document, replacing any earlier version with the same id. */
+    void put(long id, String text, String... merchants) {
+        remove(id);
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : tokenize(text)) {
+            freqs.merge(term, 1, Integer::sum);
+        }
+        Set<String> merchantTerms = new HashSet<>();
+        for (String merchant : merchants) {
+            merchantTerms.addAll(tokenize(merchant));
+        }
+        for (String term : merchantTerms) {
+            freqs.merge(term, MERCHANT_WEIGHT, Integer::sum);
+        }
+        if (freqs.isEmpty()) {
+            return;
+        }
+
+        int slot = slotCount++;
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+            lengths = Arrays.copyOf(lengths, slot * 2);
+            slotPostings = Arrays.copyOf(slotPostings, slot * 2);
+        }
+        Postings[] in = new Postings[freqs.size()];
+        int length = 0;
+        int n = 0;
+        for (Map.Entry<String, Integer> e : freqs.entrySet()) {
+            Postings postings = terms.computeIfAbsent(e.getKey(), Postings::new);
+            postings.add(slot, e.getValue());
+            in[n++] = postings;
+            length += e.getValue();
+        }
+        ids[slot] = id;
+        lengths[slot] = length;
+        slotPostings[slot] = in;
+        slotsById.put(id, slot);
+        totalLength += length;
+    }
+
+    void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        totalLength -= lengths[slot];
+        lengths[slot] = -1;
+        for (Postings postings : slotPostings[slot]) {
+            if (--postings.live == 0) {
+                terms.remove(postings.term);
+            }
+        }
+        slotPostings[slot] = null;
+        if (slotCount - slotsById.size() > Math.max(64, slotsById.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * The documents matching every term of {@code query}, best first, from
+     * {@code offset} for up to {@code limit} ids. Ties go to the higher id.
+     */
+    Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+        if (queryTerms.isEmpty() || slotsById.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        List<List<Postings>> groups = new ArrayList<>(queryTerms.size());
+        for (int i = 0; i < queryTerms.size(); i++) {
+            List<Postings> group = matches(queryTerms.get(i), i == queryTerms.size() - 1);
+            if (group.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            groups.add(group);
+        }
+        // Rarest term first: it decides which documents are worth scoring at all.
+        groups.sort((a, b) -> Integer.compare(live(a), live(b)));
+
+        double averageLength = (double) totalLength / slotsById.size();
+        double[] scores = new double[slotCount];
+        // Number of groups matched so far, per slot; a slot stays a candidate
+        // only while it has matched every group before the current one.
+        short[] matched = new short[slotCount];
+        for (int g = 0; g < groups.size(); g++) {
+            for (Postings postings : groups.get(g)) {
+                double idf = Math.log(1 + (slotsById.size() - postings.live + 0.5) / (postings.live + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = postings.entries[i] >>> 8;
+                    if (lengths[slot] < 0 || matched[slot] < g) {
+                        continue;
+                    }
+                    double tf = postings.entries[i] & 0xFF;
+                    scores[slot] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[slot] / averageLength));
+                    matched[slot] = (short) (g + 1);
+                }
+            }
+        }
+
+        int wanted = Math.max(0, offset) + Math.max(0, limit);
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)),
+            (a, b) -> compare(scores, a, b));
+        int total = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (matched[slot] != groups.size()) {
+                continue;
+            }
+            total++;
+            if (top.size() < wanted) {
+                top.add(slot);
+            } else if (wanted > 0 && compare(scores, slot, top.peek()) > 0) {
+                top.poll();
+                top.add(slot);
+            }
+        }
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = ids[top.poll()];
+        }
+        int from = Math.min(Math.max(0, offset), ranked.length);
+        return new Hits(List.of(ranked).subList(from, ranked.length), total);
+    }
+
+    /** Splits text into lower-cased runs of letters and digits. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + MAX_TERM_CHARS)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private List<Postings> matches(String term, boolean last) {
+        if (!last || term.length() < MIN_PREFIX_CHARS) {
+            Postings exact = terms.get(term);
+            return exact != null ? List.of(exact) : List.of();
+        }
+        Collection<Postings> prefixed = terms.subMap(term, true, term + Character.MAX_VALUE, false).values();
+        List<Postings> group = new ArrayList<>();
+        for (Postings postings : prefixed) {
+            if (group.size() == MAX_PREFIX_TERMS) {
+                break;
+            }
+            group.add(postings);
+        }
+        return group;
+    }
+
+    private static int live(List<Postings> group) {
+        int live = 0;
+        for (Postings postings : group) {
+            live += postings.live;
+        }
+        return live;
+    }
+
+    private int compare(double[] scores, int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore : Long.compare(ids[a], ids[b]);
+    }
+
+    /** Drops dead slots from every posting list and renumbers the live ones. */
+    private void compact() {
+        int[] renumbered = new int[slotCount];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (lengths[slot] < 0) {
+                renumbered[slot] = -1;
+                continue;
+            }
+            renumbered[slot] = next;
+            ids[next] = ids[slot];
+            lengths[next] = lengths[slot];
+            slotPostings[next] = slotPostings[slot];
+            slotsById.put(ids[next], next);
+            next++;
+        }
+        Arrays.fill(slotPostings, next, slotCount, null);
+        slotCount = next;
+        for (Postings postings : terms.values()) {
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int slot = renumbered[postings.entries[i] >>> 8];
+                if (slot >= 0) {
+                    postings.entries[kept++] = slot << 8 | postings.entries[i] & 0xFF;
+                }
+            }
+            postings.size = kept;
+        }
+    }
+}
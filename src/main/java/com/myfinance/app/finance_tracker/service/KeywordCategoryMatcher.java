@@ -0,0 +1,173 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whole-word keyword to category dictionary.
+ *
+ * Behaves like testing {@code .*\bkeyword\b.*} (case-insensitive) for every
+ * keyword in insertion order and returning the first hit, but the text is
+ * tokenized once and each token is looked up in a word trie, so the cost no
+ * longer grows with the number of keywords. Multi-word keywords such as
+ * "credit card" match when their words appear separated by a single space.
+ *
+ * Word characters follow {@code java.util.regex}'s {@code \b} on Java 17:
+ * letters, digits, underscore, and non-spacing marks attached to a letter or
+ * digit. Unlike the regexes, a line break in the text is just a separator
+ * rather than something that prevents every keyword from matching.
+ */
+public final class KeywordCategoryMatcher {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    /** A dictionary entry, in priority order. */
+    public record Keyword(String keyword, String category) {}
+
+    private static final class Node {
+        int rank = NO_MATCH;
+        Map<String, Node> next;
+    }
+
+    private final List<Keyword> keywords;
+    private final Map<String, Node> roots;
+    private final boolean digitSensitive;
+
+    private KeywordCategoryMatcher(List<Keyword> keywords) {
+        this.keywords = Collections.unmodifiableList(keywords);
+        this.roots = new HashMap<>();
+        this.digitSensitive = keywords.stream().anyMatch(k -> k.keyword().chars().anyMatch(Character::isDigit));
+        for (int rank = 0; rank < keywords.size(); rank++) {
+            String[] words = keywords.get(rank).keyword().split(" ");
+            Map<String, Node> level = roots;
+            Node node = null;
+            for (String word : words) {
+                node = level.computeIfAbsent(word, w -> new Node());
+                if (node.next == null) {
+                    node.next = new HashMap<>();
+                }
+                level = node.next;
+            }
+            // A keyword listed twice keeps its first (highest) priority.
+            node.rank = Math.min(node.rank, rank);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the category of the highest-priority keyword found in {@code text},
+     * or {@code null} if none is present.
+     */
+    public String match(String text) {
+        if (text == null || roots.isEmpty()) {
+            return null;
+        }
+        List<int[]> tokens = tokenize(text);
+        int best = NO_MATCH;
+        for (int t = 0; t < tokens.size() && best != 0; t++) {
+            Map<String, Node> level = roots;
+            for (int u = t; u < tokens.size(); u++) {
+                int[] token = tokens.get(u);
+                if (u > t && !isSingleSpace(text, tokens.get(u - 1)[1], token[0])) {
+                    break;
+                }
+                Node node = level.get(foldAscii(text, token[0], token[1]));
+                if (node == null) {
+                    break;
+                }
+                best = Math.min(best, node.rank);
+                if (node.next.isEmpty()) {
+                    break;
+                }
+                level = node.next;
+            }
+        }
+        return best == NO_MATCH ? null : keywords.get(best).category();
+    }
+
+    /** Entries in priority order, duplicates included. */
+    public List<Keyword> keywords() {
+        return keywords;
+    }
+
+    /** Whether any keyword contains a digit, i.e. whether digits in the text can affect the result. */
+    public boolean isDigitSensitive() {
+        return digitSensitive;
+    }
+
+    public int size() {
+        return keywords.size();
+    }
+
+    /** Start (inclusive) and end (exclusive) offsets of every word in the text. */
+    private static List<int[]> tokenize(String text) {
+        List<int[]> tokens = new ArrayList<>();
+        int start = -1;
+        boolean baseIsLetterOrDigit = false;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            boolean word;
+            if (Character.isLetterOrDigit(cp)) {
+                word = true;
+                baseIsLetterOrDigit = true;
+            } else if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                word = baseIsLetterOrDigit;
+            } else {
+                word = cp == '_';
+                baseIsLetterOrDigit = false;
+            }
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(new int[] {start, i});
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            tokens.add(new int[] {start, text.length()});
+        }
+        return tokens;
+    }
+
+    private static boolean isSingleSpace(String text, int from, int to) {
+        return to - from == 1 && text.charAt(from) == ' ';
+    }
+
+    /** Lower-cases A-Z only, mirroring {@code Pattern.CASE_INSENSITIVE} without UNICODE_CASE. */
+    private static String foldAscii(String text, int from, int to) {
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            chars[i - from] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(chars);
+    }
+
+    public static final class Builder {
+        private final List<Keyword> keywords = new ArrayList<>();
+
+        /**
+         * Adds keywords for a category; earlier calls take priority over later ones.
+         */
+        public Builder add(String category, String... words) {
+            for (String word : words) {
+                if (!word.matches("[a-z0-9_]+( [a-z0-9_]+)*")) {
+                    throw new IllegalArgumentException("Invalid keyword: '" + word + "'");
+                }
+                keywords.add(new Keyword(word, category));
+            }
+            return this;
+        }
+
+        public KeywordCategoryMatcher build() {
+            return new KeywordCategoryMatcher(new ArrayList<>(keywords));
+        }
+    }
+}
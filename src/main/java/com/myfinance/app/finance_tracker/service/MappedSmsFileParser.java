@@ -0,0 +1,30 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens spooled uploads as {@link MappedSmsFileReader}s on the shared
+ * {@code smsFileParsePool}.
+ */
+@Component
+public class MappedSmsFileParser {
+
+    private final ForkJoinPool pool;
+
+    @Value("${app.sms.mmap.window-bytes:67108864}")
+    private int windowBytes;
+
+    public MappedSmsFileParser(@Qualifier("smsFileParsePool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public MappedSmsFileReader open(Path file, SmsFileReader.Format format) throws IOException {
+        return new MappedSmsFileReader(file, format, pool, windowBytes);
+    }
+}
@@ -0,0 +1,239 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+/**
+ * Parses a spooled upload on all cores and hands the messages out in file
+ * order.
+ *
+ * The file is memory-mapped one window of {@code windowBytes} at a time, each
+ * window ending on a newline. A window is cut at newlines into up to one
+ * piece per pool thread, and every piece is decoded as UTF-8 and run through
+ * {@link SmsFileReader} as a task on the fork-join pool. Pieces are joined in
+ * order, so the output matches a sequential read. Splitting on the byte
+ * {@code '\n'} is safe for UTF-8, where that byte never occurs inside a
+ * multi-byte character; malformed bytes decode to U+FFFD. WhatsApp messages
+ * can run over several lines, so for that format a cut is only made before
+ * a line that starts a new entry, and the export's date order is settled from
+ * the head of the file up front and handed to every piece, which on its own
+ * could not tell 7/4 from 4/7. CSV is not split at all: a quoted field
+ * may hold a line break, which no scan from the middle of a file can tell
+ * apart from a record end, so CSV files are read sequentially on the
+ * caller's thread.
+ *
+ * Up to two windows are in flight: the next one is parsed while the caller
+ * works through the current one, which bounds memory to about two windows'
+ * worth of messages.
+ */
+public final class MappedSmsFileReader implements Iterator<SmsMessage>, Closeable {
+
+    /** Pieces smaller than this are not worth a task of their own. */
+    private static final int MIN_PIECE_BYTES = 64 * 1024;
+    /** Enough of a line to tell whether it starts a WhatsApp entry. */
+    private static final int HEADER_PEEK_BYTES = 64;
+
+    private final FileChannel channel;
+    private final long size;
+    private final SmsFileReader.Format format;
+    private final ForkJoinPool pool;
+    private final int windowBytes;
+    /** Date order of a WhatsApp export; null for the other formats. */
+    private final Boolean dayFirst;
+    /** The whole file, read sequentially, for formats that cannot be split. */
+    private final BufferedReader sequential;
+    private final Deque<ForkJoinTask<List<SmsMessage>>> pending = new ArrayDeque<>();
+    private Iterator<SmsMessage> current = Collections.emptyIterator();
+    /** File offset where the next window starts. */
+    private long position;
+
+    public MappedSmsFileReader(Path file, SmsFileReader.Format format, ForkJoinPool pool, int windowBytes)
+            throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.format = format;
+        this.pool = pool;
+        this.windowBytes = windowBytes;
+        if (format == SmsFileReader.Format.CSV) {
+            sequential = SmsFileReader.open(Files.newInputStream(file), StandardCharsets.UTF_8);
+            current = new SmsFileReader(sequential, format);
+            position = size;
+            dayFirst = null;
+        } else {
+            sequential = null;
+            dayFirst = format == SmsFileReader.Format.WHATSAPP ? WhatsAppChatParser.dayFirst(head()) : null;
+            fill();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            ForkJoinTask<List<SmsMessage>> piece = pending.poll();
+            if (piece == null) {
+                return false;
+            }
+            current = piece.join().iterator();
+            fill();
+        }
+        return true;
+    }
+
+    @Override
+    public SmsMessage next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pending.forEach(piece -> piece.cancel(false));
+        pending.clear();
+        channel.close();
+        if (sequential != null) {
+            sequential.close();
+        }
+    }
+
+    /** Keeps the current window and the one after it queued. */
+    private void fill() {
+        int pieces = Math.max(1, pool.getParallelism());
+        try {
+            while (position < size && pending.size() <= pieces) {
+                submitWindow(pieces);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void submitWindow(int maxPieces) throws IOException {
+        long start = position;
+        long end = windowEnd(start);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int length = (int) (end - start);
+        int pieces = Math.max(1, Math.min(maxPieces, length / MIN_PIECE_BYTES));
+
+        int from = 0;
+        for (int i = 1; i <= pieces && from < length; i++) {
+            int to = i == pieces ? length : nextCut(window, (int) ((long) length * i / pieces), length);
+            if (to <= from) {
+                continue;
+            }
+            ByteBuffer bytes = window.slice(from, to - from);
+            boolean atFileStart = start == 0 && from == 0;
+            pending.add(pool.submit(() -> parse(bytes, atFileStart)));
+            from = to;
+        }
+        position = end;
+    }
+
+    /**
+     * End of the window starting at {@code start}: the last cut within
+     * {@code windowBytes}, or the first one after it if a single line (or
+     * WhatsApp message) is longer than that.
+     */
+    private long windowEnd(long start) throws IOException {
+        long span = windowBytes;
+        while (true) {
+            long limit = Math.min(size, start + span);
+            if (limit == size) {
+                return size;
+            }
+            int peek = (int) Math.min(size - limit, HEADER_PEEK_BYTES);
+            MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, start, limit - start + peek);
+            int window = (int) (limit - start);
+            for (int i = window - 1; i >= 0; i--) {
+                if (block.get(i) == '\n' && isCut(block, i + 1, window + peek)) {
+                    return start + i + 1;
+                }
+            }
+            if (span >= Integer.MAX_VALUE - HEADER_PEEK_BYTES) {
+                return limit;
+            }
+            // An overlong line: widen the window until it has a cut.
+            span = Math.min(span * 2, Integer.MAX_VALUE - HEADER_PEEK_BYTES);
+        }
+    }
+
+    /** Index of the first cut at or after {@code from}, or {@code length} if there is none. */
+    private int nextCut(ByteBuffer window, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (window.get(i) == '\n' && isCut(window, i + 1, length)) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    /** Whether a piece may start at {@code lineStart}, just past a newline. */
+    private boolean isCut(ByteBuffer bytes, int lineStart, int length) {
+        if (format != SmsFileReader.Format.WHATSAPP || lineStart >= length) {
+            return true;
+        }
+        int end = Math.min(length, lineStart + HEADER_PEEK_BYTES);
+        for (int i = lineStart; i < end; i++) {
+            if (bytes.get(i) == '\n') {
+                end = i;
+                break;
+            }
+        }
+        return WhatsAppChatParser.startsEntry(StandardCharsets.UTF_8.decode(bytes.slice(lineStart, end - lineStart)));
+    }
+
+    /** Enough of the start of the file to hold {@link WhatsAppChatParser#HEAD_CHARS} characters. */
+    private CharBuffer head() throws IOException {
+        // At most three UTF-8 bytes per UTF-16 char.
+        long length = Math.min(size, 3L * WhatsAppChatParser.HEAD_CHARS);
+        return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+    }
+
+    private List<SmsMessage> parse(ByteBuffer bytes, boolean atFileStart) {
+        CharBuffer chars = decode(bytes);
+        SmsFileReader reader = new SmsFileReader(new BufferedReader(
+            new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining())),
+            format, atFileStart, dayFirst);
+        List<SmsMessage> messages = new ArrayList<>();
+        reader.forEachRemaining(messages::add);
+        return messages;
+    }
+
+    private static CharBuffer decode(ByteBuffer bytes) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            return decoder.decode(bytes);
+        } catch (CharacterCodingException e) {
+            // Not thrown with REPLACE.
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps raw merchant strings such as "ZOMATO*ORDER 8812", "Zomato Ltd" or
+ * "zomato.com" to one canonical merchant name.
+ *
+ * The text is first cleaned into words: lower-cased, cut at a {@code *}
+ * (aggregator order suffixes), stripped of web domains, reference numbers,
+ * payment-rail prefixes and legal suffixes. The leading words are then walked
+ * down a word trie built from the canonical dictionary and the longest alias
+ * found wins. Merchants not in the dictionary get their cleaned words in
+ * title case, which already folds most case, numbering and suffix variants.
+ */
+@Component
+public class MerchantNormalizer {
+
+    static final String CLASSPATH_LOCATION = "/categories/merchants.txt";
+
+    private static final int MAX_LENGTH = 100;
+    private static final int MAX_FALLBACK_WORDS = 4;
+
+    /** Payment-rail or terminal markers that often precede the real name. */
+    private static final Set<String> LEADING_NOISE = Set.of("pos", "upi", "ecom", "imps", "neft", "www", "to", "at");
+
+    /** Words that never distinguish one merchant from another. */
+    private static final Set<String> NOISE = Set.of(
+        "ltd", "limited", "pvt", "private", "inc", "llp", "llc", "corp", "co", "india",
+        "payment", "payments", "purchase", "order", "txn", "transaction", "ref", "bill");
+
+    private static final String[] DOMAIN_SUFFIXES = {".co.in", ".com", ".in", ".net", ".org", ".io"};
+
+    private static final class Node {
+        String canonical;
+        final Map<String, Node> next = new HashMap<>();
+    }
+
+    private final Node root;
+
+    public MerchantNormalizer() {
+        this(loadClasspath());
+    }
+
+    MerchantNormalizer(Reader dictionary) {
+        this.root = parse(dictionary);
+    }
+
+    /**
+     * Canonical name for a raw merchant string, or {@code null} if nothing
+     * recognizable is left after cleanup.
+     */
+    public String normalize(String merchant) {
+        if (merchant == null || merchant.isBlank()) {
+            return null;
+        }
+        List<String> words = clean(merchant);
+
+        String canonical = null;
+        Node node = root;
+        for (String word : words) {
+            node = node.next.get(word);
+            if (node == null) {
+                break;
+            }
+            if (node.canonical != null) {
+                canonical = node.canonical;
+            }
+        }
+        if (canonical != null) {
+            return canonical;
+        }
+
+        StringBuilder name = new StringBuilder();
+        int kept = 0;
+        for (String word : words) {
+            if (NOISE.contains(word)) {
+                continue;
+            }
+            if (kept++ == MAX_FALLBACK_WORDS) {
+                break;
+            }
+            if (name.length() > 0) {
+                name.append(' ');
+            }
+            name.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        if (name.length() == 0) {
+            return null;
+        }
+        return name.length() > MAX_LENGTH ? name.substring(0, MAX_LENGTH) : name.toString();
+    }
+
+    /** The cleanup stage on its own; dictionary aliases go through it too. */
+    static List<String> clean(String raw) {
+        String text = raw.toLowerCase(Locale.ROOT);
+        int star = text.indexOf('*');
+        if (star > 0) {
+            text = text.substring(0, star);
+        }
+        // "McDonald's" -> "mcdonalds" rather than "mcdonald s"
+        text = text.replace("'", "").replace("\u2019", "");
+
+        List<String> words = new ArrayList<>();
+        for (String chunk : text.split("\\s+")) {
+            chunk = stripDomain(chunk);
+            for (String word : chunk.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty() && !isReference(word)) {
+                    words.add(word);
+                }
+            }
+        }
+        while (!words.isEmpty() && LEADING_NOISE.contains(words.get(0))) {
+            words.remove(0);
+        }
+        return words;
+    }
+
+    private static String stripDomain(String chunk) {
+        for (String suffix : DOMAIN_SUFFIXES) {
+            if (chunk.length() > suffix.length() && chunk.endsWith(suffix)) {
+                return chunk.substring(0, chunk.length() - suffix.length());
+            }
+        }
+        return chunk;
+    }
+
+    /** Order, card or reference numbers: words that are at least half digits. */
+    private static boolean isReference(String word) {
+        int digits = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) {
+                digits++;
+            }
+        }
+        return digits * 2 >= word.length();
+    }
+
+    private static Node parse(Reader reader) {
+        Node root = new Node();
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": expected 'Name: alias, ...'");
+                }
+                String canonical = line.substring(0, colon).strip();
+                for (String alias : line.substring(colon + 1).split(",")) {
+                    List<String> words = clean(alias);
+                    if (words.isEmpty()) {
+                        continue;
+                    }
+                    Node node = root;
+                    for (String word : words) {
+                        node = node.next.computeIfAbsent(word, w -> new Node());
+                    }
+                    // An alias listed twice keeps its first canonical name.
+                    if (node.canonical == null) {
+                        node.canonical = canonical;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read merchant dictionary", e);
+        }
+        return root;
+    }
+
+    private static Reader loadClasspath() {
+        InputStream in = MerchantNormalizer.class.getResourceAsStream(CLASSPATH_LOCATION);
+        if (in == null) {
+            throw new IllegalStateException("Missing classpath resource " + CLASSPATH_LOCATION);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
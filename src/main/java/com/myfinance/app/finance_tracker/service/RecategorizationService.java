@@ -0,0 +1,14 @@
+package com.myfinance.app.finance_tracker.service;
+
+import com.myfinance.app.finance_tracker.dto.RecategorizationStatusResponse;
+
+public interface RecategorizationService {
+    /**
+     * Schedules a background pass that re-resolves the category of every
+     * transaction the user owns. Called inside a transaction, the job starts
+     * after commit; a request while a pass is running queues one more pass.
+     */
+    void requestRecategorization(Long userId);
+
+    RecategorizationStatusResponse getStatus(Long userId);
+}
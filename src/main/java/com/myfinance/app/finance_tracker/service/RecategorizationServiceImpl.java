@@ -0,0 +1,229 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.myfinance.app.finance_tracker.dto.RecategorizationStatusResponse;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs category resolution over a user's stored transactions after their
+ * rules change.
+ *
+ * Rows are walked in {@code (user_id, id)} keyset order, one bounded chunk at
+ * a time, and changed categories are written with a JDBC batch update in a
+ * short transaction per chunk, so a large history never holds one long
+ * transaction or a full result set in memory.
+ */
+@Service
+@Slf4j
+public class RecategorizationServiceImpl implements RecategorizationService {
+
+    private static final String SELECT_CHUNK =
+        "SELECT id, merchant, raw_text, amount, origin, currency, category FROM transactions"
+        + " WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_CATEGORY =
+        "UPDATE transactions SET category = ?, updated_at = ? WHERE id = ? AND user_id = ?";
+
+    private record Row(long id, Transaction transaction, String category) {}
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, i) -> new Row(
+        rs.getLong("id"),
+        // Only the fields category rules look at.
+        Transaction.builder()
+            .merchant(rs.getString("merchant"))
+            .rawText(rs.getString("raw_text"))
+            .amount(rs.getBigDecimal("amount"))
+            .origin(rs.getString("origin") != null ? TransactionOrigin.valueOf(rs.getString("origin")) : null)
+            .currency(rs.getString("currency"))
+            .build(),
+        rs.getString("category"));
+
+    /** Progress of the latest pass for one user; written by its worker thread and inside {@code jobs.compute}. */
+    private static final class Job {
+        volatile String state = "QUEUED";
+        volatile boolean running = true;
+        volatile boolean rerunRequested;
+        volatile long scanned;
+        volatile long updated;
+        volatile long chunks;
+        volatile long startedNanos;
+        volatile long finishedNanos;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryResolverService categoryResolver;
+    private final ThreadPoolTaskExecutor executor;
+    private final ConcurrentMap<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.categories.recategorize.chunk-size:500}")
+    private int chunkSize;
+
+    public RecategorizationServiceImpl(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       CategoryResolverService categoryResolver,
+                                       @Qualifier("recategorizationExecutor") ThreadPoolTaskExecutor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryResolver = categoryResolver;
+        this.executor = executor;
+    }
+
+    @Override
+    public void requestRecategorization(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(userId);
+                }
+            });
+        } else {
+            schedule(userId);
+        }
+    }
+
+    @Override
+    public RecategorizationStatusResponse getStatus(Long userId) {
+        Job job = jobs.get(userId);
+        if (job == null) {
+            return RecategorizationStatusResponse.builder().state("IDLE").build();
+        }
+        return RecategorizationStatusResponse.builder()
+            .state(job.state)
+            .scanned(job.scanned)
+            .updated(job.updated)
+            .chunks(job.chunks)
+            .rowsPerSecond(rowsPerSecond(job))
+            .startedAt(job.startedAt)
+            .finishedAt(job.finishedAt)
+            .error(job.error)
+            .build();
+    }
+
+    private void schedule(Long userId) {
+        Job[] started = new Job[1];
+        jobs.compute(userId, (id, current) -> {
+            if (current != null && current.running) {
+                current.rerunRequested = true;
+                return current;
+            }
+            started[0] = new Job();
+            return started[0];
+        });
+        if (started[0] == null) {
+            return;
+        }
+        Job job = started[0];
+        try {
+            executor.execute(() -> run(userId, job));
+        } catch (TaskRejectedException e) {
+            log.warn("Recategorization queue full, skipping user {}", userId);
+            job.state = "REJECTED";
+            job.error = "Recategorization queue is full";
+            job.running = false;
+        }
+    }
+
+    private void run(Long userId, Job job) {
+        job.state = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        job.startedNanos = System.nanoTime();
+        try {
+            boolean again;
+            do {
+                recategorize(userId, job);
+                again = finishOrRerun(userId, job);
+            } while (again);
+            job.finishedNanos = System.nanoTime();
+            job.state = "COMPLETED";
+            log.info("Recategorized user {}: scanned={} updated={} chunks={} ({} rows/s)",
+                userId, job.scanned, job.updated, job.chunks, String.format("%.0f", rowsPerSecond(job)));
+        } catch (RuntimeException e) {
+            log.error("Recategorization failed for user {}", userId, e);
+            job.state = "FAILED";
+            job.error = e.getMessage();
+            job.running = false;
+        } finally {
+            if (job.finishedNanos == 0L) {
+                job.finishedNanos = System.nanoTime();
+            }
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /** Returns true if another pass was requested while this one ran; otherwise marks the job idle. */
+    private boolean finishOrRerun(Long userId, Job job) {
+        boolean[] again = new boolean[1];
+        jobs.computeIfPresent(userId, (id, current) -> {
+            if (current.rerunRequested) {
+                current.rerunRequested = false;
+                again[0] = true;
+            } else {
+                current.running = false;
+            }
+            return current;
+        });
+        return again[0];
+    }
+
+    private void recategorize(Long userId, Job job) {
+        long lastId = 0L;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(SELECT_CHUNK, ROW_MAPPER, userId, lastId, chunkSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> changes = new ArrayList<>();
+            for (Row row : rows) {
+                String category = categoryResolver.resolveCategory(userId, row.transaction());
+                if (!category.equals(row.category())) {
+                    changes.add(new Object[] {category, now, row.id(), userId});
+                }
+            }
+            if (!changes.isEmpty()) {
+                transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(UPDATE_CATEGORY, changes));
+            }
+            lastId = rows.get(rows.size() - 1).id();
+            job.scanned += rows.size();
+            job.updated += changes.size();
+            job.chunks++;
+            log.debug("Recategorization user {}: chunk {} scanned={} updated={}",
+                userId, job.chunks, job.scanned, job.updated);
+        }
+    }
+
+    private static double rowsPerSecond(Job job) {
+        if (job.startedNanos == 0L) {
+            return 0.0;
+        }
+        long end = job.finishedNanos != 0L ? job.finishedNanos : System.nanoTime();
+        double seconds = (end - job.startedNanos) / 1_000_000_000.0;
+        return seconds > 0 ? job.scanned / seconds : 0.0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.myfinance.app.finance_tracker.exception.InvalidPatternException;
+
+/**
+ * Helpers for {@code CategoryRule.pattern}, which is either a plain substring
+ * or a regex fragment.
+ *
+ * A pattern counts as a regex when it contains a regex metacharacter other
+ * than {@code .}; a lone dot is far more likely part of a merchant name
+ * ("amazon.in") than a wildcard, so such patterns stay substrings. Regexes are
+ * matched against a {@link CharSequence} that charges one step per character
+ * read and gives up once the budget is spent, so a backtracking-prone rule
+ * costs a bounded amount of work per transaction instead of stalling ingest.
+ */
+public final class RulePatterns {
+
+    /** Upper bound on characters the regex engine may read per match attempt. */
+    public static final int STEP_BUDGET = 200_000;
+
+    private static final int PROBE_LENGTH = 256;
+
+    private static final String REGEX_METACHARACTERS = "\\^$|?*+()[]{}";
+
+    /** A quantified group that itself contains a quantifier, e.g. {@code (a+)+} or {@code (\w*x)*}. */
+    private static final Pattern NESTED_QUANTIFIER =
+        Pattern.compile("\\((?:[^()\\\\]|\\\\.)*[*+}](?:[^()\\\\]|\\\\.)*\\)[*+{]");
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\[1-9]|\\\\k<");
+
+    private RulePatterns() {
+    }
+
+    /**
+     * Drops leading and trailing {@code .*}, which change nothing for an
+     * unanchored search, so {@code ".*swiggy.*"} becomes the plain substring
+     * {@code "swiggy"} and is matched by the automaton instead of a regex.
+     */
+    public static String simplify(String pattern) {
+        String p = pattern;
+        while (p.startsWith(".*")) {
+            p = p.substring(2);
+        }
+        while (p.endsWith(".*") && !p.endsWith("\\.*")) {
+            p = p.substring(0, p.length() - 2);
+        }
+        return p.isEmpty() ? pattern : p;
+    }
+
+    /**
+     * The form a pattern is stored in: substrings are lower-cased, regexes keep
+     * their case since lower-casing would turn escapes like {@code \D} or
+     * {@code \S} into their opposites.
+     */
+    public static String normalize(String pattern) {
+        return isRegex(simplify(pattern)) ? pattern : pattern.toLowerCase();
+    }
+
+    public static boolean isRegex(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Pattern compile(String regex) {
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Returns whether {@code regex} occurs in {@code text}; a match that runs
+     * out of budget counts as no match.
+     */
+    public static boolean find(Pattern regex, String text) {
+        try {
+            return regex.matcher(new BudgetedCharSequence(text, STEP_BUDGET)).find();
+        } catch (BudgetExceededException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rejects regex patterns that do not compile or that are prone to
+     * catastrophic backtracking. Plain substrings are always valid.
+     */
+    public static void validate(String pattern) {
+        pattern = simplify(pattern);
+        if (!isRegex(pattern)) {
+            return;
+        }
+        Pattern compiled;
+        try {
+            compiled = compile(pattern);
+        } catch (PatternSyntaxException e) {
+            throw new InvalidPatternException("Invalid regex pattern: " + e.getDescription());
+        }
+        if (BACK_REFERENCE.matcher(pattern).find()) {
+            throw new InvalidPatternException("Back-references are not supported in rule patterns");
+        }
+        if (NESTED_QUANTIFIER.matcher(pattern).find()) {
+            throw new InvalidPatternException("Nested quantifiers are not supported in rule patterns");
+        }
+        for (String probe : probes(pattern)) {
+            try {
+                compiled.matcher(new BudgetedCharSequence(probe, STEP_BUDGET)).find();
+            } catch (BudgetExceededException e) {
+                throw new InvalidPatternException("Pattern is too expensive to evaluate");
+            }
+        }
+    }
+
+    /** Long runs of the pattern's own literal characters, which is what triggers runaway backtracking. */
+    private static List<String> probes(String pattern) {
+        Set<Character> literals = new LinkedHashSet<>();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == ' ') {
+                literals.add(c);
+            }
+        }
+        literals.add('a');
+        List<String> probes = new ArrayList<>();
+        StringBuilder mixed = new StringBuilder();
+        for (char c : literals) {
+            probes.add(String.valueOf(c).repeat(PROBE_LENGTH) + "\u0000");
+            mixed.append(c);
+        }
+        probes.add(mixed.toString().repeat(Math.max(1, PROBE_LENGTH / mixed.length())) + "\u0000");
+        return probes;
+    }
+
+    private static final class BudgetExceededException extends RuntimeException {
+        BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** Read-only view of a string that throws once too many characters have been read. */
+    private static final class BudgetedCharSequence implements CharSequence {
+        private final String text;
+        private final int offset;
+        private final int length;
+        private final int[] remaining;
+
+        BudgetedCharSequence(String text, int budget) {
+            this(text, 0, text.length(), new int[] {budget});
+        }
+
+        private BudgetedCharSequence(String text, int offset, int length, int[] remaining) {
+            this.text = text;
+            this.offset = offset;
+            this.length = length;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--remaining[0] < 0) {
+                throw new BudgetExceededException();
+            }
+            return text.charAt(offset + index);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new BudgetedCharSequence(text, offset + start, end - start, remaining);
+        }
+
+        @Override
+        public String toString() {
+            return text.substring(offset, offset + length);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.myfinance.app.finance_tracker.service;
+
+import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse;
+
+public interface RulePreviewService {
+    /**
+     * Reports which of the user's stored transactions a candidate rule would
+     * re-label if it were saved now, without saving anything.
+     */
+    RulePreviewResponse previewRule(Long userId, CategoryRuleRequest req);
+}
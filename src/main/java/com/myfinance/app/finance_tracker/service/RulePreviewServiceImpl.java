@@ -0,0 +1,137 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse.CategoryChange;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse.Sample;
+import com.myfinance.app.finance_tracker.model.CategoryRule;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Dry-runs a candidate rule over the user's history.
+ *
+ * Only the columns rules look at are read, streamed through a forward-only
+ * cursor newest first, so memory stays flat however many transactions the
+ * user has and no entities are materialized. The candidate is appended after
+ * the user's existing rules, which is where a saved rule would rank, so a
+ * transaction an earlier rule already claims is reported as shadowed rather
+ * than changed.
+ */
+@Service
+@RequiredArgsConstructor
+public class RulePreviewServiceImpl implements RulePreviewService {
+
+    private static final String SELECT_PROJECTION =
+        "SELECT id, merchant, raw_text, amount, origin, currency, category, transaction_time"
+        + " FROM transactions WHERE user_id = ? ORDER BY id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRuleMatcherCache ruleMatchers;
+
+    @Value("${app.categories.preview.sample-size:20}")
+    private int sampleSize;
+
+    @Value("${app.categories.preview.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RulePreviewResponse previewRule(Long userId, CategoryRuleRequest req) {
+        RulePatterns.validate(req.getPattern());
+        CategoryRule candidate = CategoryRule.builder()
+            .pattern(RulePatterns.normalize(req.getPattern()))
+            .category(req.getCategory())
+            .direction(req.getDirection())
+            .origin(req.getOrigin())
+            .minAmount(req.getMinAmount())
+            .maxAmount(req.getMaxAmount())
+            .currency(req.getCurrency() != null ? req.getCurrency().toUpperCase() : null)
+            .build();
+        UserRuleMatcher candidateMatcher = UserRuleMatcher.compile(List.of(candidate), 0L);
+        UserRuleMatcher existing = ruleMatchers.forUser(userId);
+        String newCategory = req.getCategory();
+
+        long started = System.nanoTime();
+        long[] counts = new long[4]; // scanned, matched, shadowed, changed
+        Map<String, long[]> changesFrom = new HashMap<>();
+        List<Sample> samples = new ArrayList<>();
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_PROJECTION);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, userId);
+            return ps;
+        }, rs -> {
+            counts[0]++;
+            String merchant = rs.getString("merchant");
+            String rawText = rs.getString("raw_text");
+            BigDecimal amount = rs.getBigDecimal("amount");
+            String originName = rs.getString("origin");
+            TransactionOrigin origin = originName != null ? TransactionOrigin.valueOf(originName) : null;
+            String currency = rs.getString("currency");
+            // Same text the resolver matches against.
+            String text = (merchant != null ? merchant : "") + " " + (rawText != null ? rawText : "");
+
+            if (candidateMatcher.match(text, amount, origin, currency) == null) {
+                return;
+            }
+            counts[1]++;
+            if (existing.match(text, amount, origin, currency) != null) {
+                counts[2]++;
+                return;
+            }
+            String current = rs.getString("category");
+            if (newCategory.equals(current)) {
+                return;
+            }
+            counts[3]++;
+            changesFrom.computeIfAbsent(current, c -> new long[1])[0]++;
+            if (samples.size() < sampleSize) {
+                Timestamp time = rs.getTimestamp("transaction_time");
+                samples.add(Sample.builder()
+                    .id(rs.getLong("id"))
+                    .merchant(merchant)
+                    .rawText(rawText)
+                    .amount(amount)
+                    .transactionTime(time != null ? time.toLocalDateTime() : null)
+                    .currentCategory(current)
+                    .newCategory(newCategory)
+                    .build());
+            }
+        });
+
+        List<CategoryChange> changes = new ArrayList<>();
+        changesFrom.forEach((from, count) -> changes.add(CategoryChange.builder()
+            .from(from)
+            .to(newCategory)
+            .count(count[0])
+            .build()));
+        changes.sort(Comparator.comparingLong(CategoryChange::getCount).reversed());
+
+        return RulePreviewResponse.builder()
+            .scanned(counts[0])
+            .matched(counts[1])
+            .shadowed(counts[2])
+            .changed(counts[3])
+            .changes(changes)
+            .samples(samples)
+            .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+            .build();
+    }
+}
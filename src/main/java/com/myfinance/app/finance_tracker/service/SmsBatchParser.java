@@ -0,0 +1,118 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The CPU stage of SMS ingestion: parse, hash for deduplication, normalize
+ * the merchant and resolve the category, for a whole batch at once.
+ *
+ * Messages are cut into contiguous slices of {@code app.sms.parse.slice-size};
+ * all but the first go to {@code smsParseExecutor} and the calling thread
+ * works on the first, so small batches never leave the request thread. If
+ * the pool's queue is full the caller runs the slice itself. Results are
+ * written into a slot per input index, so the output is in input order no
+ * matter which slice finishes first. Nothing here touches the database
+ * except the user's rule set, which is compiled on the calling thread before
+ * the work fans out.
+ */
+@Component
+public class SmsBatchParser {
+
+    /** Outcome for one message: a transaction ready to save (without user), or an error. */
+    public record Parsed(Transaction transaction, String error) {
+        public boolean ok() {
+            return transaction != null;
+        }
+    }
+
+    private final SmsParser smsParser;
+    private final MerchantNormalizer merchantNormalizer;
+    private final CategoryResolverService categoryResolver;
+    private final UserRuleMatcherCache ruleMatchers;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer timer;
+
+    @Value("${app.sms.parse.slice-size:32}")
+    private int sliceSize;
+
+    public SmsBatchParser(SmsParser smsParser,
+                          MerchantNormalizer merchantNormalizer,
+                          CategoryResolverService categoryResolver,
+                          UserRuleMatcherCache ruleMatchers,
+                          @Qualifier("smsParseExecutor") ThreadPoolTaskExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.smsParser = smsParser;
+        this.merchantNormalizer = merchantNormalizer;
+        this.categoryResolver = categoryResolver;
+        this.ruleMatchers = ruleMatchers;
+        this.executor = executor;
+        this.timer = Timer.builder("sms.batch.stage")
+            .description("Time spent in each stage of an SMS batch")
+            .tag("stage", "parse")
+            .register(meterRegistry);
+    }
+
+    /** One result per message, in the same order. */
+    public List<Parsed> parse(Long userId, List<SmsMessage> messages) {
+        long started = System.nanoTime();
+        // Compile the rules here so the workers only ever read the cached matcher.
+        ruleMatchers.forUser(userId);
+
+        int n = messages.size();
+        Parsed[] results = new Parsed[n];
+        int slice = Math.max(1, sliceSize);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int from = slice; from < n; from += slice) {
+            int start = from;
+            int end = Math.min(n, from + slice);
+            try {
+                pending.add(CompletableFuture.runAsync(() -> parseRange(userId, messages, results, start, end), executor));
+            } catch (TaskRejectedException e) {
+                parseRange(userId, messages, results, start, end);
+            }
+        }
+        parseRange(userId, messages, results, 0, Math.min(n, slice));
+        // join() also publishes the workers' writes to the results array.
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return Arrays.asList(results);
+    }
+
+    private void parseRange(Long userId, List<SmsMessage> messages, Parsed[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = parseOne(userId, messages.get(i));
+        }
+    }
+
+    private Parsed parseOne(Long userId, SmsMessage message) {
+        try {
+            Transaction txn = smsParser.parse(message.getText(), userId).orElse(null);
+            if (txn == null) {
+                return new Parsed(null, "Unable to parse SMS");
+            }
+            txn.setContentHash(ContentHash.of(message.getText(), message.getTimestamp()));
+            txn.setCanonicalMerchant(merchantNormalizer.normalize(txn.getMerchant()));
+            txn.setCategory(categoryResolver.resolveCategory(userId, txn));
+            return new Parsed(txn, null);
+        } catch (RuntimeException e) {
+            return new Parsed(null, e.getMessage());
+        }
+    }
+}
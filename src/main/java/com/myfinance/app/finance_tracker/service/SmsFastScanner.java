@@ -0,0 +1,343 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written, single-pass reader for the {@code generic} bank format:
+ *
+ * <pre>Rs.75.50 debited from A/c XX1234 on 30-07-2024 at 01:30 PM for Swiggy. Avl Bal: ...</pre>
+ *
+ * It walks the characters once, folding ASCII case inline, and builds the
+ * amount in paise, the date and the minute of day from the digits it passes
+ * instead of cutting substrings and handing them to {@code BigDecimal} and
+ * {@code DateTimeFormatter}; the merchant is the only string it creates.
+ *
+ * Whatever it returns is exactly what the {@code generic} template would
+ * have extracted. Anything it is not certain about (an implausible date,
+ * more digits than fit in a {@code long}, line breaks inside the merchant)
+ * makes it return {@code null}, and the caller falls back to the
+ * {@link SmsTemplateRegistry}.
+ */
+@Component
+public class SmsFastScanner {
+
+    /** Name of the template this scanner stands in for. */
+    public static final String TEMPLATE = "generic";
+
+    /** Keeps paise arithmetic well inside a long. */
+    private static final int MAX_AMOUNT_DIGITS = 15;
+
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * A parsed message. {@code scale} is the number of fraction digits the
+     * amount was written with (0 to 2); {@code minuteOfDay} is -1 when the
+     * time is not a valid clock time; {@code merchant} may be null.
+     */
+    public record Scan(long paise, int scale, boolean debit, int year, int month, int day, int minuteOfDay,
+                       String merchant) {
+
+        /** The unsigned amount in rupees, with the scale it was written with, as the template reads it. */
+        public BigDecimal amount() {
+            return BigDecimal.valueOf(paise / (scale == 0 ? 100 : scale == 1 ? 10 : 1), scale);
+        }
+    }
+
+    /** The parsed message, or null if it is not certainly a {@code generic} message. */
+    public Scan scan(String sms) {
+        int n = sms.length();
+        for (int i = 0; i + 1 < n; i++) {
+            if ((sms.charAt(i) | 0x20) == 'r' && (sms.charAt(i + 1) | 0x20) == 's') {
+                Attempt attempt = new Attempt(sms);
+                if (attempt.run(i + 2)) {
+                    return attempt.uncertain ? null : attempt.result();
+                }
+                if (attempt.uncertain) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** One match attempt starting just after an "Rs". */
+    private static final class Attempt {
+        private final String s;
+        private final int n;
+        private boolean uncertain;
+
+        private long paise;
+        private int scale;
+        private boolean debit;
+        private int year;
+        private int month;
+        private int day;
+        private int minuteOfDay;
+        private int merchantStart = -1;
+        private int merchantEnd;
+
+        Attempt(String s) {
+            this.s = s;
+            this.n = s.length();
+        }
+
+        Scan result() {
+            String merchant = merchantStart < 0 ? null : s.substring(merchantStart, merchantEnd);
+            return new Scan(paise, scale, debit, year, month, day, minuteOfDay, merchant);
+        }
+
+        boolean run(int p) {
+            // Rs\.?\s?
+            if (p < n && s.charAt(p) == '.') {
+                p++;
+            }
+            if (p < n && isSpace(s.charAt(p))) {
+                p++;
+            }
+
+            // \d[\d,]*(?:\.\d{1,2})?
+            if (p >= n || !isDigit(s.charAt(p))) {
+                return false;
+            }
+            long rupees = 0;
+            int digits = 0;
+            while (p < n && (isDigit(s.charAt(p)) || s.charAt(p) == ',')) {
+                char c = s.charAt(p++);
+                if (c != ',') {
+                    if (++digits > MAX_AMOUNT_DIGITS) {
+                        uncertain = true;
+                        return false;
+                    }
+                    rupees = rupees * 10 + (c - '0');
+                }
+            }
+            long fraction = 0;
+            if (p < n && s.charAt(p) == '.') {
+                p++;
+                int fractionDigits = 0;
+                while (fractionDigits < 2 && p < n && isDigit(s.charAt(p))) {
+                    fraction = fraction * 10 + (s.charAt(p++) - '0');
+                    fractionDigits++;
+                }
+                if (fractionDigits == 0) {
+                    return false;
+                }
+                scale = fractionDigits;
+                if (fractionDigits == 1) {
+                    fraction *= 10;
+                }
+            }
+            paise = rupees * 100 + fraction;
+
+            // \s+(?:debited|credited)\s+(?:to|from)\s+A/c\s+\w+\s+on\s+
+            if ((p = spaces(p)) < 0) {
+                return false;
+            }
+            if (word(p, "debited")) {
+                debit = true;
+                p += 7;
+            } else if (word(p, "credited")) {
+                p += 8;
+            } else {
+                return false;
+            }
+            if ((p = spaces(p)) < 0) {
+                return false;
+            }
+            if (word(p, "to")) {
+                p += 2;
+            } else if (word(p, "from")) {
+                p += 4;
+            } else {
+                return false;
+            }
+            if ((p = spaces(p)) < 0 || !word(p, "a/c") || (p = spaces(p + 3)) < 0) {
+                return false;
+            }
+            int account = p;
+            while (p < n && isWordChar(s.charAt(p))) {
+                p++;
+            }
+            if (p == account || (p = spaces(p)) < 0 || !word(p, "on") || (p = spaces(p + 2)) < 0) {
+                return false;
+            }
+
+            // \d{2}-\d{2}-(?:\d{4}|\d{2})
+            if (!digitsAt(p, 2) || !charAt(p + 2, '-') || !digitsAt(p + 3, 2) || !charAt(p + 5, '-')) {
+                return false;
+            }
+            day = twoDigits(p);
+            month = twoDigits(p + 3);
+            p += 6;
+            if (digitsAt(p, 4)) {
+                year = twoDigits(p) * 100 + twoDigits(p + 2);
+                p += 4;
+            } else if (digitsAt(p, 2)) {
+                year = 2000 + twoDigits(p);
+                p += 2;
+            } else {
+                return false;
+            }
+
+            // \s+at\s+\d{1,2}:\d{2}
+            if ((p = spaces(p)) < 0 || !word(p, "at") || (p = spaces(p + 2)) < 0) {
+                return false;
+            }
+            int hour;
+            if (digitsAt(p, 2) && charAt(p + 2, ':')) {
+                hour = twoDigits(p);
+                p += 3;
+            } else if (digitsAt(p, 1) && charAt(p + 1, ':')) {
+                hour = s.charAt(p) - '0';
+                p += 2;
+            } else {
+                return false;
+            }
+            if (!digitsAt(p, 2)) {
+                return false;
+            }
+            int minute = twoDigits(p);
+            p += 2;
+            // The date is only checked now: before this point a bad message
+            // is still a plain non-match, and another "Rs" may yet match.
+            if (!plausibleDate()) {
+                uncertain = true;
+                return true;
+            }
+
+            // (?:\s*(?:AM|PM))?
+            boolean am = false;
+            boolean pm = false;
+            int q = p;
+            while (q < n && isSpace(s.charAt(q))) {
+                q++;
+            }
+            if (word(q, "am")) {
+                am = true;
+                p = q + 2;
+            } else if (word(q, "pm")) {
+                pm = true;
+                p = q + 2;
+            }
+            minuteOfDay = SmsTemplate.minuteOfDay(hour, minute, am, pm);
+
+            // (?:\s+for\s+(?<merchant>.+?)(?:\.|\s+Avl\s+Bal|$))?
+            if ((p = spaces(p)) < 0 || !word(p, "for") || (p = spaces(p + 3)) < 0) {
+                return true;
+            }
+            if (p >= n || isLineBreak(s.charAt(p))) {
+                // Needs the regex's backtracking to decide; leave it to the template.
+                uncertain = true;
+                return true;
+            }
+            int start = p++;
+            while (p < n && s.charAt(p) != '.' && !avlBal(p)) {
+                if (isLineBreak(s.charAt(p))) {
+                    uncertain = true;
+                    return true;
+                }
+                p++;
+            }
+            int end = p;
+            while (start < end && Character.isWhitespace(s.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+                end--;
+            }
+            merchantStart = start;
+            merchantEnd = end;
+            return true;
+        }
+
+        /** Position after one or more whitespace characters at p, or -1. */
+        private int spaces(int p) {
+            int start = p;
+            while (p < n && isSpace(s.charAt(p))) {
+                p++;
+            }
+            return p > start ? p : -1;
+        }
+
+        /** Case-insensitive ASCII literal at p. */
+        private boolean word(int p, String lower) {
+            if (p + lower.length() > n) {
+                return false;
+            }
+            for (int k = 0; k < lower.length(); k++) {
+                char c = s.charAt(p + k);
+                char expected = lower.charAt(k);
+                if (c != expected && !(expected >= 'a' && expected <= 'z' && (c | 0x20) == expected)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** \s+Avl\s+Bal at p. */
+        private boolean avlBal(int p) {
+            int q = spaces(p);
+            if (q < 0 || !word(q, "avl")) {
+                return false;
+            }
+            q = spaces(q + 3);
+            return q >= 0 && word(q, "bal");
+        }
+
+        private boolean digitsAt(int p, int count) {
+            if (p + count > n) {
+                return false;
+            }
+            for (int k = 0; k < count; k++) {
+                if (!isDigit(s.charAt(p + k))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean charAt(int p, char c) {
+            return p < n && s.charAt(p) == c;
+        }
+
+        private int twoDigits(int p) {
+            return (s.charAt(p) - '0') * 10 + (s.charAt(p + 1) - '0');
+        }
+
+        /**
+         * Dates any resolver agrees on. Out-of-range days are adjusted or
+         * rejected by {@code DateTimeFormatter} depending on the field, so
+         * those are left to the template.
+         */
+        private boolean plausibleDate() {
+            if (year < 1 || month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]) {
+                return false;
+            }
+            return month != 2 || day < 29 || isLeap(year);
+        }
+    }
+
+    private static boolean isLeap(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** The regex {@code \s}: ASCII whitespace only. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isDigit(c) || c == '_' || ((c | 0x20) >= 'a' && (c | 0x20) <= 'z');
+    }
+
+    /** Characters the regex {@code .} does not match. */
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
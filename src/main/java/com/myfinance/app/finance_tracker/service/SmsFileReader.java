@@ -0,0 +1,257 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+/**
+ * Reads an uploaded SMS export one line (or CSV record) at a time, so a file
+ * of any size is never held in memory as a whole. Lines that carry no message
+ * (blank lines, comments, the CSV header, WhatsApp's own notices) are skipped.
+ * A WhatsApp message spanning several lines is handed out once its last line
+ * is read; see {@link WhatsAppChatParser}. CSV is read with
+ * {@link CsvRecordReader}, so quoted fields may hold commas and line breaks.
+ *
+ * Read errors surface as {@link UncheckedIOException} from {@code hasNext()}.
+ */
+public final class SmsFileReader implements Iterator<SmsMessage> {
+
+    public enum Format {
+        /** {@code timestamp|sender|message_text}, or just the message text. */
+        TEXT,
+        /**
+         * RFC 4180, with a header row naming the columns in any order
+         * (e.g. {@code date,sender,message}); without recognisable names,
+         * {@code timestamp,message_text}.
+         */
+        CSV,
+        /** {@code [dd/MM/yy, HH:mm] sender: message} (iOS) or {@code dd/MM/yy, HH:mm - sender: message} (Android). */
+        WHATSAPP
+    }
+
+    /** A UTF-8 byte order mark, as decoded; editors on Windows like to add one. */
+    private static final String BOM = "\uFEFF";
+
+    /** Header names, lower-cased without spaces, dashes or underscores. */
+    private static final Set<String> TIMESTAMP_HEADERS =
+        Set.of("timestamp", "date", "time", "datetime", "received", "receivedat", "sentat");
+    private static final Set<String> TEXT_HEADERS =
+        Set.of("message", "messagetext", "text", "body", "sms", "content");
+
+    private final BufferedReader reader;
+    private final Format format;
+    /** False for a piece from the middle of a file, which has no header to skip. */
+    private final boolean atFileStart;
+    /** Date order of a WhatsApp export, or null to settle it from the head of the reader. */
+    private final Boolean dayFirst;
+    /** Created on the first read, once the date order is known. */
+    private WhatsAppChatParser chat;
+    private final CsvRecordReader csv;
+    private final List<String> fields = new ArrayList<>();
+    /** CSV column of the timestamp (-1 if there is none) and of the text. */
+    private int timestampColumn = 0;
+    private int textColumn = 1;
+    private int columnCount = 2;
+    private long lineNumber;
+    private SmsMessage next;
+
+    public SmsFileReader(BufferedReader reader, Format format) {
+        this(reader, format, true);
+    }
+
+    public SmsFileReader(BufferedReader reader, Format format, boolean atFileStart) {
+        this(reader, format, atFileStart, null);
+    }
+
+    /**
+     * For one piece of a file: {@code dayFirst} is the date order settled
+     * for the whole WhatsApp export, so every piece reads dates alike.
+     */
+    SmsFileReader(BufferedReader reader, Format format, boolean atFileStart, Boolean dayFirst) {
+        this.reader = reader;
+        this.format = format;
+        this.atFileStart = atFileStart;
+        this.dayFirst = dayFirst;
+        this.csv = format == Format.CSV ? new CsvRecordReader(reader) : null;
+    }
+
+    /**
+     * Opens an upload for reading, in the charset its byte order mark names
+     * (UTF-8, UTF-16LE or UTF-16BE), or in {@code fallback} if it has none.
+     * The mark itself is consumed.
+     */
+    public static BufferedReader open(InputStream in, Charset fallback) throws IOException {
+        PushbackInputStream stream = new PushbackInputStream(in, 3);
+        byte[] head = new byte[3];
+        int n = stream.readNBytes(head, 0, 3);
+        Charset charset = fallback;
+        int bom = 0;
+        if (n == 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            charset = StandardCharsets.UTF_8;
+            bom = 3;
+        } else if (n >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            charset = StandardCharsets.UTF_16LE;
+            bom = 2;
+        } else if (n >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            charset = StandardCharsets.UTF_16BE;
+            bom = 2;
+        }
+        if (n > bom) {
+            stream.unread(head, bom, n - bom);
+        }
+        return new BufferedReader(new InputStreamReader(stream, charset));
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (format == Format.WHATSAPP && chat == null) {
+                chat = new WhatsAppChatParser(dayFirst != null ? dayFirst : WhatsAppChatParser.dayFirst(head()));
+            }
+            while (next == null) {
+                if (csv != null) {
+                    if (!csv.readRecord(fields)) {
+                        break;
+                    }
+                    lineNumber++;
+                    next = parseCsvRecord();
+                    continue;
+                }
+                String line = reader.readLine();
+                if (line == null) {
+                    if (chat != null) {
+                        next = chat.finish();
+                    }
+                    break;
+                }
+                lineNumber++;
+                if (lineNumber == 1 && atFileStart && line.startsWith(BOM)) {
+                    line = line.substring(1);
+                }
+                next = parseLine(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next != null;
+    }
+
+    @Override
+    public SmsMessage next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        SmsMessage message = next;
+        next = null;
+        return message;
+    }
+
+    /** The first {@link WhatsAppChatParser#HEAD_CHARS} characters, left unread. */
+    private CharBuffer head() throws IOException {
+        char[] head = new char[WhatsAppChatParser.HEAD_CHARS];
+        reader.mark(head.length);
+        int n = 0;
+        int read;
+        while (n < head.length && (read = reader.read(head, n, head.length - n)) > 0) {
+            n += read;
+        }
+        reader.reset();
+        return CharBuffer.wrap(head, 0, n);
+    }
+
+    private SmsMessage parseLine(String line) {
+        return switch (format) {
+            case TEXT -> parseTextLine(line.trim());
+            case CSV -> throw new IllegalStateException("CSV is read by record");
+            case WHATSAPP -> chat.accept(line);
+        };
+    }
+
+    private static SmsMessage parseTextLine(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return null;
+        }
+        // timestamp|sender|message_text
+        String[] parts = line.split("\\|", 3);
+        if (parts.length >= 3) {
+            return SmsMessage.builder()
+                .text(parts[2].trim())
+                .timestamp(parts[0].trim())
+                .build();
+        }
+        // Fallback: treat as plain message. No timestamp is made up,
+        // so the same line uploaded again hashes the same.
+        return SmsMessage.builder().text(line).build();
+    }
+
+    private SmsMessage parseCsvRecord() {
+        if (atFileStart && lineNumber == 1) {
+            mapColumns();
+            return null;
+        }
+        if (textColumn >= fields.size()) {
+            return null;
+        }
+        String text;
+        if (textColumn == columnCount - 1 && fields.size() > columnCount) {
+            // Unquoted commas in a last text column, as older exports have them.
+            text = String.join(",", fields.subList(textColumn, fields.size()));
+        } else {
+            text = fields.get(textColumn);
+        }
+        text = text.trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        String timestamp = timestampColumn >= 0 && timestampColumn < fields.size()
+            ? fields.get(timestampColumn).trim()
+            : "";
+        return SmsMessage.builder()
+            .text(text)
+            .timestamp(timestamp.isEmpty() ? null : timestamp)
+            .build();
+    }
+
+    /** Picks the timestamp and text columns out of the header row, if it names them. */
+    private void mapColumns() {
+        int timestamp = -1;
+        int text = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = headerName(fields.get(i));
+            if (timestamp < 0 && TIMESTAMP_HEADERS.contains(name)) {
+                timestamp = i;
+            } else if (text < 0 && TEXT_HEADERS.contains(name)) {
+                text = i;
+            }
+        }
+        if (text >= 0) {
+            timestampColumn = timestamp;
+            textColumn = text;
+            columnCount = fields.size();
+        }
+    }
+
+    private static String headerName(String field) {
+        StringBuilder name = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c)) {
+                name.append(Character.toLowerCase(c));
+            }
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.myfinance.app.finance_tracker.dto.SmsIngestionJobResponse;
+
+public interface SmsIngestionJobService {
+    /**
+     * Spools the upload to disk and queues it for background ingestion.
+     *
+     * @throws com.myfinance.app.finance_tracker.exception.IngestionQueueFullException
+     *         if the job queue is full; nothing is kept in that case
+     */
+    SmsIngestionJobResponse submit(Long userId, SmsFileReader.Format format, String fileName, InputStream content)
+        throws IOException;
+
+    SmsIngestionJobResponse getJob(Long userId, Long jobId);
+}
@@ -0,0 +1,346 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.myfinance.app.finance_tracker.dto.SmsIngestionJobResponse;
+import com.myfinance.app.finance_tracker.exception.IngestionQueueFullException;
+import com.myfinance.app.finance_tracker.exception.ResourceNotFoundException;
+import com.myfinance.app.finance_tracker.model.SmsIngestionJob;
+import com.myfinance.app.finance_tracker.model.SmsIngestionJobStatus;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.SmsIngestionJobRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background ingestion of uploaded SMS files.
+ *
+ * An upload is copied to {@code app.sms.jobs.spool-dir}, recorded as a QUEUED
+ * job and handed to {@code smsIngestionJobExecutor}. If that pool is busy and
+ * its queue full, the upload is refused with {@link IngestionQueueFullException}
+ * rather than accepted and left waiting.
+ *
+ * A worker streams the spooled file through
+ * {@link SmsIngestionService#ingest(Long, java.util.Iterator, java.util.function.Consumer)}
+ * and saves the job's counters after every committed chunk. A job belongs
+ * to the node that spooled it ({@code app.sms.jobs.node-id}); every
+ * {@code app.sms.jobs.resume-interval} a node picks up its own jobs still
+ * QUEUED or RUNNING in the table but not running here, such as ones cut off
+ * by a restart. Other nodes' jobs are never touched, so with several nodes
+ * each job still runs once. Jobs recorded without an owner are claimed, with
+ * a conditional update, by a node that has their spool file. A resumed job
+ * skips the messages already counted as processed. A crash between a
+ * chunk's commit and the counter update replays that one chunk, whose rows
+ * then come back as duplicates.
+ *
+ * A .gz or .zip upload is spooled as it came and inflated while it is read
+ * (see {@link UploadDecompressor}); file size and bytes read are of the
+ * compressed file, which keeps the ETA right.
+ */
+@Service
+@Slf4j
+public class SmsIngestionJobServiceImpl implements SmsIngestionJobService {
+
+    private static final List<SmsIngestionJobStatus> UNFINISHED =
+        List.of(SmsIngestionJobStatus.QUEUED, SmsIngestionJobStatus.RUNNING);
+
+    /** Where the current run of a job started, for its rate and ETA. */
+    private record Run(long startNanos, long startBytes, int startProcessed) {}
+
+    private final SmsIngestionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final SmsIngestionService ingestionService;
+    private final ThreadPoolTaskExecutor executor;
+    private final UploadDecompressor decompressor;
+    /** Jobs handed to the executor by this process and not finished yet. */
+    private final Set<Long> submitted = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Run> runs = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    @Value("${app.sms.jobs.spool-dir:${java.io.tmpdir}/sms-jobs}")
+    private String spoolDir;
+
+    @Value("${app.sms.jobs.retry-after-seconds:30}")
+    private int retryAfterSeconds;
+
+    /** Must be stable across restarts of a node, and unique among nodes. */
+    @Value("${app.sms.jobs.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    public SmsIngestionJobServiceImpl(SmsIngestionJobRepository jobRepository,
+                                      UserRepository userRepository,
+                                      SmsIngestionService ingestionService,
+                                      @Qualifier("smsIngestionJobExecutor") ThreadPoolTaskExecutor executor,
+                                      UploadDecompressor decompressor) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.ingestionService = ingestionService;
+        this.executor = executor;
+        this.decompressor = decompressor;
+    }
+
+    @Override
+    public SmsIngestionJobResponse submit(Long userId, SmsFileReader.Format format, String fileName,
+                                          InputStream content) throws IOException {
+        // Cheap check first, so a busy server does not spool the file only to refuse it.
+        if (!hasCapacity()) {
+            throw queueFull();
+        }
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Path spool = Files.createTempFile(Files.createDirectories(Path.of(spoolDir)), "sms-upload-", ".txt");
+        long size;
+        try {
+            size = Files.copy(content, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        SmsIngestionJob job = jobRepository.save(SmsIngestionJob.builder()
+            .user(user)
+            .format(format)
+            .status(SmsIngestionJobStatus.QUEUED)
+            .fileName(fileName)
+            .spoolPath(spool.toString())
+            .owner(nodeId)
+            .fileSize(size)
+            .build());
+        if (!enqueue(job.getId())) {
+            jobRepository.delete(job);
+            Files.deleteIfExists(spool);
+            throw queueFull();
+        }
+        return toResponse(job);
+    }
+
+    @Override
+    public SmsIngestionJobResponse getJob(Long userId, Long jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+            .map(this::toResponse)
+            .orElseThrow(() -> new ResourceNotFoundException("Job not found: " + jobId));
+    }
+
+    /** Queues this node's unfinished jobs that it is not already running, oldest first. */
+    @Scheduled(fixedDelayString = "${app.sms.jobs.resume-interval:30s}",
+               initialDelayString = "${app.sms.jobs.resume-delay:5s}")
+    public void resumeUnfinished() {
+        for (SmsIngestionJob job : jobRepository.findByStatusInOrderByIdAsc(UNFINISHED)) {
+            if (submitted.contains(job.getId()) || !ownedHere(job)) {
+                continue;
+            }
+            if (!enqueue(job.getId())) {
+                return;
+            }
+            log.info("Resuming SMS ingestion job {} after {} messages", job.getId(), job.getProcessed());
+        }
+    }
+
+    private boolean ownedHere(SmsIngestionJob job) {
+        if (job.getOwner() != null) {
+            return job.getOwner().equals(nodeId);
+        }
+        if (!Files.exists(Path.of(job.getSpoolPath())) || jobRepository.claim(job.getId(), nodeId) == 0) {
+            return false;
+        }
+        job.setOwner(nodeId);
+        return true;
+    }
+
+    @PreDestroy
+    void stop() {
+        // The executor is shut down after this bean; jobs interrupted then are resumed, not failed.
+        stopping = true;
+    }
+
+    private boolean hasCapacity() {
+        return executor.getActiveCount() < executor.getMaxPoolSize()
+            || executor.getQueueSize() < executor.getQueueCapacity();
+    }
+
+    private boolean enqueue(Long jobId) {
+        if (!submitted.add(jobId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> run(jobId));
+            return true;
+        } catch (TaskRejectedException e) {
+            submitted.remove(jobId);
+            return false;
+        }
+    }
+
+    private IngestionQueueFullException queueFull() {
+        return new IngestionQueueFullException("Too many imports in progress, try again later", retryAfterSeconds);
+    }
+
+    private void run(Long jobId) {
+        SmsIngestionJob job = null;
+        try {
+            job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || !UNFINISHED.contains(job.getStatus())) {
+                return;
+            }
+            job.setStatus(SmsIngestionJobStatus.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            jobRepository.save(job);
+            ingest(job);
+            job.setStatus(SmsIngestionJobStatus.COMPLETED);
+            finish(job);
+            log.info("SMS ingestion job {} done: processed={} created={} duplicates={} failed={}", jobId,
+                job.getProcessed(), job.getSucceeded(), job.getDuplicates(), job.getFailed());
+        } catch (IOException | RuntimeException e) {
+            if (stopping) {
+                log.info("SMS ingestion job {} stopped by shutdown; it resumes on the next start", jobId);
+            } else if (job != null) {
+                log.error("SMS ingestion job {} failed", jobId, e);
+                job.setStatus(SmsIngestionJobStatus.FAILED);
+                job.setError(truncate(e.getMessage()));
+                finish(job);
+            }
+        } finally {
+            runs.remove(jobId);
+            submitted.remove(jobId);
+        }
+    }
+
+    private void ingest(SmsIngestionJob job) throws IOException {
+        Long userId = job.getUser().getId();
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(Path.of(job.getSpoolPath())));
+             BufferedReader reader = SmsFileReader.open(decompressor.open(in), StandardCharsets.UTF_8)) {
+            SmsFileReader messages = new SmsFileReader(reader, job.getFormat());
+            // Skip what earlier runs committed.
+            int skip = job.getProcessed();
+            for (int i = 0; i < skip && messages.hasNext(); i++) {
+                messages.next();
+            }
+
+            int succeeded = job.getSucceeded();
+            int failed = job.getFailed();
+            int duplicates = job.getDuplicates();
+            int chunks = job.getChunks();
+            runs.put(job.getId(), new Run(System.nanoTime(), in.count, skip));
+            ingestionService.ingest(userId, messages, progress -> {
+                job.setProcessed(skip + progress.getTotalProcessed());
+                job.setSucceeded(succeeded + progress.getSuccessfulTransactions());
+                job.setFailed(failed + progress.getFailedTransactions());
+                job.setDuplicates(duplicates + progress.getDuplicateTransactions());
+                job.setChunks(chunks + progress.getChunk().getIndex() + 1);
+                job.setBytesRead(in.count);
+                jobRepository.save(job);
+            });
+            job.setBytesRead(job.getFileSize());
+        }
+    }
+
+    private void finish(SmsIngestionJob job) {
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        try {
+            Files.deleteIfExists(Path.of(job.getSpoolPath()));
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", job.getSpoolPath(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private SmsIngestionJobResponse toResponse(SmsIngestionJob job) {
+        double messagesPerSecond = 0.0;
+        Long etaSeconds = null;
+        Run run = runs.get(job.getId());
+        if (run != null && job.getStatus() == SmsIngestionJobStatus.RUNNING) {
+            double seconds = (System.nanoTime() - run.startNanos()) / 1_000_000_000.0;
+            long bytes = job.getBytesRead() - run.startBytes();
+            if (seconds > 0) {
+                messagesPerSecond = (job.getProcessed() - run.startProcessed()) / seconds;
+            }
+            if (seconds > 0 && bytes > 0) {
+                etaSeconds = Math.round((job.getFileSize() - job.getBytesRead()) / (bytes / seconds));
+            }
+        } else if (job.getStatus() == SmsIngestionJobStatus.COMPLETED) {
+            etaSeconds = 0L;
+        }
+        return SmsIngestionJobResponse.builder()
+            .id(job.getId())
+            .status(job.getStatus())
+            .format(job.getFormat().name().toLowerCase(Locale.ROOT))
+            .fileName(job.getFileName())
+            .fileSize(job.getFileSize())
+            .percentComplete(job.getFileSize() > 0 ? 100.0 * job.getBytesRead() / job.getFileSize() : 0.0)
+            .totalProcessed(job.getProcessed())
+            .successfulTransactions(job.getSucceeded())
+            .failedTransactions(job.getFailed())
+            .duplicateTransactions(job.getDuplicates())
+            .chunks(job.getChunks())
+            .messagesPerSecond(messagesPerSecond)
+            .etaSeconds(etaSeconds)
+            .createdAt(job.getCreatedAt())
+            .startedAt(job.getStartedAt())
+            .finishedAt(job.getFinishedAt())
+            .error(job.getError())
+            .build();
+    }
+
+    /** Bytes taken from the file so far; the reader's read-ahead makes it run slightly ahead. */
+    private static final class CountingInputStream extends FilterInputStream {
+        volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
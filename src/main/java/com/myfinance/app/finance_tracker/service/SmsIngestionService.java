@@ -0,0 +1,28 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
+import com.myfinance.app.finance_tracker.dto.SmsIngestProgress;
+
+public interface SmsIngestionService {
+    /**
+     * Parses and categorizes all messages up front, then saves them in
+     * fixed-size chunks, each in its own transaction. A failing chunk never
+     * takes the rest of the batch down with it.
+     */
+    SmsBatchResponse ingest(Long userId, List<SmsMessage> messages);
+
+    /**
+     * Streaming variant for uploads of any size: reads one chunk from
+     * {@code messages}, parses, categorizes and commits it, reports it to
+     * {@code listener}, and only then reads the next. At most one chunk is in
+     * memory, and a slow listener slows the reading down with it.
+     *
+     * @return the final totals, with {@code done} set
+     */
+    SmsIngestProgress ingest(Long userId, Iterator<SmsMessage> messages, Consumer<SmsIngestProgress> listener);
+}
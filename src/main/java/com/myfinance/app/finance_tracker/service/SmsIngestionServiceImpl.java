@@ -0,0 +1,269 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.ChunkTiming;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.Outcome;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.TransactionResult;
+import com.myfinance.app.finance_tracker.dto.SmsIngestProgress;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.TransactionRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch SMS ingestion.
+ *
+ * The user is loaded once and the whole batch goes through
+ * {@link SmsBatchParser} (which compiles the user's rules once) before
+ * anything is written. Rows are then saved with {@code saveAll} in chunks of
+ * {@code app.sms.ingest.chunk-size}, each chunk in a transaction of its own.
+ * If a chunk's save fails, that chunk is rolled back and its rows are retried
+ * one per transaction, so only the offending rows are reported as failed.
+ *
+ * Streamed uploads go through the same steps one chunk at a time: the next
+ * chunk is read only after the previous one has committed and been reported.
+ */
+@Service
+@Slf4j
+public class SmsIngestionServiceImpl implements SmsIngestionService {
+
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final SmsBatchParser batchParser;
+    private final TransactionHashFilter hashFilter;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${app.sms.ingest.chunk-size:100}")
+    private int chunkSize;
+
+    public SmsIngestionServiceImpl(UserRepository userRepository,
+                                   TransactionRepository transactionRepository,
+                                   SmsBatchParser batchParser,
+                                   TransactionHashFilter hashFilter,
+                                   PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.batchParser = batchParser;
+        this.hashFilter = hashFilter;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public SmsBatchResponse ingest(Long userId, List<SmsMessage> messages) {
+        User user = loadUser(userId);
+
+        long parseStarted = System.nanoTime();
+        List<SmsBatchParser.Parsed> parsed = batchParser.parse(userId, messages);
+        long parseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStarted);
+
+        TransactionResult[] results = new TransactionResult[parsed.size()];
+        List<ChunkTiming> chunks = new ArrayList<>();
+        // Hashes accepted earlier in this batch, which the table cannot show until their chunk commits.
+        Set<String> batchHashes = new HashSet<>();
+        int size = Math.max(1, chunkSize);
+        for (int from = 0; from < parsed.size(); from += size) {
+            int to = Math.min(parsed.size(), from + size);
+            chunks.add(persistChunk(user, parsed, from, to, 0, chunks.size(), results, batchHashes));
+        }
+
+        List<TransactionResult> resultList = Arrays.asList(results);
+        int successful = (int) resultList.stream().filter(TransactionResult::isSuccess).count();
+        int duplicates = (int) resultList.stream().filter(r -> r.getOutcome() == Outcome.DUPLICATE).count();
+
+        return SmsBatchResponse.builder()
+            .totalProcessed(messages.size())
+            .successfulTransactions(successful)
+            .failedTransactions(resultList.size() - successful - duplicates)
+            .duplicateTransactions(duplicates)
+            .results(resultList)
+            .parseMillis(parseMillis)
+            .chunks(chunks)
+            .build();
+    }
+
+    @Override
+    public SmsIngestProgress ingest(Long userId, Iterator<SmsMessage> messages,
+                                   Consumer<SmsIngestProgress> listener) {
+        User user = loadUser(userId);
+        int size = Math.max(1, chunkSize);
+        int processed = 0;
+        int successful = 0;
+        int failed = 0;
+        int duplicates = 0;
+        for (int chunkIndex = 0; messages.hasNext(); chunkIndex++) {
+            List<SmsMessage> chunk = new ArrayList<>(size);
+            while (chunk.size() < size && messages.hasNext()) {
+                chunk.add(messages.next());
+            }
+
+            long parseStarted = System.nanoTime();
+            List<SmsBatchParser.Parsed> parsed = batchParser.parse(userId, chunk);
+            long parseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStarted);
+
+            TransactionResult[] results = new TransactionResult[parsed.size()];
+            // Earlier chunks are committed and in the hash filter, so only this chunk needs a set.
+            ChunkTiming timing = persistChunk(user, parsed, 0, parsed.size(), processed, chunkIndex, results,
+                new HashSet<>());
+            processed += parsed.size();
+            successful += timing.getCreated();
+            failed += timing.getFailed();
+            duplicates += timing.getDuplicates();
+
+            listener.accept(SmsIngestProgress.builder()
+                .totalProcessed(processed)
+                .successfulTransactions(successful)
+                .failedTransactions(failed)
+                .duplicateTransactions(duplicates)
+                .parseMillis(parseMillis)
+                .chunk(timing)
+                .results(Arrays.asList(results))
+                .build());
+        }
+
+        return SmsIngestProgress.builder()
+            .done(true)
+            .totalProcessed(processed)
+            .successfulTransactions(successful)
+            .failedTransactions(failed)
+            .duplicateTransactions(duplicates)
+            .build();
+    }
+
+    private User loadUser(Long userId) {
+        return userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Saves {@code parsed[from, to)}, writing each outcome to the same slot of
+     * {@code results}. Reported indexes are shifted by {@code offset}, the
+     * position of {@code parsed} in the whole upload.
+     */
+    private ChunkTiming persistChunk(User user, List<SmsBatchParser.Parsed> parsed, int from, int to, int offset,
+                                     int chunkIndex, TransactionResult[] results, Set<String> batchHashes) {
+        long started = System.nanoTime();
+        List<Transaction> pending = new ArrayList<>(to - from);
+        List<Integer> pendingIndexes = new ArrayList<>(to - from);
+        int duplicates = 0;
+        int failed = 0;
+        for (int i = from; i < to; i++) {
+            SmsBatchParser.Parsed p = parsed.get(i);
+            if (!p.ok()) {
+                results[i] = failed(offset + i, p.error());
+                failed++;
+                continue;
+            }
+            Transaction txn = p.transaction();
+            String hash = txn.getContentHash();
+            if (!batchHashes.add(hash) || hashFilter.isDuplicate(user.getId(), hash)) {
+                results[i] = duplicate(offset + i);
+                duplicates++;
+                continue;
+            }
+            txn.setUser(user);
+            pending.add(txn);
+            pendingIndexes.add(i);
+        }
+
+        int created = 0;
+        boolean retried = false;
+        if (!pending.isEmpty()) {
+            try {
+                List<Transaction> saved = chunkTransaction.execute(status -> transactionRepository.saveAll(pending));
+                for (int k = 0; k < saved.size(); k++) {
+                    int index = pendingIndexes.get(k);
+                    results[index] = created(offset + index, saved.get(k));
+                    hashFilter.add(user.getId(), saved.get(k).getContentHash());
+                }
+                created = saved.size();
+            } catch (RuntimeException e) {
+                log.warn("Saving SMS chunk {} for user {} failed ({}); retrying its rows one by one",
+                    chunkIndex, user.getId(), e.getMessage());
+                retried = true;
+                for (int k = 0; k < pending.size(); k++) {
+                    int index = pendingIndexes.get(k);
+                    Transaction txn = pending.get(k);
+                    // The rolled-back attempt may have assigned an id.
+                    txn.setId(null);
+                    try {
+                        Transaction saved = chunkTransaction.execute(status -> transactionRepository.save(txn));
+                        results[index] = created(offset + index, saved);
+                        hashFilter.add(user.getId(), saved.getContentHash());
+                        created++;
+                    } catch (DataIntegrityViolationException rowError) {
+                        if (ContentHash.isDuplicate(rowError)) {
+                            // Saved by a concurrent import since the check above.
+                            results[index] = duplicate(offset + index);
+                            duplicates++;
+                        } else {
+                            results[index] = failed(offset + index, rowError.getMessage());
+                            failed++;
+                        }
+                    } catch (RuntimeException rowError) {
+                        results[index] = failed(offset + index, rowError.getMessage());
+                        failed++;
+                    }
+                }
+            }
+        }
+
+        return ChunkTiming.builder()
+            .index(chunkIndex)
+            .firstMessage(offset + from)
+            .size(to - from)
+            .created(created)
+            .duplicates(duplicates)
+            .failed(failed)
+            .retriedRowByRow(retried)
+            .millis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+            .build();
+    }
+
+    private static TransactionResult created(int index, Transaction saved) {
+        return TransactionResult.builder()
+            .index(index)
+            .outcome(Outcome.CREATED)
+            .success(true)
+            .message("Transaction created successfully")
+            .transaction(TransactionServiceImpl.toDto(saved))
+            .build();
+    }
+
+    private static TransactionResult duplicate(int index) {
+        return TransactionResult.builder()
+            .index(index)
+            .outcome(Outcome.DUPLICATE)
+            .success(false)
+            .message("Already imported")
+            .build();
+    }
+
+    private static TransactionResult failed(int index, String error) {
+        return TransactionResult.builder()
+            .index(index)
+            .outcome(Outcome.FAILED)
+            .success(false)
+            .error(error)
+            .build();
+    }
+}
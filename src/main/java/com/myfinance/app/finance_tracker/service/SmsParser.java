@@ -3,54 +3,66 @@ package com.myfinance.app.finance_tracker.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Component;
 
 import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
 import com.myfinance.app.finance_tracker.model.TransactionOrigin;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class SmsParser {
-    private static final Pattern TXN_PATTERN = Pattern.compile(
-        "Rs\\.?\\s?(\\d+[\\d,]*)\\s+(debited|credited)\\s+(?:to|from)\\s+A/c\\s+\\w+\\s+on\\s+(\\d{2}-\\d{2}-\\d{4})\\s+at\\s+\\d{1,2}:\\d{2}\\s+(?:AM|PM)\\s+for\\s+(.+?)(?:\\.|\\s+Avl\\s+Bal|$)",
-        Pattern.CASE_INSENSITIVE
-    );
-    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final SmsTemplateRegistry templates;
+    private final SmsFastScanner fastScanner;
 
     /**
      * Parses an SMS into a Transaction object (without user).
+     *
+     * The common {@code generic} format goes through {@link SmsFastScanner};
+     * everything it does not vouch for is matched against the templates.
      */
     public Optional<Transaction> parse(String sms, Long userId) {
-        Matcher m = TXN_PATTERN.matcher(sms);
-        if (!m.find()) {
-            log.debug("SMS did not match pattern: {}", sms);
-            return Optional.empty();
+        long started = System.nanoTime();
+        SmsFastScanner.Scan scan = fastScanner.scan(sms);
+        if (scan != null) {
+            BigDecimal amount = scan.debit() ? scan.amount().negate() : scan.amount();
+            LocalDate date = LocalDate.of(scan.year(), scan.month(), scan.day());
+            LocalDateTime txnTime = scan.minuteOfDay() < 0
+                ? date.atStartOfDay()
+                : date.atTime(scan.minuteOfDay() / 60, scan.minuteOfDay() % 60);
+            templates.recordHit(SmsFastScanner.TEMPLATE, System.nanoTime() - started);
+            return Optional.of(transaction(sms, amount, scan.merchant(), txnTime));
         }
-        BigDecimal amt = new BigDecimal(m.group(1).replaceAll(",", ""));
-        if ("debited".equalsIgnoreCase(m.group(2))) {
-            amt = amt.negate();
+
+        Optional<SmsTemplateRegistry.Result> result = templates.parse(sms);
+        if (result.isEmpty()) {
+            log.debug("SMS did not match any template: {}", sms);
+            return Optional.empty();
         }
-        String merchant = m.group(4); // merchant is now group 4
-        LocalDate date = LocalDate.parse(m.group(3), DATE_FMT); // date is now group 3
-        LocalDateTime txnTime = date.atStartOfDay();
+        SmsTemplate.Match m = result.get().match();
+        BigDecimal amt = m.direction() == TransactionDirection.DEBIT ? m.amount().negate() : m.amount();
+        // Some formats carry no date; the message is assumed to be from today.
+        LocalDate date = m.date() != null ? m.date() : LocalDate.now();
+        LocalDateTime txnTime = m.time() != null ? date.atTime(m.time()) : date.atStartOfDay();
+        return Optional.of(transaction(sms, amt, m.merchant(), txnTime));
+    }
 
-        Transaction txn = Transaction.builder()
+    private static Transaction transaction(String sms, BigDecimal amount, String merchant, LocalDateTime txnTime) {
+        return Transaction.builder()
             .origin(TransactionOrigin.SMS)
             .rawText(sms)
-            .amount(amt)
+            .amount(amount)
             .currency("INR")
             .merchant(merchant)
             .category("Uncategorized")
             .transactionTime(txnTime)
             .build();
-
-        return Optional.of(txn);
     }
-}
\ No newline at end of file
+}
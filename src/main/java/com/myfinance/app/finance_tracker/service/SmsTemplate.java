@@ -0,0 +1,216 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+
+/**
+ * One bank's SMS format.
+ *
+ * The regex uses the named groups {@code amount} (required), {@code type}
+ * (the debit/credit verb, unless the template has a fixed direction),
+ * {@code date}, {@code time} ("10:30", "10:30 PM") and {@code merchant}.
+ * Anchors are cheap literal checks made before the regex is tried: every
+ * anchor group must have at least one of its literals in the lower-cased
+ * message, so a message is only run against the templates it could possibly
+ * match. Register extra templates by exposing
+ * them as beans; see {@link SmsTemplateRegistry}.
+ */
+public final class SmsTemplate {
+
+    private static final Set<String> DEBIT_WORDS = Set.of("debited", "debit", "spent", "sent", "paid", "withdrawn");
+    private static final Set<String> CREDIT_WORDS = Set.of("credited", "credit", "received", "deposited");
+
+    /** Fields pulled out of a message; {@code date}, {@code time} and {@code merchant} may be null. */
+    public record Match(BigDecimal amount, TransactionDirection direction, LocalDate date, LocalTime time,
+                        String merchant) {}
+
+    private final String name;
+    private final Pattern pattern;
+    private final List<List<String>> anchors;
+    private final TransactionDirection direction;
+    private final List<DateTimeFormatter> dateFormats;
+
+    private SmsTemplate(Builder builder) {
+        this.name = builder.name;
+        this.pattern = Pattern.compile(builder.regex, Pattern.CASE_INSENSITIVE);
+        this.anchors = List.copyOf(builder.anchors);
+        this.direction = builder.direction;
+        this.dateFormats = List.copyOf(builder.dateFormats);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Anchor groups: all must be satisfied, each by any one of its lower-case literals. */
+    public List<List<String>> anchors() {
+        return anchors;
+    }
+
+    /**
+     * Applies the regex to the message; empty if it does not match or the
+     * matched values do not parse. A date group that matched but is not a
+     * valid date ("31-13-2024") fails the match; only a template without a
+     * date group leaves the date null. An invalid time is dropped, which
+     * keeps the day.
+     */
+    public Optional<Match> match(String sms) {
+        Matcher m = pattern.matcher(sms);
+        if (!m.find()) {
+            return Optional.empty();
+        }
+        TransactionDirection dir = direction != null ? direction : directionOf(group(m, "type"));
+        if (dir == null) {
+            return Optional.empty();
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(m.group("amount").replace(",", ""));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        String dateText = group(m, "date");
+        LocalDate date = dateText != null ? parseDate(dateText) : null;
+        if (dateText != null && date == null) {
+            return Optional.empty();
+        }
+        String merchant = group(m, "merchant");
+        return Optional.of(new Match(amount, dir, date, parseTime(group(m, "time")),
+            merchant != null ? merchant.strip() : null));
+    }
+
+    /** Null if no format accepts {@code text}. */
+    private LocalDate parseDate(String text) {
+        for (DateTimeFormatter format : dateFormats) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    /** Parses "H:mm" optionally followed by AM/PM; null if it is not a valid time. */
+    static LocalTime parseTime(String text) {
+        if (text == null) {
+            return null;
+        }
+        int colon = text.indexOf(':');
+        if (colon < 1 || colon + 3 > text.length()) {
+            return null;
+        }
+        int hour;
+        int minute;
+        try {
+            hour = Integer.parseInt(text.substring(0, colon));
+            minute = Integer.parseInt(text.substring(colon + 1, colon + 3));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String suffix = text.substring(colon + 3).strip().toLowerCase(Locale.ROOT);
+        int minuteOfDay = minuteOfDay(hour, minute, suffix.equals("am"), suffix.equals("pm"));
+        return minuteOfDay < 0 ? null : LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Minutes since midnight, or -1 if invalid. Banks sometimes send 24-hour
+     * times with a meridiem ("14:30 PM"); those are taken as 24-hour times.
+     */
+    static int minuteOfDay(int hour, int minute, boolean am, boolean pm) {
+        if (minute > 59 || hour > 23) {
+            return -1;
+        }
+        if ((am || pm) && hour >= 1 && hour <= 12) {
+            hour = hour % 12 + (pm ? 12 : 0);
+        }
+        return hour * 60 + minute;
+    }
+
+    private static TransactionDirection directionOf(String verb) {
+        if (verb == null) {
+            return null;
+        }
+        String v = verb.toLowerCase(Locale.ROOT);
+        if (DEBIT_WORDS.contains(v)) {
+            return TransactionDirection.DEBIT;
+        }
+        return CREDIT_WORDS.contains(v) ? TransactionDirection.CREDIT : null;
+    }
+
+    private static String group(Matcher m, String name) {
+        try {
+            return m.group(name);
+        } catch (IllegalArgumentException e) {
+            return null; // the template's regex has no such group
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private String regex;
+        private final List<List<String>> anchors = new ArrayList<>();
+        private TransactionDirection direction;
+        private final List<DateTimeFormatter> dateFormats = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder regex(String regex) {
+            this.regex = regex;
+            return this;
+        }
+
+        /** Adds an anchor group satisfied by any one of the given literals. */
+        public Builder anchor(String... anyOf) {
+            List<String> group = new ArrayList<>();
+            for (String literal : anyOf) {
+                group.add(literal.toLowerCase(Locale.ROOT));
+            }
+            anchors.add(List.copyOf(group));
+            return this;
+        }
+
+        /** For formats whose wording always implies one direction. */
+        public Builder direction(TransactionDirection direction) {
+            this.direction = direction;
+            return this;
+        }
+
+        /** Date patterns to try in order, parsed case-insensitively in English. */
+        public Builder dateFormats(String... patterns) {
+            for (String p : patterns) {
+                dateFormats.add(new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendPattern(p)
+                    .toFormatter(Locale.ENGLISH));
+            }
+            return this;
+        }
+
+        public SmsTemplate build() {
+            if (regex == null || anchors.isEmpty()) {
+                throw new IllegalStateException("Template " + name + " needs a regex and at least one anchor");
+            }
+            return new SmsTemplate(this);
+        }
+    }
+}
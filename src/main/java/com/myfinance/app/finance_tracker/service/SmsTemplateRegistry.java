@@ -0,0 +1,224 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ordered set of bank SMS formats with a literal prefilter in front.
+ *
+ * The distinct anchor literals of all templates are collected once; for each
+ * message they are looked up with {@code indexOf} on the lower-cased text and
+ * only templates whose anchor groups are all satisfied have their regex run,
+ * in registration order. Built-in templates come first, then any
+ * {@link SmsTemplate} beans. Each template gets an {@code sms.template.hits}
+ * counter and an {@code sms.template.parse} timer tagged with its name;
+ * messages no template accepts are recorded under {@code template=none}.
+ */
+@Component
+public class SmsTemplateRegistry {
+
+    /** A template that parsed the message, and what it extracted. */
+    public record Result(SmsTemplate template, SmsTemplate.Match match) {}
+
+    private static final String AMOUNT = "(?<amount>\\d[\\d,]*(?:\\.\\d{1,2})?)";
+    private static final String RUPEES = "(?:Rs\\.?|INR)\\s?";
+
+    static final List<SmsTemplate> BUILT_IN = List.of(
+        // The original single format, now also accepting paise, 2-digit years and no merchant.
+        SmsTemplate.builder("generic")
+            .regex("Rs\\.?\\s?" + AMOUNT + "\\s+(?<type>debited|credited)\\s+(?:to|from)\\s+A/c\\s+\\w+"
+                + "\\s+on\\s+(?<date>\\d{2}-\\d{2}-(?:\\d{4}|\\d{2}))\\s+at\\s+(?<time>\\d{1,2}:\\d{2}(?:\\s*(?:AM|PM))?)"
+                + "(?:\\s+for\\s+(?<merchant>.+?)(?:\\.|\\s+Avl\\s+Bal|$))?")
+            .anchor("debited", "credited")
+            .anchor("rs")
+            .anchor("a/c")
+            .dateFormats("dd-MM-yyyy", "dd-MM-yy")
+            .build(),
+        // Rs.500.00 debited from a/c **1234 on 12-08-24 to VPA zomato@hdfcbank (UPI Ref No 4234). -HDFC Bank
+        SmsTemplate.builder("hdfc-upi")
+            .regex(RUPEES + AMOUNT + "\\s+(?<type>debited|credited)\\s+(?:from|to)\\s+a/c\\s+\\S+\\s+on\\s+"
+                + "(?<date>\\d{2}-\\d{2}-\\d{2})\\s+(?:to|by\\s+a/c\\s+linked\\s+to)\\s+(?:VPA\\s+)?"
+                + "(?<merchant>[^()\\n]+?)\\s*(?:\\(UPI|\\.\\s|$)")
+            .anchor("hdfc")
+            .anchor("debited", "credited")
+            .dateFormats("dd-MM-yy")
+            .build(),
+        // Spent Rs.2,345.00 On HDFC Bank Card 1234 At AMAZON On 2024-08-12:10:30:15
+        SmsTemplate.builder("hdfc-card")
+            .regex("Spent\\s+" + RUPEES + AMOUNT + "\\s+On\\s+HDFC\\s+Bank\\s+Card\\s+\\w+\\s+At\\s+"
+                + "(?<merchant>.+?)\\s+On\\s+(?<date>\\d{4}-\\d{2}-\\d{2})")
+            .anchor("spent")
+            .anchor("hdfc bank card")
+            .direction(TransactionDirection.DEBIT)
+            .dateFormats("yyyy-MM-dd")
+            .build(),
+        // ICICI Bank Acct XX123 debited for Rs 500.00 on 12-Aug-24; ZOMATO credited. UPI:4234.
+        SmsTemplate.builder("icici")
+            .regex("ICICI\\s+Bank\\s+Acc(?:oun)?t\\s+\\S+\\s+(?<type>debited|credited)\\s+(?:for|with)\\s+"
+                + RUPEES + AMOUNT + "\\s+on\\s+(?<date>\\d{2}-[A-Za-z]{3}-\\d{2})"
+                + "(?:[;&]\\s*(?<merchant>.+?)\\s+(?:credited|debited))?")
+            .anchor("icici bank acc")
+            .anchor("debited", "credited")
+            .dateFormats("dd-MMM-yy")
+            .build(),
+        // Dear UPI user A/C X1234 debited by 500.0 on date 12Aug24 trf to ZOMATO Refno 4234. -SBI
+        SmsTemplate.builder("sbi-upi")
+            .regex("A/C\\s+\\S+\\s+(?<type>debited|credited)\\s+by\\s+" + AMOUNT + "\\s+on\\s+date\\s+"
+                + "(?<date>\\d{2}[A-Za-z]{3}\\d{2})\\s+trf\\s+(?:to|from)\\s+(?<merchant>.+?)\\s+Ref\\s?no")
+            .anchor("sbi")
+            .anchor("trf")
+            .dateFormats("ddMMMyy")
+            .build(),
+        // INR 500.00 debited A/c no. XX1234 12-08-24, 10:30:15 UPI/P2M/4234/ZOMATO Not you? ... Axis Bank
+        SmsTemplate.builder("axis-upi")
+            .regex("INR\\s+" + AMOUNT + "\\s+(?<type>debited|credited)\\s+A/c\\s+no\\.\\s+\\S+\\s+"
+                + "(?<date>\\d{2}-\\d{2}-(?:\\d{4}|\\d{2})),?\\s+[\\d:]+\\s+UPI/P2[AM]/\\d+/"
+                + "(?<merchant>[^/]+?)(?:\\s+Not\\s+you|/|$)")
+            .anchor("axis")
+            .anchor("upi/p2")
+            .dateFormats("dd-MM-yyyy", "dd-MM-yy")
+            .build(),
+        // Rs.250 paid to ZOMATO via UPI on 12-08-2024
+        SmsTemplate.builder("upi")
+            .regex(RUPEES + AMOUNT + "\\s+(?<type>paid|sent|received)\\s+(?:to|from)\\s+(?<merchant>.+?)\\s+"
+                + "(?:via|using|through)\\s+UPI(?:\\s+on\\s+(?<date>\\d{2}-\\d{2}-(?:\\d{4}|\\d{2})))?")
+            .anchor("upi")
+            .anchor("paid", "sent", "received")
+            .dateFormats("dd-MM-yyyy", "dd-MM-yy")
+            .build()
+    );
+
+    private final List<SmsTemplate> templates;
+    /** Distinct anchor literals across all templates. */
+    private final String[] literals;
+    /** Per template, per anchor group: indexes into {@link #literals}. */
+    private final int[][][] anchorIndexes;
+    private final Counter[] hits;
+    private final Timer[] parseTimers;
+    private final Timer unmatchedTimer;
+
+    @Autowired
+    public SmsTemplateRegistry(MeterRegistry meterRegistry, ObjectProvider<SmsTemplate> extraTemplates) {
+        this(meterRegistry, concat(BUILT_IN, extraTemplates.orderedStream().collect(Collectors.toList())));
+    }
+
+    SmsTemplateRegistry(MeterRegistry meterRegistry, List<SmsTemplate> templates) {
+        this.templates = List.copyOf(templates);
+        Map<String, Integer> literalIds = new LinkedHashMap<>();
+        this.anchorIndexes = new int[templates.size()][][];
+        this.hits = new Counter[templates.size()];
+        this.parseTimers = new Timer[templates.size()];
+        for (int t = 0; t < templates.size(); t++) {
+            SmsTemplate template = templates.get(t);
+            List<List<String>> groups = template.anchors();
+            anchorIndexes[t] = new int[groups.size()][];
+            for (int g = 0; g < groups.size(); g++) {
+                anchorIndexes[t][g] = groups.get(g).stream()
+                    .mapToInt(literal -> literalIds.computeIfAbsent(literal, l -> literalIds.size()))
+                    .toArray();
+            }
+            hits[t] = Counter.builder("sms.template.hits")
+                .description("SMS messages parsed by each bank template")
+                .tag("template", template.name())
+                .register(meterRegistry);
+            parseTimers[t] = Timer.builder("sms.template.parse")
+                .description("Time to parse an SMS, by the template that accepted it")
+                .tag("template", template.name())
+                .register(meterRegistry);
+        }
+        this.literals = literalIds.keySet().toArray(new String[0]);
+        this.unmatchedTimer = Timer.builder("sms.template.parse")
+            .description("Time to parse an SMS, by the template that accepted it")
+            .tag("template", "none")
+            .register(meterRegistry);
+    }
+
+    /** Counts a message parsed outside the registry as a hit for the named template. */
+    public void recordHit(String templateName, long nanos) {
+        for (int t = 0; t < templates.size(); t++) {
+            if (templates.get(t).name().equals(templateName)) {
+                hits[t].increment();
+                parseTimers[t].record(nanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+    }
+
+    /** First template, in registration order, that accepts the message. */
+    public Optional<Result> parse(String sms) {
+        long started = System.nanoTime();
+        boolean[] present = presentLiterals(sms);
+        for (int t = 0; t < templates.size(); t++) {
+            if (!anchorsSatisfied(anchorIndexes[t], present)) {
+                continue;
+            }
+            Optional<SmsTemplate.Match> match = templates.get(t).match(sms);
+            if (match.isPresent()) {
+                hits[t].increment();
+                parseTimers[t].record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return Optional.of(new Result(templates.get(t), match.get()));
+            }
+        }
+        unmatchedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+
+    /** Names of the templates whose anchors the message satisfies, in order. */
+    List<String> candidates(String sms) {
+        boolean[] present = presentLiterals(sms);
+        List<String> names = new ArrayList<>();
+        for (int t = 0; t < templates.size(); t++) {
+            if (anchorsSatisfied(anchorIndexes[t], present)) {
+                names.add(templates.get(t).name());
+            }
+        }
+        return names;
+    }
+
+    private boolean[] presentLiterals(String sms) {
+        String lower = sms.toLowerCase(Locale.ROOT);
+        boolean[] present = new boolean[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            present[i] = lower.contains(literals[i]);
+        }
+        return present;
+    }
+
+    private static boolean anchorsSatisfied(int[][] groups, boolean[] present) {
+        for (int[] group : groups) {
+            boolean any = false;
+            for (int literal : group) {
+                if (present[literal]) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<SmsTemplate> concat(List<SmsTemplate> a, List<SmsTemplate> b) {
+        List<SmsTemplate> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
@@ -0,0 +1,179 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The built-in keyword dictionary, loaded from a text file instead of code.
+ *
+ * The classpath copy is used unless {@code app.categories.dictionary.location}
+ * names a file on disk; that file is polled for changes and can also be
+ * reloaded on demand. Each load builds a complete new matcher off to the side
+ * and publishes it with a single reference swap, so resolutions in flight keep
+ * the snapshot they started with and never wait on a reload. A file that fails
+ * to parse leaves the previous dictionary in place.
+ */
+@Component
+@Slf4j
+public class StaticCategoryDictionary {
+
+    static final String CLASSPATH_LOCATION = "/categories/static-keywords.txt";
+
+    /** An immutable, fully built dictionary. */
+    public record Snapshot(KeywordCategoryMatcher matcher, String version, long generation,
+                           String source, Instant loadedAt, long lastModified) {}
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    @Value("${app.categories.dictionary.location:}")
+    private String location;
+
+    @PostConstruct
+    void init() {
+        // Fail fast: starting without a dictionary would silently mis-categorize everything.
+        reload();
+    }
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Re-reads the dictionary and swaps it in. Throws, keeping the old
+     * dictionary, if the file cannot be read or parsed.
+     */
+    public synchronized Snapshot reload() {
+        Snapshot loaded = isExternal() ? loadFile(Path.of(location)) : loadClasspath();
+        current.set(loaded);
+        log.info("Loaded category dictionary version {} from {} ({} keywords)",
+            loaded.version(), loaded.source(), loaded.matcher().size());
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${app.categories.dictionary.poll-interval:30s}",
+               initialDelayString = "${app.categories.dictionary.poll-interval:30s}")
+    void reloadIfChanged() {
+        if (!isExternal()) {
+            return;
+        }
+        try {
+            long lastModified = Files.getLastModifiedTime(Path.of(location)).toMillis();
+            if (lastModified != current.get().lastModified()) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping category dictionary version {}: reload of {} failed: {}",
+                current.get().version(), location, e.getMessage());
+        }
+    }
+
+    private boolean isExternal() {
+        return location != null && !location.isBlank();
+    }
+
+    private Snapshot loadFile(Path path) {
+        try {
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return snapshot(reader, path.toAbsolutePath().toString(), lastModified);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read category dictionary " + path, e);
+        }
+    }
+
+    private Snapshot loadClasspath() {
+        try (InputStream in = StaticCategoryDictionary.class.getResourceAsStream(CLASSPATH_LOCATION)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing classpath resource " + CLASSPATH_LOCATION);
+            }
+            return snapshot(new InputStreamReader(in, StandardCharsets.UTF_8), "classpath:" + CLASSPATH_LOCATION, 0L);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read category dictionary " + CLASSPATH_LOCATION, e);
+        }
+    }
+
+    private Snapshot snapshot(Reader reader, String source, long lastModified) throws IOException {
+        Parsed parsed = parse(reader);
+        return new Snapshot(parsed.matcher(), parsed.version(), generations.incrementAndGet(),
+            source, Instant.now(), lastModified);
+    }
+
+    record Parsed(String version, KeywordCategoryMatcher matcher) {}
+
+    /**
+     * Parses the dictionary format: a {@code version = ...} line, then
+     * {@code [Category]} headers each followed by comma- or line-separated
+     * keywords. Blank lines and lines starting with {@code #} are ignored.
+     */
+    static Parsed parse(Reader reader) throws IOException {
+        KeywordCategoryMatcher.Builder builder = KeywordCategoryMatcher.builder();
+        String version = null;
+        String category = null;
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1).strip();
+            }
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("[")) {
+                if (!line.endsWith("]") || line.length() == 2) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": malformed category header");
+                }
+                category = line.substring(1, line.length() - 1).strip();
+                continue;
+            }
+            if (category == null) {
+                if (version == null && line.startsWith("version") && line.indexOf('=') > 0) {
+                    version = line.substring(line.indexOf('=') + 1).strip();
+                    continue;
+                }
+                throw new IllegalArgumentException("Line " + lineNumber + ": keywords before the first [Category]");
+            }
+            for (String keyword : line.split(",")) {
+                keyword = keyword.strip();
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                try {
+                    builder.add(category, keyword);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        if (version == null || version.isEmpty()) {
+            throw new IllegalArgumentException("Missing 'version = ...' line");
+        }
+        KeywordCategoryMatcher matcher = builder.build();
+        if (matcher.size() == 0) {
+            // Most likely a file caught half-written; keep the old dictionary.
+            throw new IllegalArgumentException("Dictionary has no keywords");
+        }
+        return new Parsed(version, matcher);
+    }
+}
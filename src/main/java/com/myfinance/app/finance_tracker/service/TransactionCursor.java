@@ -0,0 +1,43 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.myfinance.app.finance_tracker.exception.InvalidCursorException;
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+/**
+ * Position in a user's transactions listed newest first: the
+ * {@code (transactionTime, id)} of the last row of a page, the next page
+ * starting just after it. Handed to clients as an opaque URL-safe token, so
+ * the key can change without breaking their contract.
+ */
+public record TransactionCursor(LocalDateTime transactionTime, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static TransactionCursor after(Transaction last) {
+        return new TransactionCursor(last.getTransactionTime(), last.getId());
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((transactionTime + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String key = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int comma = key.indexOf(',');
+            if (comma < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDateTime.parse(key.substring(0, comma)),
+                Long.parseLong(key.substring(comma + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user Bloom filters over {@code transactions.content_hash}, so the
+ * duplicate check only goes to the database for hashes the user may already
+ * have.
+ *
+ * A user's filter is seeded from the table on first use and sized at twice
+ * the rows found (at least {@code min-capacity}); once it fills up it is
+ * dropped and reseeded larger on the next call. Hashes are added as rows are
+ * saved, so a rolled-back save only leaves a false positive, which costs one
+ * extra probe. The unique {@code (user_id, content_hash)} index stays the
+ * source of truth, for rows written by other nodes in particular.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionHashFilter {
+
+    private static final String COUNT_HASHES =
+        "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND content_hash IS NOT NULL";
+    private static final String SELECT_HASHES =
+        "SELECT content_hash FROM transactions WHERE user_id = ? AND content_hash IS NOT NULL";
+    private static final String COUNT_HASH =
+        "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND content_hash = ?";
+
+    private static final class UserFilter {
+        final BloomFilter bloom;
+        final int capacity;
+        final AtomicInteger size;
+
+        UserFilter(BloomFilter bloom, int capacity, int size) {
+            this.bloom = bloom;
+            this.capacity = capacity;
+            this.size = new AtomicInteger(size);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<Long, UserFilter> filters = new ConcurrentHashMap<>();
+
+    @Value("${app.sms.dedup.min-capacity:4096}")
+    private int minCapacity;
+
+    @Value("${app.sms.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.sms.dedup.max-users:10000}")
+    private int maxUsers;
+
+    /**
+     * Whether the user already has a transaction with this hash. The filter
+     * answers "definitely new" without a query; only maybes are looked up.
+     */
+    public boolean isDuplicate(Long userId, String contentHash) {
+        if (!mightContain(userId, contentHash)) {
+            return false;
+        }
+        Integer rows = jdbcTemplate.queryForObject(COUNT_HASH, Integer.class, userId, contentHash);
+        return rows != null && rows > 0;
+    }
+
+    /** False means the user certainly has no transaction with this hash. */
+    public boolean mightContain(Long userId, String contentHash) {
+        return filter(userId).bloom.mightContain(h1(contentHash), h2(contentHash));
+    }
+
+    /** Records a hash just saved for the user. */
+    public void add(Long userId, String contentHash) {
+        UserFilter filter = filter(userId);
+        filter.bloom.add(h1(contentHash), h2(contentHash));
+        if (filter.size.incrementAndGet() > filter.capacity) {
+            filters.remove(userId, filter);
+        }
+    }
+
+    private UserFilter filter(Long userId) {
+        UserFilter filter = filters.get(userId);
+        if (filter != null) {
+            return filter;
+        }
+        if (filters.size() >= maxUsers) {
+            // Cheaper than tracking recency; evicted filters are simply reseeded.
+            filters.clear();
+        }
+        return filters.computeIfAbsent(userId, this::load);
+    }
+
+    private UserFilter load(Long userId) {
+        Integer rows = jdbcTemplate.queryForObject(COUNT_HASHES, Integer.class, userId);
+        int capacity = Math.max(minCapacity, 2 * (rows != null ? rows : 0));
+        BloomFilter bloom = new BloomFilter(capacity, falsePositiveRate);
+        AtomicInteger loaded = new AtomicInteger();
+        jdbcTemplate.query(SELECT_HASHES, rs -> {
+            String hash = rs.getString(1);
+            bloom.add(h1(hash), h2(hash));
+            loaded.incrementAndGet();
+        }, userId);
+        return new UserFilter(bloom, capacity, loaded.get());
+    }
+
+    /** The content hash is hex SHA-256, so its leading 32 digits are already uniform. */
+    private static long h1(String hash) {
+        return Long.parseUnsignedLong(hash, 0, 16, 16);
+    }
+
+    private static long h2(String hash) {
+        // Odd, so the probe sequence never collapses onto one bit.
+        return Long.parseUnsignedLong(hash, 16, 32, 16) | 1L;
+    }
+}
@@ -0,0 +1,119 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user full-text indexes over {@code transactions.raw_text} and the
+ * merchant names, for ranked search without a {@code LIKE '%x%'} scan.
+ *
+ * A user's {@link InvertedIndex} is built from the table on their first
+ * search and then kept current by {@link TransactionSearchListener} as rows
+ * are saved, updated and deleted on this node. Rows written by other nodes
+ * show up once the index is older than {@code app.search.max-age} and is
+ * rebuilt. Ids of rows that were indexed but never committed, or deleted
+ * elsewhere, are dropped when the hits are loaded, so the table stays the
+ * source of truth.
+ *
+ * At most {@code app.search.max-users} indexes are kept; past that the one
+ * searched longest ago is dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionSearchIndex {
+
+    private static final String SELECT_TEXT =
+        "SELECT id, raw_text, merchant, canonical_merchant FROM transactions WHERE user_id = ?";
+
+    private static final class UserIndex {
+        final InvertedIndex index = new InvertedIndex();
+        final long builtAt = System.nanoTime();
+        volatile long lastUsed = builtAt;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${app.search.max-users:200}")
+    private int maxUsers;
+
+    @Value("${app.search.max-age:10m}")
+    private Duration maxAge;
+
+    /** Ids of the user's transactions matching {@code query}, best first. */
+    public InvertedIndex.Hits search(Long userId, String query, int offset, int limit) {
+        UserIndex user = index(userId);
+        synchronized (user) {
+            return user.index.search(query, offset, limit);
+        }
+    }
+
+    /** Indexes a saved transaction, if its user's index is loaded. */
+    public void put(Long userId, Long id, String rawText, String merchant, String canonicalMerchant) {
+        UserIndex user = indexes.get(userId);
+        if (user != null) {
+            synchronized (user) {
+                user.index.put(id, rawText, merchant, canonicalMerchant);
+            }
+        }
+    }
+
+    public void remove(Long userId, Long id) {
+        UserIndex user = indexes.get(userId);
+        if (user != null) {
+            synchronized (user) {
+                user.index.remove(id);
+            }
+        }
+    }
+
+    private UserIndex index(Long userId) {
+        UserIndex user = indexes.get(userId);
+        long now = System.nanoTime();
+        if (user != null && now - user.builtAt < maxAge.toNanos()) {
+            user.lastUsed = now;
+            return user;
+        }
+        if (user != null) {
+            indexes.remove(userId, user);
+        }
+        // Built outside the map, so the scan holds no lock other users' lookups
+        // could wait on; two first searches for one user may both build, and
+        // the first to finish wins.
+        UserIndex built = load(userId);
+        if (indexes.size() >= maxUsers) {
+            evictLeastRecentlyUsed();
+        }
+        UserIndex raced = indexes.putIfAbsent(userId, built);
+        return raced != null ? raced : built;
+    }
+
+    /** A scan of at most max-users entries, small next to rebuilding an index. */
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<Long, UserIndex> oldest = null;
+        for (Map.Entry<Long, UserIndex> entry : indexes.entrySet()) {
+            if (oldest == null || entry.getValue().lastUsed - oldest.getValue().lastUsed < 0) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            indexes.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private UserIndex load(Long userId) {
+        UserIndex user = new UserIndex();
+        jdbcTemplate.query(SELECT_TEXT, rs -> {
+            user.index.put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+        }, userId);
+        return user;
+    }
+}
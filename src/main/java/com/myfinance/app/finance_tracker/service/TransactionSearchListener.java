@@ -0,0 +1,57 @@
+package com.myfinance.app.finance_tracker.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps {@link TransactionSearchIndex} in step with every insert, update and
+ * delete of a {@link Transaction}, whichever repository call made it. The
+ * change is applied once the surrounding transaction commits, so a rolled-back
+ * chunk never shows up in search. Bulk JPQL updates bypass entity callbacks;
+ * none of them touch the indexed columns.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionSearchListener {
+
+    private final TransactionSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    void saved(Transaction t) {
+        Long userId = t.getUser().getId();
+        Long id = t.getId();
+        String rawText = t.getRawText();
+        String merchant = t.getMerchant();
+        String canonicalMerchant = t.getCanonicalMerchant();
+        afterCommit(() -> searchIndex.put(userId, id, rawText, merchant, canonicalMerchant));
+    }
+
+    @PostRemove
+    void removed(Transaction t) {
+        Long userId = t.getUser().getId();
+        Long id = t.getId();
+        afterCommit(() -> searchIndex.remove(userId, id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,14 +1,25 @@
 package com.myfinance.app.finance_tracker.service;
 
-import java.util.List;
-
 import com.myfinance.app.finance_tracker.dto.SmsBatchRequest;
 import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.dto.TransactionPage;
 import com.myfinance.app.finance_tracker.dto.TransactionRequest;
 import com.myfinance.app.finance_tracker.dto.TransactionResponse;
+import com.myfinance.app.finance_tracker.dto.TransactionSearchPage;
 
 public interface TransactionService {
-    List<TransactionResponse> getAllTransactions(Long userId);
+    /**
+     * Transactions matching {@code filter}, newest first; {@code cursor} from
+     * the previous page (with the same filter) or null, {@code limit} capped.
+     */
+    TransactionPage getTransactions(Long userId, TransactionFilter filter, String cursor, Integer limit);
+
+    /**
+     * Transactions whose SMS text or merchant matches {@code query}, best
+     * match first, from {@code offset}; {@code limit} capped.
+     */
+    TransactionSearchPage searchTransactions(Long userId, String query, Integer offset, Integer limit);
     TransactionResponse createTransaction(Long userId, TransactionRequest request);
     SmsBatchResponse processSmsBatch(Long userId, SmsBatchRequest request);
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package com.myfinance.app.finance_tracker.service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.myfinance.app.finance_tracker.dto.SmsBatchRequest;
-import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
 import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
-import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.TransactionResult;
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.dto.TransactionPage;
 import com.myfinance.app.finance_tracker.dto.TransactionRequest;
 import com.myfinance.app.finance_tracker.dto.TransactionResponse;
+import com.myfinance.app.finance_tracker.dto.TransactionSearchPage;
+import com.myfinance.app.finance_tracker.exception.DuplicateResourceException;
 import com.myfinance.app.finance_tracker.model.Transaction;
 import com.myfinance.app.finance_tracker.model.TransactionOrigin;
 import com.myfinance.app.finance_tracker.model.User;
@@ -31,13 +38,59 @@ public class TransactionServiceImpl implements TransactionService {
     private final UserRepository userRepository;
     private final SmsParser smsParser;
     private final CategoryResolverService categoryResolver;
+    private final MerchantNormalizer merchantNormalizer;
+    private final TransactionHashFilter hashFilter;
+    private final SmsIngestionService ingestionService;
+    private final TransactionSearchIndex searchIndex;
+
+    @Value("${app.transactions.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.transactions.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.search.default-size:20}")
+    private int defaultSearchSize;
 
     @Override
-    public List<TransactionResponse> getAllTransactions(Long userId) {
-        return transactionRepository.findByUserIdOrderByTransactionTimeDesc(userId)
-            .stream()
-            .map(this::toDto)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactions(Long userId, TransactionFilter filter, String cursor, Integer limit) {
+        int size = Math.max(1, Math.min(limit != null ? limit : defaultPageSize, maxPageSize));
+        TransactionCursor after = cursor == null || cursor.isEmpty() ? null : TransactionCursor.decode(cursor);
+        // One row past the page tells whether there is a next one.
+        List<Transaction> rows = transactionRepository.findBy(
+            TransactionSpecifications.matching(userId, filter, after),
+            q -> q.sortBy(TransactionSpecifications.newestFirst(filter)).limit(size + 1).all());
+
+        boolean more = rows.size() > size;
+        List<Transaction> page = more ? rows.subList(0, size) : rows;
+        return TransactionPage.builder()
+            .items(page.stream().map(TransactionServiceImpl::toDto).collect(Collectors.toList()))
+            .nextCursor(more ? TransactionCursor.after(page.get(size - 1)).encode() : null)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSearchPage searchTransactions(Long userId, String query, Integer offset, Integer limit) {
+        int size = Math.max(1, Math.min(limit != null ? limit : defaultSearchSize, maxPageSize));
+        int from = Math.max(0, offset != null ? offset : 0);
+        InvertedIndex.Hits hits = searchIndex.search(userId, query, from, size);
+
+        // Loaded by primary key, then put back in rank order. Ids the index
+        // still holds for rows that are gone (or never committed) drop out.
+        Map<Long, Transaction> rows = transactionRepository.findAllById(hits.ids()).stream()
+            .filter(t -> t.getUser().getId().equals(userId))
+            .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        return TransactionSearchPage.builder()
+            .items(hits.ids().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(TransactionServiceImpl::toDto)
+                .collect(Collectors.toList()))
+            .total(hits.total())
+            .nextOffset(from + size < hits.total() ? from + size : null)
+            .build();
     }
 
     @Override
@@ -49,6 +102,12 @@ public class TransactionServiceImpl implements TransactionService {
         if (req.getOrigin() == TransactionOrigin.SMS) {
             txn = smsParser.parse(req.getRawText(), userId)
                 .orElseThrow(() -> new RuntimeException("Unable to parse SMS"));
+            // Keyed like a batch message timestamped in ISO form, so the same
+            // text at another time is a separate payment here as well.
+            txn.setContentHash(ContentHash.of(req.getRawText(), req.getTransactionTime().toString()));
+            if (hashFilter.isDuplicate(userId, txn.getContentHash())) {
+                throw new DuplicateResourceException("This SMS has already been imported");
+            }
             txn.setUser(user);
         } else {
             txn = Transaction.builder()
@@ -63,67 +122,42 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
         }
 
+        txn.setCanonicalMerchant(merchantNormalizer.normalize(txn.getMerchant()));
+
         // Category resolution using user-defined and static rules
-        String resolvedCategory = categoryResolver.resolveCategory(
-            user.getId(),
-            txn.getRawText(),
-            txn.getMerchant()
-        );
+        String resolvedCategory = categoryResolver.resolveCategory(user.getId(), txn);
         txn.setCategory(resolvedCategory);
 
-        Transaction saved = transactionRepository.save(txn);
+        Transaction saved;
+        try {
+            // Flushed here so a concurrent import of the same SMS surfaces as a duplicate, not at commit.
+            saved = transactionRepository.saveAndFlush(txn);
+        } catch (DataIntegrityViolationException e) {
+            if (ContentHash.isDuplicate(e)) {
+                throw new DuplicateResourceException("This SMS has already been imported");
+            }
+            throw e;
+        }
+        if (saved.getContentHash() != null) {
+            hashFilter.add(userId, saved.getContentHash());
+        }
         return toDto(saved);
     }
 
+    /** Runs outside this class's transaction: the ingestion service commits chunk by chunk. */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SmsBatchResponse processSmsBatch(Long userId, SmsBatchRequest request) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<TransactionResult> results = request.getMessages().stream()
-            .map(sms -> processSmsMessage(user, sms))
-            .collect(Collectors.toList());
-
-        int successful = (int) results.stream().filter(TransactionResult::isSuccess).count();
-        int failed = results.size() - successful;
-
-        return SmsBatchResponse.builder()
-            .totalProcessed(request.getMessages().size())
-            .successfulTransactions(successful)
-            .failedTransactions(failed)
-            .results(results)
-            .build();
-    }
-
-    private TransactionResult processSmsMessage(User user, SmsMessage smsMessage) {
-        try {
-            TransactionRequest req = TransactionRequest.builder()
-                .origin(TransactionOrigin.SMS)
-                .rawText(smsMessage.getText())
-                .transactionTime(LocalDateTime.now()) // You might want to parse from smsMessage.getTimestamp()
-                .build();
-
-            TransactionResponse transaction = createTransaction(user.getId(), req);
-            
-            return TransactionResult.builder()
-                .success(true)
-                .message("Transaction created successfully")
-                .transaction(transaction)
-                .build();
-        } catch (Exception e) {
-            return TransactionResult.builder()
-                .success(false)
-                .error(e.getMessage())
-                .build();
-        }
+        return ingestionService.ingest(userId, request.getMessages());
     }
 
-    private TransactionResponse toDto(Transaction t) {
+    static TransactionResponse toDto(Transaction t) {
         return TransactionResponse.builder()
             .id(t.getId())
             .amount(t.getAmount())
             .currency(t.getCurrency())
             .merchant(t.getMerchant())
+            .canonicalMerchant(t.getCanonicalMerchant())
             .category(t.getCategory())
             .transactionTime(t.getTransactionTime())
             .origin(t.getOrigin())
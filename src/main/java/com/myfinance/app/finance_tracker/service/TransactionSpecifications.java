@@ -0,0 +1,133 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Turns a {@link TransactionFilter} and a page cursor into one WHERE clause.
+ *
+ * Every predicate is written so an index can range over it: merchant as a
+ * {@code LIKE 'prefix%'} on the lower-cased {@code merchant_key}, and amount
+ * magnitudes as signed ranges ({@code BETWEEN -max AND -min} for debits)
+ * rather than {@code ABS(amount)}.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter, TransactionCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.equal(root.get("user").get("id"), userId));
+
+            Path<LocalDateTime> time = root.get("transactionTime");
+            if (filter.getFrom() != null) {
+                where.add(cb.greaterThanOrEqualTo(time, filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                where.add(cb.lessThan(time, filter.getTo()));
+            }
+            if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+                where.add(cb.equal(root.get("category"), filter.getCategory().trim()));
+            }
+            if (filter.getMerchant() != null && !filter.getMerchant().isBlank()) {
+                String prefix = Transaction.merchantKey(filter.getMerchant().trim());
+                where.add(cb.like(root.get("merchantKey"), escapeLike(prefix) + "%", '\\'));
+            }
+            if (filter.getOrigin() != null) {
+                where.add(cb.equal(root.get("origin"), filter.getOrigin()));
+            }
+            Predicate amount = amount(cb, root.get("amount"), filter);
+            if (amount != null) {
+                where.add(amount);
+            }
+            if (after != null) {
+                // Newest first from just past (time, id); the <= bounds the index range.
+                where.add(cb.lessThanOrEqualTo(time, after.transactionTime()));
+                where.add(cb.or(
+                    cb.lessThan(time, after.transactionTime()),
+                    cb.lessThan(root.get("id"), after.id())));
+            }
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Newest first, led by the columns {@link #matching} pins to one value:
+     * the user, and the category when it is filtered on. They do not change
+     * the order, but H2 only reads an index in order (and stops after the
+     * page) when the ORDER BY starts with the index's leading columns, here
+     * {@code (user_id, transaction_time, id)} or
+     * {@code (user_id, category, transaction_time, id)}. Without them it sorts
+     * every matching row of the user. The user is sorted on as the association,
+     * not {@code user.id}, which would join {@code users} into the query.
+     */
+    public static Sort newestFirst(TransactionFilter filter) {
+        Sort time = Sort.by(Sort.Direction.DESC, "transactionTime", "id");
+        Sort user = Sort.by(Sort.Direction.DESC, "user");
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            return user.and(Sort.by(Sort.Direction.DESC, "category")).and(time);
+        }
+        return user.and(time);
+    }
+
+    private static Predicate amount(CriteriaBuilder cb, Path<BigDecimal> amount, TransactionFilter filter) {
+        BigDecimal min = filter.getMinAmount();
+        BigDecimal max = filter.getMaxAmount();
+        TransactionDirection direction = filter.getDirection();
+        if (min == null && max == null && direction == null) {
+            return null;
+        }
+        Predicate credits = range(cb, amount, min, max, false);
+        Predicate debits = range(cb, amount, min, max, true);
+        if (direction == TransactionDirection.CREDIT) {
+            return credits;
+        }
+        if (direction == TransactionDirection.DEBIT) {
+            return debits;
+        }
+        return cb.or(credits, debits);
+    }
+
+    /** Amounts of one sign whose magnitude lies in [min, max]; zero counts as a credit. */
+    private static Predicate range(CriteriaBuilder cb, Path<BigDecimal> amount, BigDecimal min, BigDecimal max,
+                                   boolean debit) {
+        List<Predicate> bounds = new ArrayList<>();
+        if (debit) {
+            bounds.add(cb.lessThan(amount, BigDecimal.ZERO));
+            if (min != null) {
+                bounds.add(cb.lessThanOrEqualTo(amount, min.negate()));
+            }
+            if (max != null) {
+                bounds.add(cb.greaterThanOrEqualTo(amount, max.negate()));
+            }
+        } else {
+            bounds.add(cb.greaterThanOrEqualTo(amount, BigDecimal.ZERO));
+            if (min != null) {
+                bounds.add(cb.greaterThanOrEqualTo(amount, min));
+            }
+            if (max != null) {
+                bounds.add(cb.lessThanOrEqualTo(amount, max));
+            }
+        }
+        return cb.and(bounds.toArray(new Predicate[0]));
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,159 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.myfinance.app.finance_tracker.exception.DecompressionLimitException;
+
+/**
+ * Inflates compressed uploads on the fly, as they are read, so the
+ * decompressed file never exists as a whole in memory or on disk.
+ *
+ * {@link #open} tells gzip and zip apart from plain text by their magic
+ * bytes, not the file name. Of a zip archive only the first file is read;
+ * directories and macOS resource forks are skipped.
+ *
+ * Every inflating stream is cut off with a {@link DecompressionLimitException}
+ * once it has produced more than {@code app.upload.max-inflated-bytes}, or
+ * (past the first MB) more than {@code app.upload.max-inflation-ratio} times
+ * the compressed bytes read so far. Gzip request bodies are JSON, not files,
+ * and have their own much smaller size limit,
+ * {@code app.upload.max-request-inflated-bytes}.
+ */
+@Component
+public class UploadDecompressor {
+
+    /** Small inputs may inflate at any ratio; headers alone make it large. */
+    private static final long RATIO_GRACE_BYTES = 1024 * 1024;
+
+    @Value("${app.upload.max-inflated-bytes:4294967296}")
+    private long maxInflatedBytes;
+
+    @Value("${app.upload.max-request-inflated-bytes:4194304}")
+    private long maxRequestInflatedBytes;
+
+    @Value("${app.upload.max-inflation-ratio:100}")
+    private int maxInflationRatio;
+
+    /** {@code raw} inflated if it is gzip or zip, otherwise as it is. */
+    public InputStream open(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw);
+        in.mark(4);
+        byte[] magic = in.readNBytes(4);
+        in.reset();
+        if (magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            CountingStream compressed = new CountingStream(in);
+            return new LimitedStream(new GZIPInputStream(compressed, 8192), compressed, maxInflatedBytes);
+        }
+        if (magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            return unzipFirstFile(in);
+        }
+        return in;
+    }
+
+    /** A {@code Content-Encoding: gzip} request body, under the request body limit. */
+    public InputStream gunzip(InputStream raw) throws IOException {
+        CountingStream compressed = new CountingStream(raw);
+        return new LimitedStream(new GZIPInputStream(compressed, 8192), compressed, maxRequestInflatedBytes);
+    }
+
+    private InputStream unzipFirstFile(InputStream raw) throws IOException {
+        CountingStream compressed = new CountingStream(raw);
+        ZipInputStream zip = new ZipInputStream(compressed);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory() && !entry.getName().startsWith("__MACOSX/")) {
+                break;
+            }
+        }
+        if (entry == null) {
+            zip.close();
+            return InputStream.nullInputStream();
+        }
+        return new LimitedStream(zip, compressed, maxInflatedBytes);
+    }
+
+    private static class CountingStream extends FilterInputStream {
+        long count;
+
+        CountingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    /** Counts inflated bytes against the limits. */
+    private class LimitedStream extends FilterInputStream {
+        private final CountingStream compressed;
+        private final long limit;
+        private long inflated;
+
+        LimitedStream(InputStream inflating, CountingStream compressed, long limit) {
+            super(inflating);
+            this.compressed = compressed;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                check(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                check(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            check(skipped);
+            return skipped;
+        }
+
+        private void check(long n) throws DecompressionLimitException {
+            inflated += n;
+            if (inflated > limit) {
+                throw new DecompressionLimitException(
+                    "Upload inflates to more than " + limit + " bytes");
+            }
+            if (inflated > RATIO_GRACE_BYTES && inflated > compressed.count * maxInflationRatio) {
+                throw new DecompressionLimitException(
+                    "Upload inflates more than " + maxInflationRatio + " times its compressed size");
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.myfinance.app.finance_tracker.model.CategoryRule;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+/**
+ * Immutable, compiled form of one user's {@link CategoryRule}s.
+ *
+ * All substring patterns are folded into a single Aho-Corasick automaton, so
+ * a text is scanned once no matter how many rules the user has. Regex
+ * patterns (see {@link RulePatterns}) are compiled once here and only tried
+ * when they outrank the best substring hit. When several rules match, the
+ * one that came first in the user's rule list wins, which is the same
+ * priority the old linear scan gave.
+ *
+ * Compound rules are split by their cheap discrete predicates first: one
+ * automaton is built per (direction, origin) combination holding only the
+ * rules that can apply to it, so a credit never even scans debit-only
+ * patterns. The remaining amount-range and currency checks run only for
+ * rules whose pattern actually occurred in the text.
+ */
+public final class UserRuleMatcher {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private static final int UNKNOWN_SIGN = TransactionDirection.values().length;
+    private static final int UNKNOWN_ORIGIN = TransactionOrigin.values().length;
+    private static final int ORIGIN_SLOTS = UNKNOWN_ORIGIN + 1;
+
+    /** Amount/currency predicate left after bucketing by direction and origin. */
+    private record Condition(BigDecimal min, BigDecimal max, String currency) {
+        boolean test(BigDecimal absAmount, String txnCurrency) {
+            if ((min != null || max != null) && absAmount == null) {
+                return false;
+            }
+            if (min != null && absAmount.compareTo(min) < 0) {
+                return false;
+            }
+            if (max != null && absAmount.compareTo(max) > 0) {
+                return false;
+            }
+            return currency == null || currency.equalsIgnoreCase(txnCurrency);
+        }
+    }
+
+    private final long version;
+    private final String[] categories;
+    /** Residual predicate per rule, {@code null} when the rule has none. */
+    private final Condition[] conditions;
+    private final boolean digitSensitive;
+    /** Indexed by {@code sign * ORIGIN_SLOTS + origin}; identical rule subsets share one automaton. */
+    private final Automaton[] buckets;
+    private final boolean bucketed;
+    /** Distinct amount bounds across all rules, ascending. */
+    private final BigDecimal[] amountThresholds;
+    private final boolean currencySensitive;
+
+    private UserRuleMatcher(long version, String[] categories, Condition[] conditions, boolean digitSensitive,
+                            Automaton[] buckets, boolean bucketed, BigDecimal[] amountThresholds,
+                            boolean currencySensitive) {
+        this.version = version;
+        this.categories = categories;
+        this.conditions = conditions;
+        this.digitSensitive = digitSensitive;
+        this.buckets = buckets;
+        this.bucketed = bucketed;
+        this.amountThresholds = amountThresholds;
+        this.currencySensitive = currencySensitive;
+    }
+
+    /**
+     * Compiles the rules in the order given; earlier rules take priority.
+     */
+    public static UserRuleMatcher compile(List<CategoryRule> rules, long version) {
+        String[] categories = new String[rules.size()];
+        Condition[] conditions = new Condition[rules.size()];
+        TreeSet<BigDecimal> thresholds = new TreeSet<>();
+        boolean bucketed = false;
+        boolean currencySensitive = false;
+        for (int rank = 0; rank < rules.size(); rank++) {
+            CategoryRule rule = rules.get(rank);
+            categories[rank] = rule.getCategory();
+            bucketed |= rule.getDirection() != null || rule.getOrigin() != null;
+            if (rule.getMinAmount() != null || rule.getMaxAmount() != null || rule.getCurrency() != null) {
+                conditions[rank] = new Condition(rule.getMinAmount(), rule.getMaxAmount(), rule.getCurrency());
+                if (rule.getMinAmount() != null) {
+                    thresholds.add(rule.getMinAmount());
+                }
+                if (rule.getMaxAmount() != null) {
+                    thresholds.add(rule.getMaxAmount());
+                }
+                currencySensitive |= rule.getCurrency() != null;
+            }
+        }
+
+        Automaton[] buckets = new Automaton[(UNKNOWN_SIGN + 1) * ORIGIN_SLOTS];
+        Map<BitSet, Automaton> shared = new HashMap<>();
+        boolean digitSensitive = false;
+        for (int sign = 0; sign <= UNKNOWN_SIGN; sign++) {
+            for (int origin = 0; origin <= UNKNOWN_ORIGIN; origin++) {
+                BitSet members = new BitSet(rules.size());
+                for (int rank = 0; rank < rules.size(); rank++) {
+                    CategoryRule rule = rules.get(rank);
+                    if (appliesTo(rule.getDirection(), sign) && appliesTo(rule.getOrigin(), origin)) {
+                        members.set(rank);
+                    }
+                }
+                Automaton automaton = shared.computeIfAbsent(members,
+                    m -> Automaton.build(rules, m, conditions));
+                digitSensitive |= automaton.digitSensitive;
+                buckets[sign * ORIGIN_SLOTS + origin] = automaton;
+            }
+        }
+
+        return new UserRuleMatcher(version, categories, conditions, digitSensitive, buckets, bucketed,
+            thresholds.toArray(new BigDecimal[0]), currencySensitive);
+    }
+
+    /**
+     * Returns the category of the highest-priority rule whose pattern occurs in
+     * {@code text} (case-insensitive), or {@code null} if none does. Rules
+     * with predicates never match, since nothing is known about the transaction.
+     */
+    public String match(String text) {
+        return match(text, null, null, null);
+    }
+
+    /**
+     * Like {@link #match(String)}, additionally honouring the rules' direction,
+     * origin, amount-range and currency predicates.
+     */
+    public String match(String text, BigDecimal amount, TransactionOrigin origin, String currency) {
+        if (categories.length == 0 || text == null) {
+            return null;
+        }
+        Automaton automaton = buckets[signIndex(amount) * ORIGIN_SLOTS + originIndex(origin)];
+        int best = automaton.match(text, conditions, amount != null ? amount.abs() : null, currency);
+        return best == NO_MATCH ? null : categories[best];
+    }
+
+    /**
+     * Short key capturing everything about the transaction, other than its
+     * text, that can change the result; empty when no rule has predicates.
+     */
+    public String contextKey(BigDecimal amount, TransactionOrigin origin, String currency) {
+        if (!bucketed && amountThresholds.length == 0 && !currencySensitive) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        key.append(signIndex(amount)).append(originIndex(origin));
+        if (amountThresholds.length > 0) {
+            if (amount == null) {
+                key.append('n');
+            } else {
+                // Amounts between the same two thresholds always test the same way.
+                int i = Arrays.binarySearch(amountThresholds, amount.abs());
+                key.append(i >= 0 ? 2 * i + 1 : 2 * (-i - 1));
+            }
+        }
+        if (currencySensitive) {
+            key.append(currency != null ? currency.toUpperCase(Locale.ROOT) : "");
+        }
+        return key.toString();
+    }
+
+    /** Rule-set version this matcher was compiled from. */
+    public long version() {
+        return version;
+    }
+
+    /** Whether digits in the text can affect the result (a substring pattern has one, or any regex rule exists). */
+    public boolean isDigitSensitive() {
+        return digitSensitive;
+    }
+
+    public boolean isEmpty() {
+        return categories.length == 0;
+    }
+
+    private static boolean appliesTo(Enum<?> required, int slot) {
+        return required == null || required.ordinal() == slot;
+    }
+
+    private static int signIndex(BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return UNKNOWN_SIGN;
+        }
+        return (amount.signum() < 0 ? TransactionDirection.DEBIT : TransactionDirection.CREDIT).ordinal();
+    }
+
+    private static int originIndex(TransactionOrigin origin) {
+        return origin != null ? origin.ordinal() : UNKNOWN_ORIGIN;
+    }
+
+    /**
+     * Aho-Corasick automaton plus regex list over a subset of the rules. Ranks
+     * are the rules' positions in the full list, so priority is preserved.
+     */
+    private static final class Automaton {
+        final boolean digitSensitive;
+        /** Regex rules in priority order, with their rule indexes. */
+        final Pattern[] regexes;
+        final int[] regexRanks;
+
+        // Node n's edges are edgeChars/edgeTargets[edgeStart[n] .. edgeStart[n + 1]),
+        // sorted by char so lookups are a binary search.
+        final int[] edgeStart;
+        final char[] edgeChars;
+        final int[] edgeTargets;
+        final int[] fail;
+        /** Lowest unconditional rule index ending at this node or any suffix node. */
+        final int[] bestRank;
+        // Conditional rules ending exactly at node n are condRanks[condStart[n] .. condStart[n + 1]),
+        // ascending, so they are tried in priority order.
+        final int[] condStart;
+        final int[] condRanks;
+        /** Nearest node on the suffix chain (itself included) with a conditional rule, -1 if none. */
+        final int[] condOut;
+
+        private Automaton(boolean digitSensitive, Pattern[] regexes, int[] regexRanks, int[] edgeStart,
+                          char[] edgeChars, int[] edgeTargets, int[] fail, int[] bestRank, int[] condStart,
+                          int[] condRanks, int[] condOut) {
+            this.digitSensitive = digitSensitive;
+            this.regexes = regexes;
+            this.regexRanks = regexRanks;
+            this.edgeStart = edgeStart;
+            this.edgeChars = edgeChars;
+            this.edgeTargets = edgeTargets;
+            this.fail = fail;
+            this.bestRank = bestRank;
+            this.condStart = condStart;
+            this.condRanks = condRanks;
+            this.condOut = condOut;
+        }
+
+        static Automaton build(List<CategoryRule> rules, BitSet members, Condition[] conditions) {
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<Integer> ranks = new ArrayList<>();
+            // Several conditional rules may share a pattern, each with its own predicates.
+            List<List<Integer>> condRanks = new ArrayList<>();
+            children.add(new TreeMap<>());
+            ranks.add(NO_MATCH);
+            condRanks.add(null);
+
+            boolean digitSensitive = false;
+            List<Pattern> regexes = new ArrayList<>();
+            List<Integer> regexRanks = new ArrayList<>();
+            for (int rank = members.nextSetBit(0); rank >= 0; rank = members.nextSetBit(rank + 1)) {
+                CategoryRule rule = rules.get(rank);
+                String pattern = RulePatterns.simplify(rule.getPattern());
+                if (RulePatterns.isRegex(pattern)) {
+                    try {
+                        regexes.add(RulePatterns.compile(pattern));
+                        regexRanks.add(rank);
+                        // A regex can match digits through classes like \d or '.', so be conservative.
+                        digitSensitive = true;
+                        continue;
+                    } catch (PatternSyntaxException e) {
+                        // Rules saved before patterns were validated: keep their old substring meaning.
+                        pattern = rule.getPattern();
+                    }
+                }
+                pattern = pattern.toLowerCase(Locale.ROOT);
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                digitSensitive |= pattern.chars().anyMatch(Character::isDigit);
+                int node = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    char c = pattern.charAt(i);
+                    Integer next = children.get(node).get(c);
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new TreeMap<>());
+                        ranks.add(NO_MATCH);
+                        condRanks.add(null);
+                        children.get(node).put(c, next);
+                    }
+                    node = next;
+                }
+                if (conditions[rank] == null) {
+                    if (rank < ranks.get(node)) {
+                        ranks.set(node, rank);
+                    }
+                } else {
+                    if (condRanks.get(node) == null) {
+                        condRanks.set(node, new ArrayList<>(1));
+                    }
+                    // Members are visited in rank order, so each list stays ascending.
+                    condRanks.get(node).add(rank);
+                }
+            }
+
+            int nodeCount = children.size();
+            int[] edgeStart = new int[nodeCount + 1];
+            for (int n = 0; n < nodeCount; n++) {
+                edgeStart[n + 1] = edgeStart[n] + children.get(n).size();
+            }
+            char[] edgeChars = new char[edgeStart[nodeCount]];
+            int[] edgeTargets = new int[edgeStart[nodeCount]];
+            for (int n = 0; n < nodeCount; n++) {
+                int e = edgeStart[n];
+                for (Map.Entry<Character, Integer> edge : children.get(n).entrySet()) {
+                    edgeChars[e] = edge.getKey();
+                    edgeTargets[e] = edge.getValue();
+                    e++;
+                }
+            }
+
+            // Breadth-first pass to wire failure links and fold suffix matches into bestRank/condOut.
+            int[] fail = new int[nodeCount];
+            int[] bestRank = new int[nodeCount];
+            int[] condStart = new int[nodeCount + 1];
+            for (int n = 0; n < nodeCount; n++) {
+                bestRank[n] = ranks.get(n);
+                condStart[n + 1] = condStart[n] + (condRanks.get(n) != null ? condRanks.get(n).size() : 0);
+            }
+            int[] flatCondRanks = new int[condStart[nodeCount]];
+            for (int n = 0; n < nodeCount; n++) {
+                List<Integer> list = condRanks.get(n);
+                for (int k = 0; list != null && k < list.size(); k++) {
+                    flatCondRanks[condStart[n] + k] = list.get(k);
+                }
+            }
+            int[] condOut = new int[nodeCount];
+            condOut[0] = -1;
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+                int child = edgeTargets[e];
+                condOut[child] = condStart[child + 1] > condStart[child] ? child : -1;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                    char c = edgeChars[e];
+                    int child = edgeTargets[e];
+                    int f = fail[node];
+                    int target;
+                    while ((target = step(edgeStart, edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = target < 0 ? 0 : target;
+                    bestRank[child] = Math.min(bestRank[child], bestRank[fail[child]]);
+                    condOut[child] = condStart[child + 1] > condStart[child] ? child : condOut[fail[child]];
+                    queue.add(child);
+                }
+            }
+
+            return new Automaton(digitSensitive, regexes.toArray(new Pattern[0]),
+                regexRanks.stream().mapToInt(Integer::intValue).toArray(),
+                edgeStart, edgeChars, edgeTargets, fail, bestRank, condStart, flatCondRanks, condOut);
+        }
+
+        int match(String text, Condition[] conditions, BigDecimal absAmount, String currency) {
+            int best = bestSubstringRank(text, conditions, absAmount, currency);
+            for (int i = 0; i < regexes.length && regexRanks[i] < best; i++) {
+                Condition condition = conditions[regexRanks[i]];
+                if ((condition == null || condition.test(absAmount, currency))
+                        && RulePatterns.find(regexes[i], text)) {
+                    best = regexRanks[i];
+                    break;
+                }
+            }
+            return best;
+        }
+
+        private int bestSubstringRank(String text, Condition[] conditions, BigDecimal absAmount, String currency) {
+            if (edgeStart[1] == 0) {
+                return NO_MATCH;
+            }
+            String lower = text.toLowerCase(Locale.ROOT);
+            int best = NO_MATCH;
+            int state = 0;
+            for (int i = 0; i < lower.length(); i++) {
+                char c = lower.charAt(i);
+                int next;
+                while ((next = step(edgeStart, edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = next < 0 ? 0 : next;
+                if (bestRank[state] < best) {
+                    best = bestRank[state];
+                }
+                for (int n = condOut[state]; n >= 0; n = condOut[fail[n]]) {
+                    for (int k = condStart[n]; k < condStart[n + 1] && condRanks[k] < best; k++) {
+                        if (conditions[condRanks[k]].test(absAmount, currency)) {
+                            best = condRanks[k];
+                            break;
+                        }
+                    }
+                }
+                if (best == 0) {
+                    break;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static int step(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int node, char c) {
+        int i = Arrays.binarySearch(edgeChars, edgeStart[node], edgeStart[node + 1], c);
+        return i >= 0 ? edgeTargets[i] : -1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myfinance.app.finance_tracker.repository.CategoryRuleRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user cache of compiled {@link UserRuleMatcher}s.
+ *
+ * Each user has a rule-set version that is bumped whenever their rules change;
+ * a cached matcher is only served while its version is current, so the
+ * repository is hit once per change instead of once per transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRuleMatcherCache {
+
+    private final CategoryRuleRepository ruleRepo;
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, UserRuleMatcher> matchers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled matcher for the user's current rule set, building it if needed.
+     */
+    public UserRuleMatcher forUser(Long userId) {
+        long version = version(userId);
+        UserRuleMatcher cached = matchers.get(userId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        UserRuleMatcher built = UserRuleMatcher.compile(ruleRepo.findByUserId(userId), version);
+        // Never replace a matcher built for a newer version with our older one.
+        return matchers.merge(userId, built,
+            (current, candidate) -> current.version() >= candidate.version() ? current : candidate);
+    }
+
+    /** Current rule-set version for the user. */
+    public long version(Long userId) {
+        AtomicLong v = versions.get(userId);
+        return v != null ? v.get() : 0L;
+    }
+
+    /**
+     * Marks the user's rules as changed. Inside a transaction the bump is
+     * deferred until commit so no reader can rebuild from uncommitted rows.
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+        } else {
+            bump(userId);
+        }
+    }
+
+    private void bump(Long userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        matchers.remove(userId);
+    }
+}
@@ -0,0 +1,211 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns the lines of a WhatsApp chat export back into messages.
+ *
+ * Both export layouts are understood, with dates as d/M/y, M/d/y or y-M-d
+ * (separated by {@code /}, {@code .} or {@code -}), two- or four-digit years,
+ * and 24-hour or 12-hour times with optional seconds:
+ * <pre>
+ * iOS:     [30/07/24, 10:30:15] Bank: Rs.100 debited ...
+ * Android: 7/30/24, 10:30 AM - Bank: Rs.100 debited ...
+ * </pre>
+ * Whether dates are day- or month-first is settled once per file, before
+ * any message is read, by {@link #dayFirst(CharSequence)} over the head of
+ * the export. Every part of the file then reads dates the same way, also
+ * when it is parsed in pieces.
+ *
+ * Lines that do not start a message continue the one before, so multi-line
+ * bank messages arrive whole. Most lines are rejected as headers by their
+ * first character alone; only lines starting with {@code [} or a digit go
+ * to the (precompiled, reused) matchers. Header lines without a sender are
+ * WhatsApp's own notices and are dropped along with anything continuing them.
+ *
+ * One instance per file; not thread-safe.
+ */
+@Slf4j
+final class WhatsAppChatParser {
+
+    /** A message is cut off here, so one runaway paste cannot grow without bound. */
+    static final int MAX_MESSAGE_CHARS = 4096;
+    /** How much of the start of an export {@link #dayFirst} looks at. */
+    static final int HEAD_CHARS = 256 * 1024;
+
+    private static final String DATE = "(\\d{1,4})[/.\\-](\\d{1,2})[/.\\-](\\d{1,4})";
+    private static final String TIME =
+        "(\\d{1,2})[:.](\\d{2})(?:[:.](\\d{2}))?(?:[\\s\\u202F\\u00A0]?([AaPp])\\.?\\s?[Mm]\\.?)?";
+    private static final Pattern IOS_HEADER = Pattern.compile("\\[" + DATE + ",?\\s" + TIME + "\\]\\s");
+    private static final Pattern ANDROID_HEADER = Pattern.compile(DATE + ",?\\s" + TIME + "\\s[-\\u2013]\\s");
+
+    private final Matcher ios = IOS_HEADER.matcher("");
+    private final Matcher android = ANDROID_HEADER.matcher("");
+    private final boolean dayFirst;
+    /** Text of the message being collected, or null between messages. */
+    private StringBuilder text;
+    private String timestamp;
+
+    WhatsAppChatParser(boolean dayFirst) {
+        this.dayFirst = dayFirst;
+    }
+
+    /**
+     * Whether the dates of an export starting with {@code head} are
+     * day-first: decided by the first header in it with a day or month over
+     * 12, and day-first if there is none. Only the first {@link #HEAD_CHARS}
+     * characters are looked at.
+     */
+    static boolean dayFirst(CharSequence head) {
+        Matcher ios = IOS_HEADER.matcher("");
+        Matcher android = ANDROID_HEADER.matcher("");
+        int end = Math.min(head.length(), HEAD_CHARS);
+        int start = 0;
+        while (start < end) {
+            int eol = start;
+            while (eol < end && head.charAt(eol) != '\n') {
+                eol++;
+            }
+            String line = stripMarks(head.subSequence(start, eol).toString());
+            start = eol + 1;
+            if (line.isEmpty()) {
+                continue;
+            }
+            Matcher m = line.charAt(0) == '[' ? ios.reset(line) : android.reset(line);
+            if (!m.lookingAt() || m.group(1).length() == 4) {
+                continue;
+            }
+            int a = Integer.parseInt(m.group(1));
+            int b = Integer.parseInt(m.group(2));
+            if (a > 12 || b > 12) {
+                return a > 12;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Feeds the next line. Returns the previous message once this line shows
+     * it is complete, otherwise null.
+     */
+    SmsMessage accept(String line) {
+        line = stripMarks(line);
+        Matcher header = header(line);
+        if (header == null) {
+            int room = text == null ? 0 : MAX_MESSAGE_CHARS - text.length() - 1;
+            String continued = room > 0 ? line.strip() : "";
+            if (!continued.isEmpty()) {
+                text.append('\n').append(continued, 0, Math.min(continued.length(), room));
+            }
+            return null;
+        }
+
+        SmsMessage previous = finish();
+        String body = line.substring(header.end());
+        int senderEnd = body.indexOf(": ");
+        if (senderEnd < 0) {
+            return previous;
+        }
+        try {
+            timestamp = timestamp(header).toString();
+        } catch (DateTimeException | NumberFormatException e) {
+            log.warn("Could not parse timestamp: {}", line.substring(0, header.end()).strip());
+            return previous;
+        }
+        String first = body.substring(senderEnd + 2).strip();
+        text = new StringBuilder(first.length() + 64)
+            .append(first, 0, Math.min(first.length(), MAX_MESSAGE_CHARS));
+        return previous;
+    }
+
+    /** The message still being collected, at the end of the file. */
+    SmsMessage finish() {
+        if (text == null) {
+            return null;
+        }
+        SmsMessage message = SmsMessage.builder()
+            .text(text.toString())
+            .timestamp(timestamp)
+            .build();
+        text = null;
+        timestamp = null;
+        return message;
+    }
+
+    /**
+     * Whether {@code line} starts a new entry (message or notice). Used to
+     * split an export into pieces that can be parsed independently.
+     */
+    static boolean startsEntry(CharSequence line) {
+        String s = stripMarks(line.toString());
+        if (s.isEmpty()) {
+            return false;
+        }
+        char c = s.charAt(0);
+        if (c == '[') {
+            return IOS_HEADER.matcher(s).lookingAt();
+        }
+        return c >= '0' && c <= '9' && ANDROID_HEADER.matcher(s).lookingAt();
+    }
+
+    private Matcher header(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        char c = line.charAt(0);
+        if (c == '[') {
+            return ios.reset(line).lookingAt() ? ios : null;
+        }
+        if (c >= '0' && c <= '9') {
+            return android.reset(line).lookingAt() ? android : null;
+        }
+        return null;
+    }
+
+    private LocalDateTime timestamp(Matcher m) {
+        String first = m.group(1);
+        int a = Integer.parseInt(first);
+        int b = Integer.parseInt(m.group(2));
+        int c = Integer.parseInt(m.group(3));
+        int year;
+        int month;
+        int day;
+        if (first.length() == 4) {
+            year = a;
+            month = b;
+            day = c;
+        } else {
+            year = m.group(3).length() <= 2 ? 2000 + c : c;
+            day = dayFirst ? a : b;
+            month = dayFirst ? b : a;
+        }
+
+        int hour = Integer.parseInt(m.group(4));
+        String meridiem = m.group(7);
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                throw new DateTimeException("Hour out of range for 12-hour time: " + hour);
+            }
+            hour = hour % 12 + (Character.toUpperCase(meridiem.charAt(0)) == 'P' ? 12 : 0);
+        }
+        int second = m.group(6) != null ? Integer.parseInt(m.group(6)) : 0;
+        return LocalDateTime.of(year, month, day, hour, Integer.parseInt(m.group(5)), second);
+    }
+
+    /** Drops the direction marks some exports put in front of lines. */
+    private static String stripMarks(String line) {
+        int i = 0;
+        while (i < line.length() && (line.charAt(i) == '\u200E' || line.charAt(i) == '\u200F'
+                || line.charAt(i) == '\uFEFF')) {
+            i++;
+        }
+        return i == 0 ? line : line.substring(i);
+    }
+}
@@ -0,0 +1,129 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.myfinance.app.finance_tracker.service.CsvRecordReader;
+import com.myfinance.app.finance_tracker.service.SmsFileReader;
+
+/**
+ * Time to read a CSV export of {@code sizeMb} megabytes from disk, written
+ * once per trial to a temporary file. About one row in eight has a quoted
+ * text with commas, and one in sixteen a line break inside the quotes.
+ *
+ * <ul>
+ *   <li>{@code splitLines}: the old read, {@code readLine()} and
+ *       {@code split(",", 2)}. It is only a floor to compare against, as it
+ *       gets quoted rows wrong.</li>
+ *   <li>{@code records}: {@link CsvRecordReader} alone.</li>
+ *   <li>{@code messages}: {@link SmsFileReader}, as uploads are read.</li>
+ * </ul>
+ *
+ * Divide the size by the score for MB/s. The default is 1 GB; pass
+ * {@code -p sizeMb=4096} (JMH option) to go past the page cache on most
+ * machines.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.CsvImportBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CsvImportBenchmark {
+
+    @Param({"1024"})
+    public int sizeMb;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sms-bench-", ".csv");
+        long target = (long) sizeMb * 1024 * 1024;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("timestamp,sender,message\n");
+            for (long i = 0; written < target; i++) {
+                String row;
+                if (i % 16 == 0) {
+                    row = "2025-01-30 09:15,HDFCBK,\"Rs. 1,250.00 debited from A/c XX1234\nRef " + i + "\"\n";
+                } else if (i % 8 == 0) {
+                    row = "2025-01-30 09:15,HDFCBK,\"Paid Rs. 2,499 to \"\"Zomato\"\", ref " + i + "\"\n";
+                } else {
+                    row = "2025-01-30 09:15,HDFCBK,Rs.450.00 debited from A/c XX1234 on 30-01-25 ref " + i + "\n";
+                }
+                out.write(row);
+                written += row.length();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void splitLines(Blackhole bh) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bh.consume(line.split(",", 2));
+            }
+        }
+    }
+
+    @Benchmark
+    public void records(Blackhole bh) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> fields = new ArrayList<>();
+            while (csv.readRecord(fields)) {
+                bh.consume(fields.get(fields.size() - 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void messages(Blackhole bh) throws IOException {
+        try (BufferedReader reader = SmsFileReader.open(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            new SmsFileReader(reader, SmsFileReader.Format.CSV).forEachRemaining(bh::consume);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CsvImportBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
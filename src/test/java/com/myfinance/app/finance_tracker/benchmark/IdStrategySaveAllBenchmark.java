@@ -0,0 +1,203 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Rows per second saved through Spring Data's {@code saveAll}, as the SMS
+ * ingestion saves a chunk, for the two id strategies:
+ *
+ * <ul>
+ *   <li>{@code identity}: ids from an identity column, as before. Hibernate
+ *       must run every INSERT on its own to read the id back.</li>
+ *   <li>{@code sequence}: ids from a pooled sequence (allocationSize 50),
+ *       as the entities use now, so inserts go out in JDBC batches.</li>
+ * </ul>
+ *
+ * Each invocation saves {@link #ROWS} transaction-like rows in one
+ * transaction, with the application's Hibernate batching settings
+ * ({@code batch_size=100}, ordered inserts). The tables are emptied before
+ * each iteration; Hibernate's insert path takes about ten iterations to
+ * warm up on a small machine, hence the long warmup. Runs against in-memory
+ * H2 by default; pass
+ * {@code -Dbench.url}, {@code -Dbench.user} and {@code -Dbench.password} for
+ * Postgres (with {@code reWriteBatchedInserts=true} in the URL, as the
+ * application is configured there).
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.IdStrategySaveAllBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(IdStrategySaveAllBenchmark.ROWS)
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdStrategySaveAllBenchmark {
+
+    static final int ROWS = 1000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"identity", "sequence"})
+    public String strategy;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private SimpleJpaRepository<?, Long> repository;
+    private Class<?> entity;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.url", "jdbc:h2:mem:bench-ids;DB_CLOSE_DELAY=-1"));
+        dataSource.setUsername(System.getProperty("bench.user", "sa"));
+        dataSource.setPassword(System.getProperty("bench.password", ""));
+
+        Configuration configuration = new Configuration()
+            .addAnnotatedClass(IdentityRow.class)
+            .addAnnotatedClass(SequenceRow.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "100");
+        configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        sessionFactory = configuration.buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+
+        entity = strategy.equals("identity") ? IdentityRow.class : SequenceRow.class;
+        repository = new SimpleJpaRepository<>(entity, entityManager);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() {
+        entityManager.getTransaction().begin();
+        entityManager.createQuery("DELETE FROM " + entity.getSimpleName()).executeUpdate();
+        entityManager.getTransaction().commit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int saveAll() {
+        List<Object> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(-(100 + i * 37L % 100_000), 2);
+            LocalDateTime time = START.plusMinutes(i);
+            rows.add(entity == IdentityRow.class
+                ? new IdentityRow(1L, amount, "Merchant " + i % 400, time)
+                : new SequenceRow(1L, amount, "Merchant " + i % 400, time));
+        }
+        entityManager.getTransaction().begin();
+        @SuppressWarnings("unchecked")
+        SimpleJpaRepository<Object, Long> typed = (SimpleJpaRepository<Object, Long>) repository;
+        int saved = typed.saveAll(rows).size();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        return saved;
+    }
+
+    @Entity(name = "IdentityRow")
+    @Table(name = "bench_identity_rows")
+    static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        @Column(nullable = false)
+        Long userId;
+        @Column(nullable = false, precision = 13, scale = 2)
+        BigDecimal amount;
+        @Column(length = 100)
+        String merchant;
+        @Column(nullable = false)
+        LocalDateTime transactionTime;
+
+        IdentityRow() {
+        }
+
+        IdentityRow(Long userId, BigDecimal amount, String merchant, LocalDateTime transactionTime) {
+            this.userId = userId;
+            this.amount = amount;
+            this.merchant = merchant;
+            this.transactionTime = transactionTime;
+        }
+    }
+
+    @Entity(name = "SequenceRow")
+    @Table(name = "bench_sequence_rows")
+    static class SequenceRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_sequence_rows_seq")
+        @SequenceGenerator(name = "bench_sequence_rows_seq", sequenceName = "bench_sequence_rows_seq",
+            allocationSize = 50)
+        Long id;
+        @Column(nullable = false)
+        Long userId;
+        @Column(nullable = false, precision = 13, scale = 2)
+        BigDecimal amount;
+        @Column(length = 100)
+        String merchant;
+        @Column(nullable = false)
+        LocalDateTime transactionTime;
+
+        SequenceRow() {
+        }
+
+        SequenceRow(Long userId, BigDecimal amount, String merchant, LocalDateTime transactionTime) {
+            this.userId = userId;
+            this.amount = amount;
+            this.merchant = merchant;
+            this.transactionTime = transactionTime;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(IdStrategySaveAllBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
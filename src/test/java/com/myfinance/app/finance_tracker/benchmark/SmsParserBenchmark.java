@@ -0,0 +1,111 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.myfinance.app.finance_tracker.service.SmsFastScanner;
+import com.myfinance.app.finance_tracker.service.SmsParser;
+import com.myfinance.app.finance_tracker.service.SmsTemplate;
+import com.myfinance.app.finance_tracker.service.SmsTemplateRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput of the SMS parsing paths over the sample files in the project
+ * root: the single-pass scanner alone, the template registry alone (the
+ * regex path every message took before the scanner), and {@link SmsParser}
+ * end to end. Each invocation parses the whole corpus once.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.SmsParserBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmsParserBenchmark {
+
+    private String[] messages;
+    private SmsFastScanner scanner;
+    private SmsTemplateRegistry registry;
+    private SmsParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        messages = loadSamples().toArray(new String[0]);
+        scanner = new SmsFastScanner();
+        registry = new SmsTemplateRegistry(new SimpleMeterRegistry(),
+            new StaticListableBeanFactory().getBeanProvider(SmsTemplate.class));
+        parser = new SmsParser(registry, scanner);
+    }
+
+    @Benchmark
+    public void fastScanner(Blackhole bh) {
+        for (String sms : messages) {
+            bh.consume(scanner.scan(sms));
+        }
+    }
+
+    @Benchmark
+    public void templateRegistry(Blackhole bh) {
+        for (String sms : messages) {
+            bh.consume(registry.parse(sms));
+        }
+    }
+
+    @Benchmark
+    public void smsParser(Blackhole bh) {
+        for (String sms : messages) {
+            bh.consume(parser.parse(sms, 1L));
+        }
+    }
+
+    /** Plain messages from sample_sms.txt and the text column of sample_sms_messages.txt. */
+    static List<String> loadSamples() throws IOException {
+        List<String> messages = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of("sample_sms.txt"), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                messages.add(line);
+            }
+        }
+        for (String line : Files.readAllLines(Path.of("sample_sms_messages.txt"), StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            // timestamp|sender|message_text
+            messages.add(line.substring(line.indexOf('|', line.indexOf('|') + 1) + 1));
+        }
+        return messages;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SmsParserBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,218 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of one page of {@code GET /api/transactions} for each filter shape,
+ * with the WHERE clauses TransactionSpecifications produces and the indexes
+ * the Transaction entity declares. The plan of every shape is printed during
+ * setup with the rows it read, so a full scan or a sort over the whole user
+ * shows up next to the numbers.
+ *
+ * The table holds {@link #USERS} users of {@code rowsPerUser} transactions
+ * each, spread over three years, 12 categories and 400 merchants, four in
+ * five of them debits. Runs against in-memory H2 by default; pass
+ * {@code -Dbench.url}, {@code -Dbench.user} and {@code -Dbench.password} for
+ * Postgres (and ANALYZE is run there before the plans are taken).
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.TransactionFilterQueryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionFilterQueryBenchmark {
+
+    static final int USERS = 5;
+    static final int PAGE = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final String[] CATEGORIES = {
+        "Food", "Groceries", "Transport", "Shopping", "Bills", "Rent",
+        "Entertainment", "Health", "Travel", "Salary", "Transfer", "Other"};
+
+    private static final String SELECT = "SELECT id, amount, merchant, transaction_time FROM bench_filter_transactions"
+        + " WHERE user_id = ? AND ";
+    /** TransactionSpecifications.newestFirst: the user, and the category when it is filtered on, lead the sort. */
+    private static final String ORDER = " ORDER BY user_id DESC, transaction_time DESC, id DESC LIMIT " + (PAGE + 1);
+    private static final String CATEGORY_ORDER =
+        " ORDER BY user_id DESC, category DESC, transaction_time DESC, id DESC LIMIT " + (PAGE + 1);
+
+    /** Each shape's WHERE clause after the user, its parameters and its ORDER BY. */
+    private static final Map<String, Query> SHAPES = Map.of(
+        "recent", new Query("1 = 1", List.of(), ORDER),
+        "dateRange", new Query("transaction_time >= ? AND transaction_time < ?",
+            List.of(Timestamp.valueOf(START.plusMonths(14)), Timestamp.valueOf(START.plusMonths(15))), ORDER),
+        "category", new Query("category = ?", List.of("Travel"), CATEGORY_ORDER),
+        "merchantPrefix", new Query("merchant_key LIKE ? ESCAPE '\\'", List.of("merchant 12%"), ORDER),
+        "debitRange", new Query("(amount < 0 AND amount <= ? AND amount >= ?)",
+            List.of(new BigDecimal("-5000"), new BigDecimal("-10000")), ORDER),
+        "categoryAndDates", new Query("transaction_time >= ? AND transaction_time < ? AND category = ?",
+            List.of(Timestamp.valueOf(START.plusMonths(6)), Timestamp.valueOf(START.plusMonths(18)), "Food"),
+            CATEGORY_ORDER));
+
+    @Param({"100000"})
+    public int rowsPerUser;
+
+    @Param({"recent", "dateRange", "category", "merchantPrefix", "debitRange", "categoryAndDates"})
+    public String shape;
+
+    private Connection connection;
+    private PreparedStatement page;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            System.getProperty("bench.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"),
+            System.getProperty("bench.user", "sa"),
+            System.getProperty("bench.password", ""));
+        connection.setAutoCommit(false);
+        boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+        if (!loaded()) {
+            load(postgres);
+        }
+        Query query = SHAPES.get(shape);
+        page = connection.prepareStatement(query.sql());
+        query.bind(page);
+
+        // ANALYZE runs the query, so the plan shows the rows read (scanCount on H2, actual rows on Postgres).
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + query.sql())) {
+            query.bind(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                System.out.println("Plan for " + shape + ":");
+                while (rs.next()) {
+                    System.out.println("  " + rs.getString(1));
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        page.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public long firstPage() throws SQLException {
+        long last = 0;
+        try (ResultSet rs = page.executeQuery()) {
+            while (rs.next()) {
+                last = rs.getLong(1);
+            }
+        }
+        return last;
+    }
+
+    /** The table is kept across shapes in one fork; loading it dwarfs the measurements. */
+    private boolean loaded() throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM bench_filter_transactions")) {
+            rs.next();
+            return rs.getLong(1) == (long) USERS * rowsPerUser;
+        } catch (SQLException e) {
+            connection.rollback();
+            return false;
+        }
+    }
+
+    private void load(boolean postgres) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_filter_transactions");
+            st.execute("CREATE TABLE bench_filter_transactions (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL,"
+                + " origin VARCHAR(10) NOT NULL, amount NUMERIC(13,2) NOT NULL, category VARCHAR(50),"
+                + " merchant VARCHAR(100), merchant_key VARCHAR(100), transaction_time TIMESTAMP NOT NULL)");
+        }
+        long id = 0;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_filter_transactions VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            long minutes = Duration.between(START, START.plusYears(3)).toMinutes();
+            for (int user = 1; user <= USERS; user++) {
+                for (int i = 0; i < rowsPerUser; i++) {
+                    long mix = ++id * 2654435761L;
+                    String merchant = "Merchant " + Math.floorMod(mix >>> 7, 400);
+                    long paise = 100 + Math.floorMod(mix >>> 3, 2_000_000);
+                    ps.setLong(1, id);
+                    ps.setLong(2, user);
+                    ps.setString(3, "SMS");
+                    ps.setBigDecimal(4, BigDecimal.valueOf(i % 5 == 0 ? paise : -paise, 2));
+                    ps.setString(5, CATEGORIES[(int) Math.floorMod(mix >>> 11, CATEGORIES.length)]);
+                    ps.setString(6, merchant);
+                    ps.setString(7, merchant.toLowerCase(Locale.ROOT));
+                    ps.setTimestamp(8, Timestamp.valueOf(START.plusMinutes((long) i * minutes / rowsPerUser)));
+                    ps.addBatch();
+                    if (id % 1000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE INDEX idx_bench_user_time_id ON bench_filter_transactions"
+                + " (user_id, transaction_time, id)");
+            st.execute("CREATE INDEX idx_bench_user_category_time ON bench_filter_transactions"
+                + " (user_id, category, transaction_time, id)");
+            // Postgres only uses a btree for LIKE 'prefix%' under the C collation or a *_pattern_ops index.
+            st.execute("CREATE INDEX idx_bench_user_merchant_key ON bench_filter_transactions (user_id, merchant_key"
+                + (postgres ? " varchar_pattern_ops)" : ")"));
+            if (postgres) {
+                st.execute("ANALYZE bench_filter_transactions");
+            }
+        }
+        connection.commit();
+    }
+
+    private record Query(String where, List<Object> params, String order) {
+
+        String sql() {
+            return SELECT + where + order;
+        }
+
+        void bind(PreparedStatement ps) throws SQLException {
+            ps.setLong(1, 1L);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 2, params.get(i));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TransactionFilterQueryBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
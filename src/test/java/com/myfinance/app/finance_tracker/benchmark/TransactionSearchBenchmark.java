@@ -0,0 +1,115 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.service.TransactionSearchIndex;
+
+/**
+ * Latency of one page (20 hits) of {@code GET /api/transactions/search} for a
+ * user with {@code rows} bank SMS, from the index alone. The queries range
+ * from a rare merchant to words in nearly every message. The index is built
+ * once, from an in-memory H2 table, during setup; that build time is printed.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.TransactionSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionSearchBenchmark {
+
+    private static final List<String> MERCHANTS = List.of(
+        "IRCTC", "Swiggy", "Zomato", "Amazon", "Flipkart", "Uber", "Ola", "BigBasket", "Netflix", "Airtel");
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"irctc", "refund", "refund swiggy", "swig", "debited upi"})
+    public String query;
+
+    private TransactionSearchIndex index;
+
+    @Setup
+    public void setUp() throws SQLException {
+        SingleConnectionDataSource dataSource =
+            new SingleConnectionDataSource("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1", "sa", "", true);
+        try (Connection connection = dataSource.getConnection()) {
+            load(connection);
+        }
+        index = new TransactionSearchIndex(new JdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(index, "maxUsers", 1);
+        ReflectionTestUtils.setField(index, "maxAge", Duration.ofDays(1));
+
+        long started = System.nanoTime();
+        index.search(1L, query, 0, 20);
+        System.out.printf("Index of %d rows built in %d ms%n", rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Benchmark
+    public int firstPage() {
+        return index.search(1L, query, 0, 20).total();
+    }
+
+    private void load(Connection connection) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS transactions");
+            st.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL,"
+                + " raw_text VARCHAR(1000), merchant VARCHAR(100), canonical_merchant VARCHAR(100))");
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO transactions VALUES (?, 1, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                String merchant = MERCHANTS.get(random.nextInt(MERCHANTS.size()));
+                String text = (random.nextInt(30) == 0 ? "Refund of Rs." : "Rs.") + random.nextInt(10_000)
+                    + ".00 debited from A/c XX" + random.nextInt(10_000) + " on " + (1 + random.nextInt(28))
+                    + "-07-24 to " + merchant + " UPI Ref " + (100_000_000L + random.nextInt(900_000_000))
+                    + ". Not you? Call 18002586161 HDFC Bank";
+                ps.setLong(1, i);
+                ps.setString(2, text);
+                ps.setString(3, merchant);
+                ps.setString(4, merchant);
+                ps.addBatch();
+                if (i % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TransactionSearchBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.myfinance.app.finance_tracker.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.myfinance.app.finance_tracker.service.SmsFileReader;
+
+/**
+ * Time to read a large WhatsApp export: sample_whatsapp_chat.txt repeated
+ * until it has {@code messages} messages, every other one followed by a
+ * continuation line and a line of chatter. {@code lineRegex} is the
+ * one-pattern-per-line read WhatsApp uploads used before the chat parser
+ * (full match, then a {@link DateTimeFormatter}); {@code chatParser} is
+ * {@link SmsFileReader} as it reads them now.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.myfinance.app.finance_tracker.benchmark.WhatsAppChatParserBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WhatsAppChatParserBenchmark {
+
+    private static final Pattern OLD_LINE =
+        Pattern.compile("\\[\\d{1,2}/\\d{1,2}/\\d{2}, \\d{1,2}:\\d{2}\\] .*: .*");
+    private static final DateTimeFormatter OLD_TIMESTAMP = DateTimeFormatter.ofPattern("dd/MM/yy, HH:mm");
+
+    @Param({"200000"})
+    public int messages;
+
+    private String chat;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> sample = Files.readAllLines(Path.of("sample_whatsapp_chat.txt"), StandardCharsets.UTF_8);
+        StringBuilder content = new StringBuilder(messages * 120);
+        for (int i = 0; i < messages; i++) {
+            content.append(sample.get(i % sample.size())).append('\n');
+            if (i % 2 == 0) {
+                content.append("Ref No 4201").append(i).append('\n')
+                    .append("ok thanks, will check the statement tonight\n");
+            }
+        }
+        chat = content.toString();
+    }
+
+    @Benchmark
+    public void lineRegex(Blackhole bh) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(chat));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (OLD_LINE.matcher(line).matches()) {
+                int timestampEnd = line.indexOf(']');
+                bh.consume(line.substring(line.indexOf(": ", timestampEnd) + 2));
+                bh.consume(LocalDateTime.parse(line.substring(1, timestampEnd), OLD_TIMESTAMP).toString());
+            }
+        }
+    }
+
+    @Benchmark
+    public void chatParser(Blackhole bh) {
+        new SmsFileReader(new BufferedReader(new StringReader(chat)), SmsFileReader.Format.WHATSAPP)
+            .forEachRemaining(bh::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(WhatsAppChatParserBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
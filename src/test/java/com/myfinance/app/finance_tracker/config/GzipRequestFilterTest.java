@@ -0,0 +1,111 @@
+package com.myfinance.app.finance_tracker.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.myfinance.app.finance_tracker.exception.GlobalExceptionHandler;
+import com.myfinance.app.finance_tracker.service.UploadDecompressor;
+
+class GzipRequestFilterTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        UploadDecompressor decompressor = new UploadDecompressor();
+        ReflectionTestUtils.setField(decompressor, "maxInflatedBytes", 4L * 1024 * 1024 * 1024);
+        ReflectionTestUtils.setField(decompressor, "maxRequestInflatedBytes", 64L * 1024);
+        ReflectionTestUtils.setField(decompressor, "maxInflationRatio", 100);
+        mvc = MockMvcBuilders.standaloneSetup(new EchoController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .addFilters(new GzipRequestFilter(decompressor))
+            .build();
+    }
+
+    @Test
+    void gzipJson_IsInflatedForTheController() throws Exception {
+        mvc.perform(post("/echo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .content(gzip("{\"text\":\"Rs.450 debited\"}")))
+            .andExpect(status().isOk())
+            .andExpect(content().string("Rs.450 debited"));
+    }
+
+    @Test
+    void gzipJsonOverTheRequestLimit_Is413() throws Exception {
+        // Given: 128 KB of JSON, within the file upload limit but past the 64 KB body limit
+        String json = "{\"text\":\"" + "x".repeat(128 * 1024) + "\"}";
+
+        // When / Then
+        mvc.perform(post("/echo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .content(gzip(json)))
+            .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void gzipMultipart_Is415() throws Exception {
+        mvc.perform(post("/echo")
+                .contentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=x")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .content(gzip("--x--")))
+            .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void otherEncodings_Are415() throws Exception {
+        for (String encoding : new String[] {"br", "deflate", "gzip, br"}) {
+            mvc.perform(post("/echo")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, encoding)
+                    .content("{\"text\":\"x\"}"))
+                .andExpect(status().isUnsupportedMediaType());
+        }
+    }
+
+    @Test
+    void identityEncoding_PassesTheBodyThrough() throws Exception {
+        mvc.perform(post("/echo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "identity")
+                .content("{\"text\":\"plain\"}"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("plain"));
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @RestController
+    static class EchoController {
+
+        @PostMapping("/echo")
+        String echo(@RequestBody Map<String, String> body) {
+            return body.get("text");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.myfinance.app.finance_tracker.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.TransactionRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+import com.myfinance.app.finance_tracker.service.TransactionSearchIndex;
+import com.myfinance.app.finance_tracker.service.TransactionSearchListener;
+
+/**
+ * {@link IdSequenceMigration} on H2, against the sequences Hibernate
+ * creates, which start at 1 whatever the tables hold.
+ */
+@DataJpaTest(showSql = false)
+@Import({IdSequenceMigration.class, TransactionSearchListener.class, TransactionSearchIndex.class})
+class IdSequenceMigrationIntegrationTest {
+
+    @Autowired
+    private IdSequenceMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void afterSingletonsInstantiated_MovesSequencesPastExistingIds_Once() {
+        // Given: rows from the identity days, with ids the new sequences would hand out again
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, created_at)"
+            + " VALUES (1000, 'old@example.com', 'x', ?)", now);
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, origin, amount, currency, category,"
+            + " transaction_time, created_at, updated_at) VALUES (5000, 1000, 'MANUAL', -10.00, 'INR', 'Food', ?, ?, ?)",
+            now, now, now);
+
+        // When
+        migration.afterSingletonsInstantiated();
+        long users = nextValue("USERS_SEQ");
+        long transactions = nextValue("TRANSACTIONS_SEQ");
+        long rules = nextValue("CATEGORY_RULES_SEQ");
+        migration.afterSingletonsInstantiated();
+
+        // Then: sequences of tables with rows start one pooled block past them; a second run changes nothing
+        assertEquals(1000 + IdSequenceMigration.ALLOCATION_SIZE, users);
+        assertEquals(5000 + IdSequenceMigration.ALLOCATION_SIZE, transactions);
+        assertEquals(1, rules);
+        assertEquals(users, nextValue("USERS_SEQ"));
+        assertEquals(transactions, nextValue("TRANSACTIONS_SEQ"));
+        assertEquals(rules, nextValue("CATEGORY_RULES_SEQ"));
+
+        // And: new rows get ids past the old ones
+        User user = userRepository.saveAndFlush(User.builder().email("new@example.com").passwordHash("x").build());
+        Transaction transaction = transactionRepository.saveAndFlush(Transaction.builder()
+            .user(user)
+            .origin(TransactionOrigin.MANUAL)
+            .amount(new BigDecimal("-20.00"))
+            .transactionTime(now)
+            .build());
+        assertTrue(user.getId() > 1000, "user id " + user.getId());
+        assertTrue(transaction.getId() > 5000, "transaction id " + transaction.getId());
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject(
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?", Long.class, sequence);
+    }
+}
@@ -0,0 +1,32 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void add_IsNeverForgotten_AndMostOtherKeysAreRejected() {
+        // Given
+        BloomFilter bloom = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            String hash = ContentHash.of("added " + i, null);
+            bloom.add(Long.parseUnsignedLong(hash, 0, 16, 16), Long.parseUnsignedLong(hash, 16, 32, 16) | 1L);
+        }
+
+        // Then
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            String added = ContentHash.of("added " + i, null);
+            assertTrue(bloom.mightContain(Long.parseUnsignedLong(added, 0, 16, 16),
+                Long.parseUnsignedLong(added, 16, 32, 16) | 1L));
+            String other = ContentHash.of("other " + i, null);
+            if (bloom.mightContain(Long.parseUnsignedLong(other, 0, 16, 16),
+                    Long.parseUnsignedLong(other, 16, 32, 16) | 1L)) {
+                falsePositives++;
+            }
+        }
+        assertFalse(falsePositives > 50, "false positives: " + falsePositives);
+    }
+}
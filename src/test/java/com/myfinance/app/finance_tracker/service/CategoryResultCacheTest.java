@@ -0,0 +1,54 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CategoryResultCacheTest {
+
+    private CategoryResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CategoryResultCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxEntries", 32);
+        cache.init();
+    }
+
+    @Test
+    void get_AfterPut_HitsOnlyForSameUserAndVersion() {
+        // Given
+        cache.put(1L, "zomato", 3L, "Food");
+
+        // When / Then
+        assertEquals("Food", cache.get(1L, "zomato", 3L));
+        assertNull(cache.get(2L, "zomato", 3L));
+        assertNull(cache.get(1L, "zomato", 4L));
+        assertNull(cache.get(1L, "zomato", 3L)); // stale entry was dropped
+        assertEquals(1L, cache.hitCount());
+        assertEquals(3L, cache.missCount());
+    }
+
+    @Test
+    void put_BeyondCapacity_EvictsLeastRecentlyUsed() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(1L, "merchant-" + i, 0L, "Food");
+        }
+        assertTrue(cache.size() <= 32);
+        assertTrue(cache.evictionCount() > 0);
+    }
+
+    @Test
+    void fingerprint_CollapsesDigitRunsAndAsciiCase() {
+        String a = CategoryResultCache.fingerprint("Rs.100 debited for ZOMATO on 30-07-2024", false);
+        String b = CategoryResultCache.fingerprint("Rs.2,450 debited for Zomato on 01-08-2024", false);
+        assertEquals("rs.0 debited for zomato on 0-0-0", a);
+        assertEquals("rs.0,0 debited for zomato on 0-0-0", b);
+        assertEquals("rs.100 debited", CategoryResultCache.fingerprint("Rs.100 debited", true));
+    }
+}
@@ -0,0 +1,120 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.myfinance.app.finance_tracker.dto.BulkRuleResponse;
+import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
+import com.myfinance.app.finance_tracker.dto.RuleBundle;
+import com.myfinance.app.finance_tracker.model.CategoryRule;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.repository.CategoryRuleRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRuleServiceTest {
+
+    @Mock
+    private CategoryRuleRepository ruleRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private UserRuleMatcherCache ruleMatchers;
+
+    @Mock
+    private RecategorizationService recategorizationService;
+
+    @InjectMocks
+    private CategoryRuleServiceImpl ruleService;
+
+    @Test
+    void importRules_DedupesInMemory_AndInvalidatesOnce() {
+        // Given
+        when(userRepo.existsById(1L)).thenReturn(true);
+        when(ruleRepo.findByUserId(1L)).thenReturn(List.of(
+            CategoryRule.builder().pattern("zomato").category("Food").build()));
+        RuleBundle bundle = RuleBundle.builder().rules(List.of(
+            request("Swiggy", "Food"),
+            request("ZOMATO", "Food"),
+            request("swiggy", "Dining"),
+            request("(a+)+", "Broken"),
+            request("uber|ola", "Travel")
+        )).build();
+
+        // When
+        BulkRuleResponse response = ruleService.importRules(1L, bundle);
+
+        // Then
+        assertEquals(5, response.getReceived());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getRejected().size());
+        assertEquals(3, response.getRejected().get(0).getIndex());
+        verify(ruleRepo, never()).findByUserIdAndPatternIgnoreCase(any(), anyString());
+        verify(ruleRepo).saveAll(argThat((List<CategoryRule> rules) -> rules.size() == 2));
+        verify(ruleMatchers, times(1)).invalidate(1L);
+        verify(recategorizationService, times(1)).requestRecategorization(1L);
+    }
+
+    @Test
+    void importRules_SamePatternUnderOtherPredicates_IsNotADuplicate() {
+        // Given: "swiggy" exists for amounts of 5000 and up
+        when(userRepo.existsById(1L)).thenReturn(true);
+        when(ruleRepo.findByUserId(1L)).thenReturn(List.of(CategoryRule.builder()
+            .pattern("swiggy").category("Catering").minAmount(new BigDecimal("5000.00")).build()));
+        CategoryRuleRequest sameBound = request("Swiggy", "Party");
+        sameBound.setMinAmount(new BigDecimal("5000"));
+        CategoryRuleRequest small = request("swiggy", "Snacks");
+        small.setMaxAmount(new BigDecimal("200"));
+        CategoryRuleRequest credits = request("swiggy", "Refunds");
+        credits.setDirection(TransactionDirection.CREDIT);
+        RuleBundle bundle = RuleBundle.builder().rules(List.of(
+            sameBound, small, credits, request("swiggy", "Food"))).build();
+
+        // When
+        BulkRuleResponse response = ruleService.importRules(1L, bundle);
+
+        // Then
+        assertEquals(3, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+    }
+
+    @Test
+    void importRules_RegexesDifferingOnlyInCase_AreDifferentRules() {
+        // Given: \d and \D mean opposite things
+        when(userRepo.existsById(1L)).thenReturn(true);
+        when(ruleRepo.findByUserId(1L)).thenReturn(List.of(
+            CategoryRule.builder().pattern("rent\\d+").category("Rent").build()));
+        RuleBundle bundle = RuleBundle.builder().rules(List.of(
+            request("rent\\D+", "Other"),
+            request("rent\\d+", "Rent")
+        )).build();
+
+        // When
+        BulkRuleResponse response = ruleService.importRules(1L, bundle);
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+    }
+
+    private static CategoryRuleRequest request(String pattern, String category) {
+        return CategoryRuleRequest.builder().pattern(pattern).category(category).build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class ContentHashTest {
+
+    @Test
+    void of_IgnoresCaseAndWhitespaceDifferences() {
+        String hash = ContentHash.of("Rs.450 debited from A/c XX1234 for Zomato", null);
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, ContentHash.of("  RS.450   debited from\ta/c XX1234 for ZOMATO \n", null));
+        assertEquals(hash, ContentHash.of("Rs.450 debited from A/c XX1234 for Zomato", " "));
+        assertNotEquals(hash, ContentHash.of("Rs.451 debited from A/c XX1234 for Zomato", null));
+    }
+
+    @Test
+    void of_SeparatesIdenticalTextsWithDifferentTimestamps() {
+        String text = "Rs.250 paid to ZOMATO via UPI";
+
+        assertNotEquals(ContentHash.of(text, "2025-01-30T09:15"), ContentHash.of(text, "2025-01-31T09:15"));
+        assertEquals(ContentHash.of(text, "2025-01-30T09:15"), ContentHash.of(text, " 2025-01-30T09:15 "));
+    }
+
+    @Test
+    void isDuplicate_OnlyForTheUniqueHashConstraint() {
+        // Given: how H2 and Postgres name the violated constraint, and an unrelated failure
+        DataIntegrityViolationException h2 = violation("PUBLIC.UK_TRANSACTIONS_USER_CONTENT_HASH_INDEX_F");
+        DataIntegrityViolationException postgres = violation("uk_transactions_user_content_hash");
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("value too long");
+
+        // When / Then
+        assertTrue(ContentHash.isDuplicate(h2));
+        assertTrue(ContentHash.isDuplicate(postgres));
+        assertFalse(ContentHash.isDuplicate(tooLong));
+        assertFalse(ContentHash.isDuplicate(violation("fk_transactions_user")));
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", new SQLException(), constraint));
+    }
+}
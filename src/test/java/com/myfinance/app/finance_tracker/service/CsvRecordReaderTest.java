@@ -0,0 +1,79 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFields_KeepCommasQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll(
+            "2025-01-30,\"Rs. 1,250 debited\",HDFC\r\n"
+                + "2025-01-31,\"Paid to \"\"Zomato\"\"\nRef 42\",\"\"\n"
+                + "plain,,\n");
+
+        assertEquals(List.of(
+            List.of("2025-01-30", "Rs. 1,250 debited", "HDFC"),
+            List.of("2025-01-31", "Paid to \"Zomato\"\nRef 42", ""),
+            List.of("plain", "", "")), records);
+    }
+
+    @Test
+    void bomAndLineEndings_AreHandled() throws IOException {
+        List<List<String>> records = readAll("\uFEFFa,b\rc,d\r\n\ne");
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of(""), List.of("e")), records);
+    }
+
+    @Test
+    void malformedQuoting_IsReadLeniently() throws IOException {
+        List<List<String>> records = readAll("ab\"c,\"quoted\"tail,\"never closed\nstill inside");
+
+        assertEquals(List.of(List.of("ab\"c", "quotedtail", "never closed\nstill inside")), records);
+    }
+
+    @Test
+    void records_SpanningBufferRefills_AreWhole() throws IOException {
+        // Given: a reader that hands out one character per read
+        String csv = "x,\"a\"\"b\"\r\ny,z\n";
+        Reader trickle = new StringReader(csv) {
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                return super.read(buf, off, Math.min(len, 1));
+            }
+        };
+
+        // When
+        List<List<String>> records = readAll(new CsvRecordReader(trickle));
+
+        // Then
+        assertEquals(List.of(List.of("x", "a\"b"), List.of("y", "z")), records);
+    }
+
+    @Test
+    void runawayField_IsCutOff() throws IOException {
+        List<List<String>> records = readAll("\"" + "x".repeat(CsvRecordReader.MAX_FIELD_CHARS * 2) + "\",next");
+
+        assertEquals(CsvRecordReader.MAX_FIELD_CHARS, records.get(0).get(0).length());
+        assertEquals("next", records.get(0).get(1));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        return readAll(new CsvRecordReader(new StringReader(csv)));
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        while (reader.readRecord(fields)) {
+            records.add(List.copyOf(fields));
+        }
+        return records;
+    }
+}
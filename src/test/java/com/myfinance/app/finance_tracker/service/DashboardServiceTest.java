@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -30,6 +31,9 @@ class DashboardServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private MerchantNormalizer merchantNormalizer = new MerchantNormalizer();
+
     @InjectMocks
     private DashboardServiceImpl dashboardService;
 
@@ -70,6 +74,7 @@ class DashboardServiceTest {
         assertEquals(2, result.getSpendingByCategory().size());
         assertEquals(new BigDecimal("100.50"), result.getSpendingByCategory().get("Food"));
         assertEquals(new BigDecimal("50.25"), result.getSpendingByCategory().get("Transport"));
+        assertEquals(new BigDecimal("50.25"), result.getSpendingByMerchant().get("Uber"));
     }
 
     @Test
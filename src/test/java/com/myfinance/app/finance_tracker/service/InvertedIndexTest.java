@@ -0,0 +1,81 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    @Test
+    void search_RequiresEveryTerm_AndRanksMerchantMatchesFirst() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "Rs.1200 debited for IRCTC ticket PNR 4521", "IRCTC");
+        index.put(2L, "Refund of Rs.1200 from IRCTC credited", "Bank");
+        index.put(3L, "Refund of Rs.300 from Swiggy credited", "Swiggy");
+
+        // When
+        InvertedIndex.Hits irctc = index.search("irctc", 0, 10);
+        InvertedIndex.Hits refund = index.search("IRCTC refund", 0, 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L), irctc.ids());
+        assertEquals(List.of(2L), refund.ids());
+        assertEquals(1, refund.total());
+    }
+
+    @Test
+    void search_MatchesTheLastTermAsAPrefix() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "Paid to Swiggy", "Swiggy");
+        index.put(2L, "Paid to Swiggy Instamart", "Swiggy Instamart");
+
+        // When / Then: too short for a prefix, then long enough
+        assertEquals(0, index.search("sw", 0, 10).total());
+        assertEquals(2, index.search("swi", 0, 10).total());
+        assertEquals(List.of(2L), index.search("swiggy insta", 0, 10).ids());
+    }
+
+    @Test
+    void putAndRemove_ReplaceTheOldText_AndCompact() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 500; id++) {
+            index.put(id, "UPI payment ref " + id, "Merchant " + id);
+        }
+
+        // When: most rows removed, one rewritten
+        for (long id = 1; id <= 400; id++) {
+            index.remove(id);
+        }
+        index.put(450L, "Refund received", "Merchant 450");
+
+        // Then
+        assertEquals(100, index.size());
+        assertEquals(99, index.search("upi", 0, 1000).total());
+        assertEquals(List.of(450L), index.search("refund", 0, 10).ids());
+        assertEquals(List.of(401L), index.search("401", 0, 10).ids());
+    }
+
+    @Test
+    void search_PagesThroughTheRankedHits() {
+        // Given: equal scores, so the higher id ranks first
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.put(id, "Salary credited", "Employer");
+        }
+
+        // When
+        InvertedIndex.Hits first = index.search("salary", 0, 10);
+        InvertedIndex.Hits last = index.search("salary", 20, 10);
+
+        // Then
+        assertEquals(25, first.total());
+        assertEquals(25L, (long) first.ids().get(0));
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), last.ids());
+        assertTrue(index.search("salary", 30, 10).ids().isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class KeywordCategoryMatcherTest {
+
+    private static final KeywordCategoryMatcher ENGINE = defaultDictionary();
+
+    private static final String[] FILLER = {
+        "Rs.", "450.00", "debited", "from", "A/c", "XX1234", "on", "30-07-2024", "at", "10:30", "AM", "for",
+        "UPI", "Ref", "ORDER*8812", "Avl", "Bal:", "-", "_x", "Ltd.", "ÉCOLE", "naïve", "card", "credit", "prime"
+    };
+    private static final String[] SEPARATORS = {" ", "  ", ".", ",", "-", "/", "*", "_", "\t", ""};
+
+    @Test
+    void match_AgreesWithLegacyRegexRules_OnHandPickedTexts() {
+        Map<Pattern, String> legacy = legacyRules();
+        String[] texts = {
+            "Rs. 1,250.00 debited from A/c XX1234 on 31-07-2025 at 14:30 for SWIGGY. Avl Bal: Rs. 45,678.90",
+            "ZOMATO*ORDER 8812",
+            "Paid to Amazon Prime Video",
+            "amazon  prime",
+            "AMAZONPRIME",
+            "Credit Card bill payment",
+            "credit-card",
+            "HP GAS booking",
+            "Samsung phone EMI",
+            "mutual fund SIP",
+            "mutual_fund",
+            "apple_store",
+            "Uber",
+            "uber's ride",
+            "coffee123",
+            "123 coffee",
+            "",
+            " ",
+            "nothing to see here",
+        };
+        for (String text : texts) {
+            assertEquals(legacyMatch(legacy, text), ENGINE.match(text), "text: " + text);
+        }
+    }
+
+    @Test
+    void match_AgreesWithLegacyRegexRules_ForEveryKeywordInContext() {
+        Map<Pattern, String> legacy = legacyRules();
+        for (KeywordCategoryMatcher.Keyword k : ENGINE.keywords()) {
+            String kw = k.keyword();
+            for (String text : List.of(kw, kw.toUpperCase(), "x" + kw, kw + "x", "1" + kw, kw + "_",
+                    "paid " + kw + ".", "(" + kw + ")", kw.replace(' ', '-'), kw.replace(" ", "  "),
+                    "Rs.10 for " + kw + " Avl Bal")) {
+                assertEquals(legacyMatch(legacy, text), ENGINE.match(text), "text: " + text);
+            }
+        }
+    }
+
+    @Test
+    void match_AgreesWithLegacyRegexRules_OnRandomTexts() {
+        Map<Pattern, String> legacy = legacyRules();
+        List<String> vocabulary = new ArrayList<>(List.of(FILLER));
+        ENGINE.keywords().forEach(k -> vocabulary.add(k.keyword()));
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 1 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                String word = vocabulary.get(random.nextInt(vocabulary.size()));
+                text.append(random.nextBoolean() ? word : word.toUpperCase());
+                text.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            }
+            String s = text.toString();
+            assertEquals(legacyMatch(legacy, s), ENGINE.match(s), "text: " + s);
+        }
+    }
+
+    @Test
+    void match_DuplicatedKeyword_KeepsFirstCategory() {
+        assertEquals("Travel & Transportation", ENGINE.match("gas"));
+        assertEquals("Utilities & Bills", ENGINE.match("phone"));
+    }
+
+    @Test
+    void match_PhraseAndSingleWord_UsesEarlierEntry() {
+        // "prime" is listed before "amazon prime"; "amazon" (Shopping) before both
+        assertEquals("Shopping & Retail", ENGINE.match("amazon prime"));
+        assertEquals("Entertainment & Streaming", ENGINE.match("prime membership"));
+        assertEquals("Banking & Finance", ENGINE.match("debit card"));
+        assertNull(ENGINE.match("debit"));
+    }
+
+    @Test
+    void match_LineBreaks_AreTreatedAsSeparators() {
+        assertEquals("Food & Dining", ENGINE.match("Paid\nzomato"));
+    }
+
+    private static KeywordCategoryMatcher defaultDictionary() {
+        try (InputStream in = KeywordCategoryMatcherTest.class.getResourceAsStream(
+                StaticCategoryDictionary.CLASSPATH_LOCATION)) {
+            return StaticCategoryDictionary.parse(new InputStreamReader(in, StandardCharsets.UTF_8)).matcher();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The pre-engine behaviour: one {@code .*\bkeyword\b.*} regex per entry, tried in order. */
+    private static Map<Pattern, String> legacyRules() {
+        Map<Pattern, String> rules = new LinkedHashMap<>();
+        for (KeywordCategoryMatcher.Keyword k : ENGINE.keywords()) {
+            rules.put(Pattern.compile(".*\\b" + k.keyword() + "\\b.*", Pattern.CASE_INSENSITIVE), k.category());
+        }
+        return rules;
+    }
+
+    private static String legacyMatch(Map<Pattern, String> rules, String text) {
+        for (Map.Entry<Pattern, String> e : rules.entrySet()) {
+            if (e.getKey().matcher(text).matches()) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+}
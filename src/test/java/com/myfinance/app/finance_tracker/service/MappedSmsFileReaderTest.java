@@ -0,0 +1,139 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+class MappedSmsFileReaderTest {
+
+    private ForkJoinPool pool;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = Files.createTempFile("sms-mapped-", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void text_MatchesASequentialReadAcrossWindowsAndPieces() throws IOException {
+        // Given: ~300 KB of multi-byte text with CRLF endings, read in 150 KB windows
+        StringBuilder content = new StringBuilder("\uFEFF");
+        for (int i = 0; i < 6000; i++) {
+            content.append(i % 50 == 0 ? "# comment" : "2025-01-30 09:15|HDFC|₹" + i + " debited at Café " + i)
+                .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        // When / Then
+        assertSameAsSequential(content.toString(), SmsFileReader.Format.TEXT, 150 * 1024);
+    }
+
+    @Test
+    void csv_SkipsOnlyTheFileHeader() throws IOException {
+        // Given: tiny windows, so every few lines start a new window
+        StringBuilder content = new StringBuilder("timestamp,message\n");
+        for (int i = 0; i < 500; i++) {
+            content.append("2025-01-30,Rs.").append(i).append(" debited\n");
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        // When
+        List<SmsMessage> messages = readMapped(SmsFileReader.Format.CSV, 100);
+
+        // Then
+        assertEquals(500, messages.size());
+        assertEquals("Rs.0 debited", messages.get(0).getText());
+        assertEquals("Rs.499 debited", messages.get(499).getText());
+    }
+
+    @Test
+    void whatsApp_CutsOnlyBeforeEntries() throws IOException {
+        // Given: multi-line messages, some continuation lines starting with digits
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 12000; i++) {
+            content.append(String.format("[%02d/07/24, 10:%02d] Bank: Rs.%d debited%n", i % 28 + 1, i % 60, i));
+            if (i % 4 == 0) {
+                content.append("from A/c XX1234\n").append(i).append(" UPI ref: 42\n");
+            }
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        // When / Then: windows and pieces far smaller than the file
+        assertSameAsSequential(content.toString(), SmsFileReader.Format.WHATSAPP, 200 * 1024);
+    }
+
+    @Test
+    void whatsApp_MonthFirstExport_ReadsDatesAlikeInEveryPiece() throws IOException {
+        // Given: a US (M/d/yy) export; most pieces start on a date that is valid either way round
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 12000; i++) {
+            content.append(String.format("%d/%d/24, %d:%02d PM - Bank: Rs.%d debited%n",
+                i / 1000 + 1, i % 28 + 1, i % 12 + 1, i % 60, i));
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        // When
+        List<SmsMessage> messages = readMapped(SmsFileReader.Format.WHATSAPP, 200 * 1024);
+
+        // Then
+        assertEquals("2024-01-01T13:00", messages.get(0).getTimestamp());
+        assertEquals("2024-12-16T12:59", messages.get(11999).getTimestamp());
+        assertSameAsSequential(content.toString(), SmsFileReader.Format.WHATSAPP, 200 * 1024);
+    }
+
+    @Test
+    void lineLongerThanTheWindow_IsKeptWhole() throws IOException {
+        // Given
+        String longLine = "x".repeat(5000);
+        Files.writeString(file, "first\n" + longLine + "\nlast", StandardCharsets.UTF_8);
+
+        // When
+        List<SmsMessage> messages = readMapped(SmsFileReader.Format.TEXT, 1000);
+
+        // Then
+        assertEquals(3, messages.size());
+        assertEquals(longLine, messages.get(1).getText());
+        assertEquals("last", messages.get(2).getText());
+    }
+
+    private void assertSameAsSequential(String content, SmsFileReader.Format format, int windowBytes)
+            throws IOException {
+        List<SmsMessage> expected = new ArrayList<>();
+        new SmsFileReader(new BufferedReader(new StringReader(content)), format).forEachRemaining(expected::add);
+        List<SmsMessage> actual = readMapped(format, windowBytes);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getText(), actual.get(i).getText());
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+        }
+    }
+
+    private List<SmsMessage> readMapped(SmsFileReader.Format format, int windowBytes) throws IOException {
+        List<SmsMessage> messages = new ArrayList<>();
+        try (MappedSmsFileReader reader = new MappedSmsFileReader(file, format, pool, windowBytes)) {
+            reader.forEachRemaining(messages::add);
+        }
+        return messages;
+    }
+}
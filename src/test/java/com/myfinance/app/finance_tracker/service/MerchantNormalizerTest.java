@@ -0,0 +1,35 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class MerchantNormalizerTest {
+
+    private final MerchantNormalizer normalizer = new MerchantNormalizer();
+
+    @Test
+    void normalize_FoldsKnownMerchantVariants() {
+        assertEquals("Zomato", normalizer.normalize("ZOMATO*ORDER 8812"));
+        assertEquals("Zomato", normalizer.normalize("Zomato Ltd"));
+        assertEquals("Zomato", normalizer.normalize("zomato.com"));
+        assertEquals("Zomato", normalizer.normalize("Zomato payment"));
+        assertEquals("McDonald's", normalizer.normalize("McDonald's Connaught Place"));
+        assertEquals("Uber", normalizer.normalize("UPI-UBER INDIA SYSTEMS"));
+    }
+
+    @Test
+    void normalize_PrefersLongestAlias() {
+        assertEquals("Amazon Prime", normalizer.normalize("Amazon Prime Video"));
+        assertEquals("Amazon", normalizer.normalize("AMAZON PAY INDIA PVT LTD"));
+        assertEquals("Amazon", normalizer.normalize("amazon.in"));
+    }
+
+    @Test
+    void normalize_UnknownMerchant_UsesCleanedWords() {
+        assertEquals("Sharma General Store", normalizer.normalize("SHARMA GENERAL STORE PVT LTD 0042"));
+        assertEquals("Petrol Pump", normalizer.normalize("Petrol pump"));
+        assertNull(normalizer.normalize("*** 12345"));
+        assertNull(normalizer.normalize(null));
+    }
+}
@@ -0,0 +1,214 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.dto.RecategorizationStatusResponse;
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+/**
+ * {@link RecategorizationServiceImpl} against H2, on its own executor thread,
+ * so every chunk really commits. The rules are a stub: merchants containing
+ * "Uber" go to the current {@link #travel} category, the rest to "Food".
+ */
+@ExtendWith(MockitoExtension.class)
+class RecategorizationServiceImplTest {
+
+    private static final long USER = 1L;
+    private static final long OTHER = 2L;
+
+    @Mock
+    private CategoryResolverService categoryResolver;
+
+    private final AtomicReference<String> travel = new AtomicReference<>("Travel");
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor executor;
+    private RecategorizationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName(UUID.randomUUID().toString())
+            .build();
+        jdbcTemplate = spy(new JdbcTemplate(database));
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " user_id BIGINT NOT NULL, merchant VARCHAR(100), raw_text VARCHAR(1000), amount DECIMAL(13, 2),"
+            + " origin VARCHAR(20), currency VARCHAR(3), category VARCHAR(50), updated_at TIMESTAMP)");
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        executor.initialize();
+
+        service = new RecategorizationServiceImpl(jdbcTemplate, new DataSourceTransactionManager(database),
+            categoryResolver, executor);
+        ReflectionTestUtils.setField(service, "chunkSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    void recategorize_WalksTheUsersRowsByIdKeyset_AndBatchesEachChunksChanges() throws InterruptedException {
+        // Given: ten rows of the user's, interleaved with another user's, four of them miscategorized
+        stubRules();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            boolean stale = i == 0 || i == 1 || i == 7 || i == 9;
+            ids.add(insert(USER, stale ? "Uber" : "Swiggy", "Food"));
+            insert(OTHER, "Uber", "Food");
+        }
+
+        // When
+        service.requestRecategorization(USER);
+        RecategorizationStatusResponse status = awaitCompletion();
+
+        // Then: chunks of 3 each start past the previous chunk's last id
+        assertEquals(10, status.getScanned());
+        assertEquals(4, status.getUpdated());
+        assertEquals(4, status.getChunks());
+        for (long lastId : new long[] {0L, ids.get(2), ids.get(5), ids.get(8), ids.get(9)}) {
+            verify(jdbcTemplate).query(contains("id > ? ORDER BY id LIMIT ?"), any(RowMapper.class),
+                eq(USER), eq(lastId), eq(3));
+        }
+        // And: one batch for each of the three chunks with a change, none for the unchanged one
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        assertEquals(4, count(USER, "Travel"));
+        assertEquals(6, count(USER, "Food"));
+        assertEquals(10, count(OTHER, "Food"));
+    }
+
+    @Test
+    void requestsWhileAPassRuns_AreCoalescedIntoOneMorePass() throws InterruptedException {
+        // Given: a pass held inside its first resolution
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(categoryResolver.resolveCategory(anyLong(), any(Transaction.class))).thenAnswer(inv -> {
+            if (calls.getAndIncrement() == 0) {
+                entered.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return category(inv.getArgument(1));
+        });
+        for (int i = 0; i < 4; i++) {
+            insert(USER, "Uber", "Food");
+        }
+        service.requestRecategorization(USER);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // When
+        service.requestRecategorization(USER);
+        service.requestRecategorization(USER);
+        service.requestRecategorization(USER);
+        release.countDown();
+        RecategorizationStatusResponse status = awaitCompletion();
+
+        // Then: two passes in all, not four
+        assertEquals(8, status.getScanned());
+        assertEquals(4, status.getUpdated());
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq(USER), eq(0L), eq(3));
+        assertEquals(4, count(USER, "Travel"));
+    }
+
+    @Test
+    void ruleChangedMidPass_ReachesRowsTheFirstPassHadAlreadyScanned() throws InterruptedException {
+        // Given: rows already in the category the rules give
+        for (int i = 0; i < 6; i++) {
+            insert(USER, "Uber", "Travel");
+        }
+        AtomicInteger calls = new AtomicInteger();
+        when(categoryResolver.resolveCategory(anyLong(), any(Transaction.class))).thenAnswer(inv -> {
+            if (calls.incrementAndGet() == 4) {
+                // When: the rule is edited while the pass is in its second chunk
+                travel.set("Commute");
+                service.requestRecategorization(USER);
+            }
+            return category(inv.getArgument(1));
+        });
+
+        service.requestRecategorization(USER);
+        RecategorizationStatusResponse status = awaitCompletion();
+
+        // Then: the rerun moved the first chunk too
+        assertEquals(12, status.getScanned());
+        assertEquals(6, status.getUpdated());
+        assertEquals(6, count(USER, "Commute"));
+    }
+
+    private void stubRules() {
+        when(categoryResolver.resolveCategory(anyLong(), any(Transaction.class)))
+            .thenAnswer(inv -> category(inv.getArgument(1)));
+    }
+
+    private String category(Transaction transaction) {
+        return transaction.getMerchant().contains("Uber") ? travel.get() : "Food";
+    }
+
+    private long insert(long userId, String merchant, String category) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, merchant, amount, origin, currency, category)"
+            + " VALUES (?, ?, -100.00, 'SMS', 'INR', ?)", userId, merchant, category);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+    }
+
+    private int count(long userId, String category) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ? AND category = ?",
+            Integer.class, userId, category);
+    }
+
+    private RecategorizationStatusResponse awaitCompletion() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            RecategorizationStatusResponse status = service.getStatus(USER);
+            if (status.getState().equals("COMPLETED")) {
+                return status;
+            }
+            if (status.getState().equals("FAILED")) {
+                fail("Recategorization failed: " + status.getError());
+            }
+            Thread.sleep(10);
+        }
+        return fail("Recategorization did not finish");
+    }
+}
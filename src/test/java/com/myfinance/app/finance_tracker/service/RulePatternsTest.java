@@ -0,0 +1,57 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.exception.InvalidPatternException;
+
+class RulePatternsTest {
+
+    @Test
+    void simplify_StripsUnanchoredWildcards() {
+        assertEquals("swiggy", RulePatterns.simplify(".*swiggy.*"));
+        assertEquals("a\\.*", RulePatterns.simplify("a\\.*"));
+        assertEquals(".*", RulePatterns.simplify(".*"));
+    }
+
+    @Test
+    void normalize_LowerCasesSubstringsButNotRegexes() {
+        assertEquals("amazon.in", RulePatterns.normalize("Amazon.IN"));
+        assertEquals("UPI/\\D+", RulePatterns.normalize("UPI/\\D+"));
+    }
+
+    @Test
+    void isRegex_IgnoresLoneDots() {
+        assertFalse(RulePatterns.isRegex("amazon.in"));
+        assertTrue(RulePatterns.isRegex("uber|ola"));
+        assertTrue(RulePatterns.isRegex("upi/\\d+"));
+    }
+
+    @Test
+    void validate_AcceptsOrdinaryRegexes() {
+        assertDoesNotThrow(() -> RulePatterns.validate(".*swiggy.*"));
+        assertDoesNotThrow(() -> RulePatterns.validate("upi/p2m/\\d+/zomato"));
+        assertDoesNotThrow(() -> RulePatterns.validate("(uber|ola) ?rides?"));
+        assertDoesNotThrow(() -> RulePatterns.validate("amazon.in"));
+    }
+
+    @Test
+    void validate_RejectsBrokenOrExplosivePatterns() {
+        assertThrows(InvalidPatternException.class, () -> RulePatterns.validate("[unclosed"));
+        assertThrows(InvalidPatternException.class, () -> RulePatterns.validate("cafe (main"));
+        assertThrows(InvalidPatternException.class, () -> RulePatterns.validate("(a+)+$"));
+        assertThrows(InvalidPatternException.class, () -> RulePatterns.validate("(\\w+\\s?)*x"));
+        assertThrows(InvalidPatternException.class, () -> RulePatterns.validate("(a)\\1"));
+    }
+
+    @Test
+    void find_GivesUpOnRunawayBacktracking() {
+        var explosive = RulePatterns.compile("(a|aa)*c");
+        assertFalse(RulePatterns.find(explosive, "a".repeat(64)));
+        assertTrue(RulePatterns.find(RulePatterns.compile("zom.to"), "Paid ZOMATO"));
+    }
+}
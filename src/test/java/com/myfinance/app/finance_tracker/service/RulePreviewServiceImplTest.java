@@ -0,0 +1,158 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.dto.CategoryRuleRequest;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse.CategoryChange;
+import com.myfinance.app.finance_tracker.dto.RulePreviewResponse.Sample;
+import com.myfinance.app.finance_tracker.model.CategoryRule;
+
+/**
+ * {@link RulePreviewServiceImpl} streaming an embedded H2 table shaped like
+ * the columns the preview reads.
+ */
+@ExtendWith(MockitoExtension.class)
+class RulePreviewServiceImplTest {
+
+    private static final long USER = 1L;
+    private static final long OTHER = 2L;
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Mock
+    private UserRuleMatcherCache ruleMatchers;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private RulePreviewServiceImpl previewService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName(UUID.randomUUID().toString())
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " user_id BIGINT NOT NULL, merchant VARCHAR(100), raw_text VARCHAR(1000), amount DECIMAL(13, 2),"
+            + " origin VARCHAR(20), currency VARCHAR(3), category VARCHAR(50), transaction_time TIMESTAMP)");
+        previewService = new RulePreviewServiceImpl(jdbcTemplate, ruleMatchers);
+        ReflectionTestUtils.setField(previewService, "sampleSize", 2);
+        ReflectionTestUtils.setField(previewService, "fetchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void previewRule_CountsChangedAndShadowedRows_AndGroupsChangesByCurrentCategory() {
+        // Given: an existing rule that claims Uber Eats before any new rule could
+        existingRules(rule("uber eats", "Food"));
+        insert(USER, "Uber", "Trip to airport", "Food");
+        insert(USER, "Uber", "Trip home", "Shopping");
+        insert(USER, "Uber", "Trip to office", "Food");
+        insert(USER, "Uber", "Trip to station", "Travel");
+        insert(USER, "Uber Eats", "Dinner", "Food");
+        insert(USER, "Swiggy", "Lunch", "Food");
+        insert(OTHER, "Uber", "Trip", "Food");
+
+        // When
+        RulePreviewResponse preview = previewService.previewRule(USER, request("uber", "Travel"));
+
+        // Then: the row already in Travel matches but does not change
+        assertEquals(6, preview.getScanned());
+        assertEquals(5, preview.getMatched());
+        assertEquals(1, preview.getShadowed());
+        assertEquals(3, preview.getChanged());
+        List<CategoryChange> changes = preview.getChanges();
+        assertEquals(2, changes.size());
+        assertEquals("Food", changes.get(0).getFrom());
+        assertEquals("Travel", changes.get(0).getTo());
+        assertEquals(2, changes.get(0).getCount());
+        assertEquals("Shopping", changes.get(1).getFrom());
+        assertEquals(1, changes.get(1).getCount());
+    }
+
+    @Test
+    void previewRule_SamplesTheNewestChangesUpToTheSampleSize() {
+        // Given
+        existingRules();
+        long newest = 0L;
+        long second = 0L;
+        for (int i = 0; i < 5; i++) {
+            second = newest;
+            newest = insert(USER, "Uber", "Trip " + i, "Food");
+        }
+
+        // When
+        RulePreviewResponse preview = previewService.previewRule(USER, request("uber", "Travel"));
+
+        // Then: every change is counted, only two are sampled
+        assertEquals(5, preview.getChanged());
+        List<Sample> samples = preview.getSamples();
+        assertEquals(List.of(newest, second), samples.stream().map(Sample::getId).toList());
+        assertEquals("Food", samples.get(0).getCurrentCategory());
+        assertEquals("Travel", samples.get(0).getNewCategory());
+        assertEquals("Trip 4", samples.get(0).getRawText());
+        assertEquals(NOON.plusMinutes(4), samples.get(0).getTransactionTime());
+    }
+
+    @Test
+    void previewRule_DuplicateOfAnExistingRule_IsAllShadowed() {
+        // Given
+        existingRules(rule("uber", "Travel"));
+        insert(USER, "Uber", "Trip", "Food");
+        insert(USER, "Uber", "Trip", "Travel");
+        insert(USER, "Swiggy", "Lunch", "Food");
+
+        // When
+        RulePreviewResponse preview = previewService.previewRule(USER, request("UBER", "Travel"));
+
+        // Then
+        assertEquals(3, preview.getScanned());
+        assertEquals(2, preview.getMatched());
+        assertEquals(2, preview.getShadowed());
+        assertEquals(0, preview.getChanged());
+        assertTrue(preview.getChanges().isEmpty());
+        assertTrue(preview.getSamples().isEmpty());
+    }
+
+    private void existingRules(CategoryRule... rules) {
+        when(ruleMatchers.forUser(USER)).thenReturn(UserRuleMatcher.compile(List.of(rules), 1L));
+    }
+
+    private long insert(long userId, String merchant, String rawText, String category) {
+        long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        jdbcTemplate.update("INSERT INTO transactions (user_id, merchant, raw_text, amount, origin, currency,"
+            + " category, transaction_time) VALUES (?, ?, ?, -100.00, 'SMS', 'INR', ?, ?)",
+            userId, merchant, rawText, category, NOON.plusMinutes(count));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+    }
+
+    private static CategoryRuleRequest request(String pattern, String category) {
+        return CategoryRuleRequest.builder().pattern(pattern).category(category).build();
+    }
+
+    private static CategoryRule rule(String pattern, String category) {
+        return CategoryRule.builder().pattern(pattern).category(category).build();
+    }
+}
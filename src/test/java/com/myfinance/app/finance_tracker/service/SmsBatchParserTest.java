@@ -0,0 +1,109 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SmsBatchParserTest {
+
+    @Mock
+    private CategoryResolverService categoryResolver;
+
+    @Mock
+    private UserRuleMatcherCache ruleMatchers;
+
+    private ThreadPoolTaskExecutor executor;
+    private SmsBatchParser batchParser;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(3);
+        executor.initialize();
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        SmsParser smsParser = new SmsParser(new SmsTemplateRegistry(meters, SmsTemplateRegistry.BUILT_IN),
+            new SmsFastScanner());
+        batchParser = new SmsBatchParser(smsParser, new MerchantNormalizer(), categoryResolver, ruleMatchers,
+            executor, meters);
+        ReflectionTestUtils.setField(batchParser, "sliceSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void parse_KeepsInputOrderAcrossSlices() {
+        // Given: seven messages over four slices, every third one unparseable
+        when(categoryResolver.resolveCategory(eq(1L), any(Transaction.class))).thenReturn("Food & Dining");
+        List<SmsMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            messages.add(message(i % 3 == 2
+                ? "Your OTP is " + i
+                : "Rs." + (i + 1) + " debited from A/c XX1234 on 30-01-2025 at 09:15 AM for Shop " + i + "."));
+        }
+
+        // When
+        List<SmsBatchParser.Parsed> parsed = batchParser.parse(1L, messages);
+
+        // Then
+        assertEquals(7, parsed.size());
+        for (int i = 0; i < 7; i++) {
+            SmsBatchParser.Parsed p = parsed.get(i);
+            if (i % 3 == 2) {
+                assertFalse(p.ok());
+                assertEquals("Unable to parse SMS", p.error());
+            } else {
+                assertTrue(p.ok());
+                assertEquals("Shop " + i, p.transaction().getMerchant());
+                assertEquals("Food & Dining", p.transaction().getCategory());
+                assertEquals(64, p.transaction().getContentHash().length());
+            }
+        }
+        verify(ruleMatchers, times(1)).forUser(1L);
+    }
+
+    @Test
+    void parse_ReportsResolverFailuresPerMessage() {
+        // Given
+        when(categoryResolver.resolveCategory(eq(1L), any(Transaction.class)))
+            .thenThrow(new IllegalStateException("resolver down"));
+
+        // When
+        List<SmsBatchParser.Parsed> parsed = batchParser.parse(1L,
+            List.of(message("Rs.5 credited to A/c XX1234 on 30-01-2025 at 09:15 AM for Refund.")));
+
+        // Then
+        assertFalse(parsed.get(0).ok());
+        assertEquals("resolver down", parsed.get(0).error());
+    }
+
+    private static SmsMessage message(String text) {
+        return SmsMessage.builder().text(text).build();
+    }
+}
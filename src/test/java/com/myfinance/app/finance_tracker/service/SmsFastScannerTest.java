@@ -0,0 +1,131 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SmsFastScannerTest {
+
+    private final SmsFastScanner scanner = new SmsFastScanner();
+    private final SmsTemplate generic = SmsTemplateRegistry.BUILT_IN.get(0);
+
+    @Test
+    void scan_ReadsAmountDirectionDateTimeAndMerchant() {
+        SmsFastScanner.Scan scan = scanner.scan(
+            "Rs. 1,250.5 debited from A/c XX1234 on 31-07-2025 at 02:30 PM for SWIGGY. Avl Bal: Rs. 45,678.90");
+
+        assertNotNull(scan);
+        assertEquals(125050L, scan.paise());
+        assertEquals(new BigDecimal("1250.5"), scan.amount());
+        assertTrue(scan.debit());
+        assertEquals(LocalDate.of(2025, 7, 31), LocalDate.of(scan.year(), scan.month(), scan.day()));
+        assertEquals(14 * 60 + 30, scan.minuteOfDay());
+        assertEquals("SWIGGY", scan.merchant());
+    }
+
+    @Test
+    void scan_AgreesWithGenericTemplate_OnSampleFiles() throws Exception {
+        List<String> messages = new ArrayList<>(Files.readAllLines(Path.of("sample_sms.txt"), StandardCharsets.UTF_8));
+        for (String line : Files.readAllLines(Path.of("sample_sms_messages.txt"), StandardCharsets.UTF_8)) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                messages.add(line.substring(line.indexOf('|', line.indexOf('|') + 1) + 1));
+            }
+        }
+
+        int scanned = 0;
+        for (String sms : messages) {
+            if (assertAgrees(sms)) {
+                scanned++;
+            }
+        }
+        assertTrue(scanned > 10, "fast path should take the sample messages");
+    }
+
+    @Test
+    void scan_AgreesWithGenericTemplate_OnEdgeCases() {
+        List<String> messages = List.of(
+            "Rs.100 debited from A/c XX1234 on 30-07-24 at 10:30 AM. Avl Bal: Rs.5000.00",
+            "rs 7 CREDITED TO a/c 1 ON 01-01-2024 AT 9:05pm FOR Refund",
+            "Rs.5 credited to A/c X on 01-01-2024 at 12:00 AM for Midnight Cafe",
+            "Rs.5 credited to A/c X on 01-01-2024 at 23:59 for Late Snacks",
+            "Rs.5 credited to A/c X on 01-01-2024 at 25:10 PM for Bad Clock",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for  Two Spaces  Avl Bal 10",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for \u2003Em Space\u2003.",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for .",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for X\nY",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for ",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30 for  ",
+            "Rs.5 credited to A/c X on 01-01-2024 at 10:30AMfor Nobody",
+            "Rs.5 credited to A/c X on 30-02-2024 at 10:30 for Leap",
+            "Rs.5 credited to A/c X on 29-02-2023 at 10:30 for Leap",
+            "Rs.5 credited to A/c X on 29-02-2024 at 10:30 for Leap",
+            "Rs.5 credited to A/c X on 01-13-2024 at 10:30",
+            "Rs.5 credited to A/c X on 01-01-0000 at 10:30",
+            "Rs.5 credited to A/c X on 01-01-202 at 10:30",
+            "Rs.5.123 credited to A/c X on 01-01-2024 at 10:30",
+            "Rs.5. credited to A/c X on 01-01-2024 at 10:30",
+            "Rs.99999999999999999 credited to A/c X on 01-01-2024 at 10:30",
+            "Rs..5 credited to A/c X on 01-01-2024 at 10:30",
+            "Rs  5 credited to A/c X on 01-01-2024 at 10:30",
+            "Card Rs.9 spent. Rs.5 debited\tfrom A/c X_1 on 01-01-2024 at 1:07 for Second Attempt",
+            "Rs.5 credited to A/c X on 01-01-2024 at 123:45",
+            "Your OTP is 123456");
+        for (String sms : messages) {
+            assertAgrees(sms);
+        }
+    }
+
+    @Test
+    void parse_UsesFastPath_AndStillCountsGenericHits() {
+        // Given
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        SmsParser parser = new SmsParser(new SmsTemplateRegistry(meters, SmsTemplateRegistry.BUILT_IN), scanner);
+
+        // When
+        var txn = parser.parse("Rs.75.50 debited from A/c XX1234 on 30-07-24 at 01:30 PM for Cafe.", 1L).orElseThrow();
+
+        // Then
+        assertEquals(new BigDecimal("-75.50"), txn.getAmount());
+        assertEquals("Cafe", txn.getMerchant());
+        assertEquals(LocalDate.of(2024, 7, 30).atTime(13, 30), txn.getTransactionTime());
+        assertEquals(1.0, meters.get("sms.template.hits").tag("template", "generic").counter().count());
+    }
+
+    /** True if the fast path took the message; either way its answer must match the template's. */
+    private boolean assertAgrees(String sms) {
+        SmsFastScanner.Scan scan = scanner.scan(sms);
+        Optional<SmsTemplate.Match> expected = generic.match(sms);
+        if (scan == null) {
+            // Declining is always safe: the registry still parses it.
+            return false;
+        }
+        assertTrue(expected.isPresent(), () -> "scanner accepted a non-generic message: " + sms);
+        SmsTemplate.Match m = expected.get();
+        assertEquals(m.amount(), scan.amount(), sms);
+        assertEquals(m.direction() == TransactionDirection.DEBIT, scan.debit(), sms);
+        assertEquals(m.date(), LocalDate.of(scan.year(), scan.month(), scan.day()), sms);
+        if (scan.minuteOfDay() < 0) {
+            assertNull(m.time(), sms);
+        } else {
+            assertEquals(m.time(), LocalTime.of(scan.minuteOfDay() / 60, scan.minuteOfDay() % 60), sms);
+        }
+        assertEquals(m.merchant(), scan.merchant(), sms);
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+class SmsFileReaderTest {
+
+    @Test
+    void text_SkipsCommentsAndBlanks_AndKeepsPlainLines() {
+        List<SmsMessage> messages = read(SmsFileReader.Format.TEXT,
+            "# exported\n\n2025-01-30 09:15|HDFCBK| Rs.450 debited \nRs.20 credited\n");
+
+        assertEquals(2, messages.size());
+        assertEquals("Rs.450 debited", messages.get(0).getText());
+        assertEquals("2025-01-30 09:15", messages.get(0).getTimestamp());
+        assertEquals("Rs.20 credited", messages.get(1).getText());
+        assertNull(messages.get(1).getTimestamp());
+    }
+
+    @Test
+    void csv_SkipsHeaderAndLinesWithoutText() {
+        List<SmsMessage> messages = read(SmsFileReader.Format.CSV,
+            "timestamp,message\n2025-01-30,Rs.450 debited, at Zomato\nbroken\n");
+
+        assertEquals(1, messages.size());
+        assertEquals("Rs.450 debited, at Zomato", messages.get(0).getText());
+        assertEquals("2025-01-30", messages.get(0).getTimestamp());
+    }
+
+    @Test
+    void csv_MapsColumnsByHeaderName_InAnyOrder() {
+        List<SmsMessage> messages = read(SmsFileReader.Format.CSV,
+            "Sender,Message Text,Received_At\nHDFC,\"Rs. 1,250 debited\nat Zomato\",2025-01-30 09:15\nAXIS,,\n");
+
+        assertEquals(1, messages.size());
+        assertEquals("Rs. 1,250 debited\nat Zomato", messages.get(0).getText());
+        assertEquals("2025-01-30 09:15", messages.get(0).getTimestamp());
+    }
+
+    @Test
+    void open_DecodesByByteOrderMark() throws IOException {
+        byte[] utf16 = "\uFEFFtimestamp,message\n2025-01-30,₹450 debited\n".getBytes(StandardCharsets.UTF_16LE);
+
+        List<SmsMessage> messages = new ArrayList<>();
+        new SmsFileReader(SmsFileReader.open(new ByteArrayInputStream(utf16), StandardCharsets.ISO_8859_1),
+            SmsFileReader.Format.CSV).forEachRemaining(messages::add);
+
+        assertEquals(1, messages.size());
+        assertEquals("₹450 debited", messages.get(0).getText());
+        assertEquals("2025-01-30", messages.get(0).getTimestamp());
+    }
+
+    @Test
+    void whatsApp_JoinsContinuationLines_AndDropsBadDates() {
+        List<SmsMessage> messages = read(SmsFileReader.Format.WHATSAPP,
+            "[30/01/25, 09:15] Bank: Rs.450 debited\ncontinued text\n[31/13/25, 09:15] Bank: bad date\nignored\n");
+
+        assertEquals(1, messages.size());
+        assertEquals("Rs.450 debited\ncontinued text", messages.get(0).getText());
+        assertEquals("2025-01-30T09:15", messages.get(0).getTimestamp());
+    }
+
+    @Test
+    void reads_OnlyAsFarAsAsked() {
+        // Given: a reader that fails past the first line
+        Reader failing = new Reader() {
+            private final Reader first = new StringReader("Rs.450 debited\n");
+
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                int n = first.read(buf, off, len);
+                if (n < 0) {
+                    throw new IOException("connection reset");
+                }
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        SmsFileReader reader = new SmsFileReader(new BufferedReader(failing), SmsFileReader.Format.TEXT);
+
+        // When / Then
+        assertTrue(reader.hasNext());
+        assertEquals("Rs.450 debited", reader.next().getText());
+        assertThrows(UncheckedIOException.class, reader::hasNext);
+    }
+
+    @Test
+    void emptyFile_HasNoMessages() {
+        assertFalse(new SmsFileReader(new BufferedReader(new StringReader("")), SmsFileReader.Format.CSV).hasNext());
+    }
+
+    private static List<SmsMessage> read(SmsFileReader.Format format, String content) {
+        List<SmsMessage> messages = new ArrayList<>();
+        new SmsFileReader(new BufferedReader(new StringReader(content)), format).forEachRemaining(messages::add);
+        return messages;
+    }
+}
@@ -0,0 +1,186 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.ChunkTiming;
+import com.myfinance.app.finance_tracker.dto.SmsIngestProgress;
+import com.myfinance.app.finance_tracker.exception.IngestionQueueFullException;
+import com.myfinance.app.finance_tracker.model.SmsIngestionJob;
+import com.myfinance.app.finance_tracker.model.SmsIngestionJobStatus;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.SmsIngestionJobRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SmsIngestionJobServiceImplTest {
+
+    @Mock
+    private SmsIngestionJobRepository jobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SmsIngestionService ingestionService;
+
+    @TempDir
+    Path spoolDir;
+
+    private ThreadPoolTaskExecutor executor;
+    private SmsIngestionJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        executor.initialize();
+        UploadDecompressor decompressor = new UploadDecompressor();
+        ReflectionTestUtils.setField(decompressor, "maxInflatedBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(decompressor, "maxInflationRatio", 100);
+        jobService = new SmsIngestionJobServiceImpl(jobRepository, userRepository, ingestionService, executor,
+            decompressor);
+        ReflectionTestUtils.setField(jobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(jobService, "retryAfterSeconds", 30);
+        ReflectionTestUtils.setField(jobService, "nodeId", "node-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_WhenPoolAndQueueAreFull_IsRefusedBeforeSpooling() throws Exception {
+        // Given: the only worker is busy and there is no queue
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        // When
+        IngestionQueueFullException e = assertThrows(IngestionQueueFullException.class, () -> jobService.submit(
+            1L, SmsFileReader.Format.TEXT, "sms.txt", new ByteArrayInputStream(new byte[0])));
+        release.countDown();
+
+        // Then
+        assertEquals(30, e.getRetryAfterSeconds());
+        verify(jobRepository, never()).save(any());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void resumeUnfinished_SkipsCommittedMessages_AndCompletesTheJob() throws Exception {
+        // Given: a job cut off after its first message was committed
+        Path spool = spoolDir.resolve("upload.txt");
+        Files.writeString(spool, "first\nsecond\nthird\n", StandardCharsets.UTF_8);
+        User user = new User();
+        user.setId(1L);
+        SmsIngestionJob job = SmsIngestionJob.builder()
+            .id(7L)
+            .user(user)
+            .format(SmsFileReader.Format.TEXT)
+            .status(SmsIngestionJobStatus.RUNNING)
+            .spoolPath(spool.toString())
+            .owner("node-1")
+            .fileSize(Files.size(spool))
+            .processed(1)
+            .succeeded(1)
+            .chunks(1)
+            .build();
+        when(jobRepository.findByStatusInOrderByIdAsc(any())).thenReturn(List.of(job));
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        List<String> ingested = new ArrayList<>();
+        when(ingestionService.ingest(eq(1L), ArgumentMatchers.<Iterator<SmsMessage>>any(), any())).thenAnswer(inv -> {
+            Iterator<SmsMessage> messages = inv.getArgument(1);
+            messages.forEachRemaining(m -> ingested.add(m.getText()));
+            Consumer<SmsIngestProgress> listener = inv.getArgument(2);
+            listener.accept(SmsIngestProgress.builder()
+                .totalProcessed(2)
+                .successfulTransactions(1)
+                .duplicateTransactions(1)
+                .chunk(ChunkTiming.builder().index(0).build())
+                .build());
+            return SmsIngestProgress.builder().done(true).build();
+        });
+
+        // When
+        jobService.resumeUnfinished();
+        executor.shutdown();
+
+        // Then
+        assertEquals(List.of("second", "third"), ingested);
+        assertEquals(SmsIngestionJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessed());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(1, job.getDuplicates());
+        assertEquals(2, job.getChunks());
+        assertNotNull(job.getFinishedAt());
+        assertFalse(Files.exists(spool));
+    }
+
+    @Test
+    void resumeUnfinished_LeavesOtherNodesJobsAlone() throws Exception {
+        // Given: a running job that another node spooled and is working on
+        Path spool = spoolDir.resolve("upload.txt");
+        Files.writeString(spool, "first\n", StandardCharsets.UTF_8);
+        SmsIngestionJob job = SmsIngestionJob.builder()
+            .id(8L)
+            .status(SmsIngestionJobStatus.RUNNING)
+            .spoolPath(spool.toString())
+            .owner("node-2")
+            .build();
+        when(jobRepository.findByStatusInOrderByIdAsc(any())).thenReturn(List.of(job));
+
+        // When
+        jobService.resumeUnfinished();
+        executor.shutdown();
+
+        // Then
+        verify(jobRepository, never()).claim(any(), any());
+        verify(jobRepository, never()).findById(any());
+        assertEquals(SmsIngestionJobStatus.RUNNING, job.getStatus());
+    }
+}
@@ -0,0 +1,212 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse;
+import com.myfinance.app.finance_tracker.dto.SmsBatchResponse.Outcome;
+import com.myfinance.app.finance_tracker.dto.SmsIngestProgress;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.TransactionRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SmsIngestionServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private SmsBatchParser batchParser;
+
+    @Mock
+    private TransactionHashFilter hashFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SmsIngestionServiceImpl ingestionService;
+    private final List<SmsMessage> messages = Collections.nCopies(5, new SmsMessage("text", null));
+
+    @BeforeEach
+    void setUp() {
+        ingestionService = new SmsIngestionServiceImpl(userRepository, transactionRepository, batchParser,
+            hashFilter, transactionManager);
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void ingest_SavesInChunks_AndReportsDuplicatesSeparately() {
+        // Given: chunks of two; message 2 is already stored, message 3 repeats message 0
+        ReflectionTestUtils.setField(ingestionService, "chunkSize", 2);
+        when(batchParser.parse(eq(1L), any())).thenReturn(List.of(
+            parsed("h0"), new SmsBatchParser.Parsed(null, "Unable to parse SMS"), parsed("h2"), parsed("h0"),
+            parsed("h4")));
+        when(hashFilter.isDuplicate(1L, "h0")).thenReturn(false);
+        when(hashFilter.isDuplicate(1L, "h2")).thenReturn(true);
+        when(hashFilter.isDuplicate(1L, "h4")).thenReturn(false);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+
+        // When
+        SmsBatchResponse response = ingestionService.ingest(1L, messages);
+
+        // Then
+        assertEquals(2, response.getSuccessfulTransactions());
+        assertEquals(2, response.getDuplicateTransactions());
+        assertEquals(1, response.getFailedTransactions());
+        assertEquals(List.of(Outcome.CREATED, Outcome.FAILED, Outcome.DUPLICATE, Outcome.DUPLICATE, Outcome.CREATED),
+            response.getResults().stream().map(SmsBatchResponse.TransactionResult::getOutcome).toList());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, response.getResults().get(i).getIndex());
+        }
+        assertEquals(3, response.getChunks().size());
+        assertEquals(4, response.getChunks().get(2).getFirstMessage());
+        verify(transactionRepository, times(2)).saveAll(anyList());
+        verify(hashFilter).add(1L, "h0");
+        verify(hashFilter).add(1L, "h4");
+    }
+
+    @Test
+    void ingest_FailedChunk_IsRetriedRowByRow() {
+        // Given
+        ReflectionTestUtils.setField(ingestionService, "chunkSize", 100);
+        Transaction good = parsed("good").transaction();
+        Transaction bad = parsed("bad").transaction();
+        when(batchParser.parse(eq(1L), any())).thenReturn(List.of(
+            new SmsBatchParser.Parsed(good, null), new SmsBatchParser.Parsed(bad, null)));
+        when(hashFilter.isDuplicate(eq(1L), any())).thenReturn(false);
+        when(transactionRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("constraint"));
+        when(transactionRepository.save(good)).thenAnswer(inv -> assignIds(List.of(good)).get(0));
+        when(transactionRepository.save(bad)).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // When
+        SmsBatchResponse response = ingestionService.ingest(1L, messages.subList(0, 2));
+
+        // Then
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("value too long", response.getResults().get(1).getError());
+        assertTrue(response.getChunks().get(0).isRetriedRowByRow());
+        assertEquals(1, response.getChunks().get(0).getCreated());
+        assertEquals(1, response.getChunks().get(0).getFailed());
+    }
+
+    @Test
+    void ingest_RowSavedConcurrently_IsADuplicate() {
+        // Given: another import stores the same message between the check and the save
+        ReflectionTestUtils.setField(ingestionService, "chunkSize", 100);
+        Transaction raced = parsed("h0").transaction();
+        when(batchParser.parse(eq(1L), any())).thenReturn(List.of(new SmsBatchParser.Parsed(raced, null)));
+        when(hashFilter.isDuplicate(1L, "h0")).thenReturn(false);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("duplicate key", new SQLException(), ContentHash.UNIQUE_CONSTRAINT));
+        when(transactionRepository.saveAll(anyList())).thenThrow(violation);
+        when(transactionRepository.save(raced)).thenThrow(violation);
+
+        // When
+        SmsBatchResponse response = ingestionService.ingest(1L, messages.subList(0, 1));
+
+        // Then
+        assertEquals(Outcome.DUPLICATE, response.getResults().get(0).getOutcome());
+        assertEquals(1, response.getDuplicateTransactions());
+        assertEquals(0, response.getFailedTransactions());
+    }
+
+    @Test
+    void ingestStream_ReadsAChunkOnlyAfterThePreviousOneIsReported() {
+        // Given: five messages in chunks of two
+        ReflectionTestUtils.setField(ingestionService, "chunkSize", 2);
+        Iterator<SmsMessage> source = messages.iterator();
+        AtomicInteger read = new AtomicInteger();
+        Iterator<SmsMessage> counting = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public SmsMessage next() {
+                read.incrementAndGet();
+                return source.next();
+            }
+        };
+        when(batchParser.parse(eq(1L), any())).thenAnswer(inv -> {
+            List<SmsMessage> chunk = inv.getArgument(1);
+            return IntStream.range(0, chunk.size()).mapToObj(i -> parsed("h" + (read.get() - i))).toList();
+        });
+        when(hashFilter.isDuplicate(eq(1L), any())).thenReturn(false);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+        List<SmsIngestProgress> lines = new ArrayList<>();
+        List<Integer> readWhenReported = new ArrayList<>();
+
+        // When
+        SmsIngestProgress totals = ingestionService.ingest(1L, counting, progress -> {
+            lines.add(progress);
+            readWhenReported.add(read.get());
+        });
+
+        // Then
+        assertEquals(List.of(2, 4, 5), readWhenReported);
+        assertEquals(3, lines.size());
+        assertEquals(4, lines.get(2).getChunk().getFirstMessage());
+        assertEquals(4, lines.get(2).getResults().get(0).getIndex());
+        assertEquals(4, lines.get(1).getSuccessfulTransactions());
+        assertTrue(totals.isDone());
+        assertEquals(5, totals.getTotalProcessed());
+        assertEquals(5, totals.getSuccessfulTransactions());
+        verify(transactionRepository, times(3)).saveAll(anyList());
+    }
+
+    private static SmsBatchParser.Parsed parsed(String hash) {
+        Transaction txn = Transaction.builder()
+            .origin(TransactionOrigin.SMS)
+            .amount(new BigDecimal("-10.00"))
+            .transactionTime(LocalDateTime.of(2025, 1, 30, 9, 15))
+            .contentHash(hash)
+            .build();
+        return new SmsBatchParser.Parsed(txn, null);
+    }
+
+    private static List<Transaction> assignIds(List<Transaction> transactions) {
+        long id = 100;
+        for (Transaction t : transactions) {
+            t.setId(id++);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,80 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SmsTemplateRegistryTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final SmsTemplateRegistry registry = new SmsTemplateRegistry(meters, SmsTemplateRegistry.BUILT_IN);
+
+    @Test
+    void parse_RecognizesEachBuiltInBankFormat() {
+        assertParsed("generic", "-1250.00", "2025-07-31", "SWIGGY",
+            "Rs. 1,250.00 debited from A/c XX1234 on 31-07-2025 at 14:30 PM for SWIGGY. Avl Bal: Rs. 45,678.90");
+        assertParsed("generic", "50", "2024-07-30", null,
+            "Rs.50 credited to A/c XX1234 on 30-07-24 at 11:00 AM. Avl Bal: Rs.5050.00");
+        assertParsed("hdfc-upi", "-500.00", "2024-08-12", "zomato@hdfcbank",
+            "Rs.500.00 debited from a/c **1234 on 12-08-24 to VPA zomato@hdfcbank (UPI Ref No 423456789012)."
+                + " Not you? Call 18002586161 -HDFC Bank");
+        assertParsed("hdfc-card", "-2345.00", "2024-08-12", "AMAZON",
+            "Spent Rs.2,345.00 On HDFC Bank Card 1234 At AMAZON On 2024-08-12:10:30:15");
+        assertParsed("icici", "-500.00", "2024-08-12", "ZOMATO",
+            "ICICI Bank Acct XX123 debited for Rs 500.00 on 12-Aug-24; ZOMATO credited. UPI:423456789012.");
+        assertParsed("sbi-upi", "-500.0", "2024-08-12", "ZOMATO",
+            "Dear UPI user A/C X1234 debited by 500.0 on date 12Aug24 trf to ZOMATO Refno 423456789012."
+                + " If not u? call 1800111109. -SBI");
+        assertParsed("axis-upi", "-500.00", "2024-08-12", "ZOMATO",
+            "INR 500.00 debited A/c no. XX1234 12-08-24, 10:30:15 UPI/P2M/423456789012/ZOMATO Not you?"
+                + " SMS BLOCKUPI Cust ID to 919951860002 Axis Bank");
+        assertParsed("upi", "1000", "2024-08-12", "RAHUL",
+            "Rs.1000 received from RAHUL via UPI on 12-08-2024");
+    }
+
+    @Test
+    void parse_RejectsAMessageWhoseDateDoesNotParse() {
+        // Given: a date group in the right shape but with month 13
+        String badDate = "Rs. 1,250.00 debited from A/c XX1234 on 31-13-2024 at 14:30 PM for SWIGGY.";
+
+        // When / Then: no match, rather than a match dated today
+        assertTrue(registry.parse(badDate).isEmpty());
+        assertTrue(registry.parse(badDate.replace("31-13-2024", "31-12-2024")).isPresent());
+    }
+
+    @Test
+    void candidates_OnlyIncludeTemplatesWhoseAnchorsArePresent() {
+        List<String> candidates = registry.candidates(
+            "ICICI Bank Acct XX123 debited for Rs 500.00 on 12-Aug-24; ZOMATO credited.");
+        assertEquals(List.of("icici"), candidates);
+        assertTrue(registry.candidates("Your OTP is 123456").isEmpty());
+    }
+
+    @Test
+    void parse_CountsHitsPerTemplate() {
+        registry.parse("Spent Rs.10 On HDFC Bank Card 1234 At CAFE On 2024-08-12:10:30:15");
+        registry.parse("Spent Rs.20 On HDFC Bank Card 1234 At CAFE On 2024-08-13:10:30:15");
+        registry.parse("Your OTP is 123456");
+
+        assertEquals(2.0, meters.get("sms.template.hits").tag("template", "hdfc-card").counter().count());
+        assertEquals(1L, meters.get("sms.template.parse").tag("template", "none").timer().count());
+    }
+
+    private void assertParsed(String template, String amount, String date, String merchant, String sms) {
+        SmsTemplateRegistry.Result result = registry.parse(sms).orElseThrow(() -> new AssertionError("no match: " + sms));
+        SmsTemplate.Match m = result.match();
+        BigDecimal signed = m.direction() == TransactionDirection.DEBIT ? m.amount().negate() : m.amount();
+        assertEquals(template, result.template().name(), sms);
+        assertEquals(new BigDecimal(amount), signed, sms);
+        assertEquals(LocalDate.parse(date), m.date(), sms);
+        assertEquals(merchant, m.merchant(), sms);
+    }
+}
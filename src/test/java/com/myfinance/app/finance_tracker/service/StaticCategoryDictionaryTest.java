@@ -0,0 +1,67 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class StaticCategoryDictionaryTest {
+
+    @Test
+    void init_WithoutLocation_LoadsClasspathDefault() {
+        StaticCategoryDictionary dictionary = new StaticCategoryDictionary();
+        dictionary.init();
+
+        assertEquals("1", dictionary.current().version());
+        assertEquals("Food & Dining", dictionary.current().matcher().match("Paid to SWIGGY"));
+        assertTrue(dictionary.current().source().startsWith("classpath:"));
+    }
+
+    @Test
+    void reload_SwapsInEditedFile_AndKeepsOldSnapshotOnBadEdit() throws Exception {
+        // Given
+        Path file = Files.createTempFile("static-keywords", ".txt");
+        Files.writeString(file, "version = 1\n[Food]\nzomato\n", StandardCharsets.UTF_8);
+        StaticCategoryDictionary dictionary = new StaticCategoryDictionary();
+        ReflectionTestUtils.setField(dictionary, "location", file.toString());
+        dictionary.init();
+        StaticCategoryDictionary.Snapshot first = dictionary.current();
+
+        // When: a valid edit
+        Files.writeString(file, "version = 2\n[Food]\nzomato, blinkit\n", StandardCharsets.UTF_8);
+        dictionary.reload();
+
+        // Then
+        assertEquals("2", dictionary.current().version());
+        assertEquals("Food", dictionary.current().matcher().match("BLINKIT order"));
+        assertTrue(dictionary.current().generation() > first.generation());
+        assertNull(first.matcher().match("BLINKIT order")); // old snapshot untouched
+
+        // When: a broken edit
+        StaticCategoryDictionary.Snapshot second = dictionary.current();
+        Files.writeString(file, "version = 3\n[Food]\nBad Keyword!\n", StandardCharsets.UTF_8);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, dictionary::reload);
+        assertSame(second, dictionary.current());
+        Files.delete(file);
+    }
+
+    @Test
+    void parse_RejectsMissingVersionAndStrayKeywords() {
+        assertThrows(IllegalArgumentException.class,
+            () -> StaticCategoryDictionary.parse(new StringReader("[Food]\nzomato\n")));
+        assertThrows(IllegalArgumentException.class,
+            () -> StaticCategoryDictionary.parse(new StringReader("version = 1\nzomato\n")));
+        assertThrows(IllegalArgumentException.class,
+            () -> StaticCategoryDictionary.parse(new StringReader("version = 1\n# nothing yet\n")));
+    }
+}
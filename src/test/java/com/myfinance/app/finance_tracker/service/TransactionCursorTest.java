@@ -0,0 +1,31 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.exception.InvalidCursorException;
+
+class TransactionCursorTest {
+
+    @Test
+    void encode_RoundTripsAsAnUrlSafeToken() {
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2025, 1, 30, 9, 15, 0, 123_000_000), 4711L);
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="));
+        assertEquals(cursor, TransactionCursor.decode(token));
+    }
+
+    @Test
+    void decode_RejectsTokensItDidNotIssue() {
+        assertThrows(InvalidCursorException.class, () -> TransactionCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> TransactionCursor.decode("bm8tY29tbWE"));
+        assertThrows(InvalidCursorException.class,
+            () -> TransactionCursor.decode(new TransactionCursor(LocalDateTime.now(), 1).encode().substring(3)));
+    }
+}
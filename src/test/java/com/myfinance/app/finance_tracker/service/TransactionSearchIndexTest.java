@@ -0,0 +1,94 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransactionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "maxUsers", 2);
+        ReflectionTestUtils.setField(searchIndex, "maxAge", Duration.ofMinutes(10));
+        // Every user has one transaction, its id the user's id times ten.
+        lenient().doAnswer(inv -> {
+            long userId = inv.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(userId * 10);
+            when(rs.getString(2)).thenReturn("Rs.100 debited at Swiggy");
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void search_BuildsTheUsersIndexOnce() {
+        // When
+        InvertedIndex.Hits first = searchIndex.search(1L, "swiggy", 0, 10);
+        InvertedIndex.Hits second = searchIndex.search(1L, "swiggy", 0, 10);
+
+        // Then
+        assertEquals(List.of(10L), first.ids());
+        assertEquals(List.of(10L), second.ids());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+    }
+
+    @Test
+    void pastMaxUsers_OnlyTheLeastRecentlySearchedIsDropped() {
+        // Given: two users indexed, the first searched again since
+        searchIndex.search(1L, "swiggy", 0, 10);
+        searchIndex.search(2L, "swiggy", 0, 10);
+        searchIndex.search(1L, "swiggy", 0, 10);
+
+        // When: a third user's index takes a slot
+        searchIndex.search(3L, "swiggy", 0, 10);
+        searchIndex.search(1L, "swiggy", 0, 10);
+        searchIndex.search(3L, "swiggy", 0, 10);
+        searchIndex.search(2L, "swiggy", 0, 10);
+
+        // Then: user 1 and 3 were kept; only user 2 was rebuilt
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(3L));
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), eq(2L));
+    }
+
+    @Test
+    void put_ReachesALoadedIndexOnly() {
+        // Given
+        searchIndex.search(1L, "swiggy", 0, 10);
+
+        // When
+        searchIndex.put(1L, 11L, "Rs.50 debited at Zomato", null, null);
+        searchIndex.put(2L, 21L, "Rs.50 debited at Zomato", null, null);
+
+        // Then
+        assertEquals(List.of(11L), searchIndex.search(1L, "zomato", 0, 10).ids());
+        assertEquals(List.of(), searchIndex.search(2L, "zomato", 0, 10).ids());
+    }
+}
@@ -0,0 +1,148 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.dto.TransactionPage;
+import com.myfinance.app.finance_tracker.dto.TransactionSearchPage;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.TransactionRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SmsParser smsParser;
+
+    @Mock
+    private CategoryResolverService categoryResolver;
+
+    @Mock
+    private MerchantNormalizer merchantNormalizer;
+
+    @Mock
+    private TransactionHashFilter hashFilter;
+
+    @Mock
+    private SmsIngestionService ingestionService;
+
+    @Mock
+    private TransactionSearchIndex searchIndex;
+
+    @InjectMocks
+    private TransactionServiceImpl transactionService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        ReflectionTestUtils.setField(transactionService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(transactionService, "maxPageSize", 3);
+    }
+
+    @Test
+    void getTransactions_WithMoreRows_ReturnsCursorAfterTheLastOne() {
+        // Given: one row more than the default page
+        LocalDateTime time = LocalDateTime.of(2025, 1, 30, 9, 15);
+        SpecificationFluentQuery<Transaction> query =
+            stubQuery(List.of(transaction(30L, time), transaction(20L, time), transaction(10L, time)));
+
+        // When
+        TransactionPage page = transactionService.getTransactions(1L, new TransactionFilter(), null, null);
+
+        // Then
+        verify(query).limit(3);
+        assertEquals(2, page.getItems().size());
+        assertEquals(20L, (long) page.getItems().get(1).getId());
+        assertEquals(new TransactionCursor(time, 20L), TransactionCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getTransactions_FromCursor_SeeksPastIt_AndCapsTheLimit() {
+        // Given
+        LocalDateTime time = LocalDateTime.of(2025, 1, 30, 9, 15);
+        String cursor = new TransactionCursor(time, 20L).encode();
+        List<Transaction> rows = new ArrayList<>(List.of(transaction(10L, time), transaction(5L, time.minusDays(1))));
+        SpecificationFluentQuery<Transaction> query = stubQuery(rows);
+
+        // When: asking for far more than the maximum page of 3
+        TransactionPage page = transactionService.getTransactions(1L, new TransactionFilter(), cursor, 1000);
+
+        // Then: the last page
+        verify(query).limit(4);
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchTransactions_KeepsRankOrder_AndDropsRowsThatAreGone() {
+        // Given: three ranked ids, one of which no longer exists
+        LocalDateTime time = LocalDateTime.of(2025, 1, 30, 9, 15);
+        when(searchIndex.search(1L, "irctc", 0, 3)).thenReturn(new InvertedIndex.Hits(List.of(7L, 99L, 3L), 5));
+        when(transactionRepository.findAllById(List.of(7L, 99L, 3L)))
+            .thenReturn(List.of(transaction(3L, time), transaction(7L, time)));
+
+        // When
+        TransactionSearchPage page = transactionService.searchTransactions(1L, "irctc", null, 3);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(7L, (long) page.getItems().get(0).getId());
+        assertEquals(3L, (long) page.getItems().get(1).getId());
+        assertEquals(5, page.getTotal());
+        assertEquals(3, (int) page.getNextOffset());
+    }
+
+    /** Runs the service's query function against a fluent query that returns {@code rows}. */
+    @SuppressWarnings("unchecked")
+    private SpecificationFluentQuery<Transaction> stubQuery(List<Transaction> rows) {
+        SpecificationFluentQuery<Transaction> query = mock(SpecificationFluentQuery.class, RETURNS_SELF);
+        when(query.all()).thenReturn(rows);
+        when(transactionRepository.<Transaction, List<Transaction>>findBy(
+                ArgumentMatchers.<Specification<Transaction>>any(), any()))
+            .thenAnswer(invocation -> invocation.<Function<SpecificationFluentQuery<Transaction>, List<Transaction>>>getArgument(1).apply(query));
+        return query;
+    }
+
+    private Transaction transaction(Long id, LocalDateTime time) {
+        return Transaction.builder()
+            .id(id)
+            .user(user)
+            .origin(TransactionOrigin.MANUAL)
+            .amount(new BigDecimal("-100.00"))
+            .transactionTime(time)
+            .build();
+    }
+}
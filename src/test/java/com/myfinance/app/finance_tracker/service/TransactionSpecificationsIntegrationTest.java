@@ -0,0 +1,263 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.myfinance.app.finance_tracker.dto.TransactionFilter;
+import com.myfinance.app.finance_tracker.model.Transaction;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+import com.myfinance.app.finance_tracker.model.User;
+import com.myfinance.app.finance_tracker.repository.TransactionRepository;
+import com.myfinance.app.finance_tracker.repository.UserRepository;
+
+/**
+ * {@link TransactionSpecifications} run by Hibernate against H2, with the
+ * schema and indexes the entities declare.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.myfinance.app.finance_tracker.service.TransactionSpecificationsIntegrationTest$LastStatement")
+@Import({TransactionSearchListener.class, TransactionSearchIndex.class})
+class TransactionSpecificationsIntegrationTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+
+    /** Fresh users per test: ANALYZE commits on H2, so rows can outlive a test's rollback. */
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x").build());
+        other = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x").build());
+    }
+
+    @Test
+    void debitRange_MatchesMagnitudesInclusively_AndOnlyDebits() {
+        // Given
+        save(user, "-99.99", NOON, "Food");
+        Transaction low = save(user, "-100.00", NOON.plusMinutes(1), "Food");
+        Transaction high = save(user, "-500.00", NOON.plusMinutes(2), "Food");
+        save(user, "-500.01", NOON.plusMinutes(3), "Food");
+        save(user, "200.00", NOON.plusMinutes(4), "Food");
+        save(other, "-250.00", NOON.plusMinutes(5), "Food");
+
+        // When
+        List<Long> ids = page(filter(TransactionDirection.DEBIT, "100", "500"), null, 10);
+
+        // Then
+        assertEquals(List.of(high.getId(), low.getId()), ids);
+    }
+
+    @Test
+    void creditRange_CountsZeroAsACredit() {
+        // Given
+        Transaction zero = save(user, "0.00", NOON, "Food");
+        Transaction credit = save(user, "40.00", NOON.plusMinutes(1), "Food");
+        save(user, "40.01", NOON.plusMinutes(2), "Food");
+        save(user, "-10.00", NOON.plusMinutes(3), "Food");
+
+        // When
+        List<Long> ids = page(filter(TransactionDirection.CREDIT, null, "40"), null, 10);
+
+        // Then
+        assertEquals(List.of(credit.getId(), zero.getId()), ids);
+    }
+
+    @Test
+    void amountRangeWithoutDirection_MatchesBothSigns() {
+        // Given
+        Transaction debit = save(user, "-75.00", NOON, "Food");
+        Transaction credit = save(user, "75.00", NOON.plusMinutes(1), "Food");
+        save(user, "-10.00", NOON.plusMinutes(2), "Food");
+        save(user, "10.00", NOON.plusMinutes(3), "Food");
+
+        // When
+        List<Long> ids = page(filter(null, "50", "100"), null, 10);
+
+        // Then
+        assertEquals(List.of(credit.getId(), debit.getId()), ids);
+    }
+
+    @Test
+    void dateBounds_FromIsInclusive_ToIsExclusive() {
+        // Given
+        save(user, "-1.00", NOON.minusNanos(1000), "Food");
+        Transaction first = save(user, "-1.00", NOON, "Food");
+        Transaction last = save(user, "-1.00", NOON.plusDays(1).minusNanos(1000), "Food");
+        save(user, "-1.00", NOON.plusDays(1), "Food");
+
+        TransactionFilter filter = new TransactionFilter();
+        filter.setFrom(NOON);
+        filter.setTo(NOON.plusDays(1));
+
+        // When
+        List<Long> ids = page(filter, null, 10);
+
+        // Then
+        assertEquals(List.of(last.getId(), first.getId()), ids);
+    }
+
+    @Test
+    void cursor_WalksFilteredRowsNewestFirst_WithTiesBrokenById() {
+        // Given: several rows per timestamp, in and out of the filter
+        List<Transaction> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime time = NOON.plusMinutes(i / 3);
+            Transaction travel = save(user, "-" + (100 + i) + ".00", time, "Travel");
+            save(user, "-" + (100 + i) + ".00", time, "Food");
+            save(user, (100 + i) + ".00", time, "Travel");
+            expected.add(travel);
+        }
+        expected.sort(Comparator.comparing(Transaction::getTransactionTime)
+            .thenComparing(Transaction::getId).reversed());
+        TransactionFilter filter = filter(TransactionDirection.DEBIT, "100", null);
+        filter.setCategory("Travel");
+
+        // When: pages of 5 from the cursor of each previous page's last row
+        List<Long> walked = new ArrayList<>();
+        TransactionCursor after = null;
+        do {
+            List<Transaction> rows = pageRows(filter, after, 5);
+            rows.forEach(t -> walked.add(t.getId()));
+            after = rows.size() == 5 ? TransactionCursor.after(rows.get(4)) : null;
+        } while (after != null);
+
+        // Then
+        assertEquals(expected.stream().map(Transaction::getId).toList(), walked);
+    }
+
+    @Test
+    void nextPage_ReadsTheUserTimeIndexInOrder() {
+        // Given
+        seed(200);
+        TransactionCursor after = new TransactionCursor(NOON.minusHours(50), Long.MAX_VALUE);
+
+        // When
+        page(new TransactionFilter(), after, 10);
+        String plan = explainLastStatement();
+
+        // Then: no sort of the user's older rows, the page is read off the index
+        assertTrue(plan.contains("IDX_TRANSACTIONS_USER_TIME_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void categoryPage_ReadsTheUserCategoryIndexInOrder() {
+        // Given
+        seed(200);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCategory("Travel");
+
+        // When
+        page(filter, null, 10);
+        String plan = explainLastStatement();
+
+        // Then
+        assertTrue(plan.contains("IDX_TRANSACTIONS_USER_CATEGORY_TIME"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    private void seed(int count) {
+        String[] categories = {"Food", "Travel", "Bills", "Rent"};
+        for (int i = 0; i < count; i++) {
+            for (User u : List.of(user, other)) {
+                save(u, (i % 5 == 0 ? "" : "-") + (10 + i) + ".00", NOON.minusHours(i),
+                    categories[i % categories.length]);
+            }
+        }
+    }
+
+    private Transaction save(User owner, String amount, LocalDateTime time, String category) {
+        return transactionRepository.save(Transaction.builder()
+            .user(owner)
+            .origin(TransactionOrigin.MANUAL)
+            .amount(new BigDecimal(amount))
+            .merchant("Merchant")
+            .category(category)
+            .transactionTime(time)
+            .build());
+    }
+
+    private static TransactionFilter filter(TransactionDirection direction, String min, String max) {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setDirection(direction);
+        filter.setMinAmount(min != null ? new BigDecimal(min) : null);
+        filter.setMaxAmount(max != null ? new BigDecimal(max) : null);
+        return filter;
+    }
+
+    private List<Long> page(TransactionFilter filter, TransactionCursor after, int size) {
+        return pageRows(filter, after, size).stream().map(Transaction::getId).toList();
+    }
+
+    /** The query TransactionServiceImpl.getTransactions runs. */
+    private List<Transaction> pageRows(TransactionFilter filter, TransactionCursor after, int size) {
+        transactionRepository.flush();
+        return transactionRepository.findBy(TransactionSpecifications.matching(user.getId(), filter, after),
+            q -> q.sortBy(TransactionSpecifications.newestFirst(filter)).limit(size).all());
+    }
+
+    /**
+     * H2's plan for the last statement Hibernate ran, as it was prepared
+     * (before its parameters were bound). ANALYZE first, so H2 costs the
+     * indexes from the seeded rows rather than its defaults.
+     */
+    private String explainLastStatement() {
+        String sql = LastStatement.sql;
+        jdbcTemplate.execute("ANALYZE");
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                int params = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= params; i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            if (statement.toLowerCase(Locale.ROOT).startsWith("select")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.myfinance.app.finance_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.model.Transaction;
+
+class TransactionSpecificationsTest {
+
+    @Test
+    void escapeLike_KeepsWildcardsInTheSearchLiteral() {
+        // Given: a merchant name with LIKE's special characters
+        String prefix = "50%_off\\store";
+
+        // When
+        String escaped = TransactionSpecifications.escapeLike(prefix);
+
+        // Then
+        assertEquals("50\\%\\_off\\\\store", escaped);
+    }
+
+    @Test
+    void merchantKey_IsLowerCasedWithoutTheDefaultLocale() {
+        // Given / When / Then: no dotless i, whatever the JVM's locale
+        assertEquals("irctc", Transaction.merchantKey("IRCTC"));
+        assertNull(Transaction.merchantKey(null));
+    }
+}
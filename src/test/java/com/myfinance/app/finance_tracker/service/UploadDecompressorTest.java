@@ -0,0 +1,113 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.myfinance.app.finance_tracker.exception.DecompressionLimitException;
+
+class UploadDecompressorTest {
+
+    private static final String SMS = "2025-01-30 09:15|HDFCBK|Rs.450 debited\n";
+
+    private UploadDecompressor decompressor;
+
+    @BeforeEach
+    void setUp() {
+        decompressor = new UploadDecompressor();
+        ReflectionTestUtils.setField(decompressor, "maxInflatedBytes", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(decompressor, "maxRequestInflatedBytes", 64L * 1024);
+        ReflectionTestUtils.setField(decompressor, "maxInflationRatio", 100);
+    }
+
+    @Test
+    void open_InflatesGzip_AndPassesPlainTextThrough() throws IOException {
+        assertEquals(SMS, read(decompressor.open(new ByteArrayInputStream(gzip(SMS.getBytes(StandardCharsets.UTF_8))))));
+        assertEquals(SMS, read(decompressor.open(new ByteArrayInputStream(SMS.getBytes(StandardCharsets.UTF_8)))));
+        assertEquals("", read(decompressor.open(new ByteArrayInputStream(new byte[0]))));
+    }
+
+    @Test
+    void open_ReadsTheFirstFileOfAZip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("__MACOSX/._sms.txt"));
+            zip.write(new byte[] {0, 1, 2});
+            zip.putNextEntry(new ZipEntry("export/"));
+            zip.putNextEntry(new ZipEntry("export/sms.txt"));
+            zip.write(SMS.getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("export/other.txt"));
+            zip.write("ignored".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(SMS, read(decompressor.open(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    void highlyCompressibleInput_IsCutOffByRatio() throws IOException {
+        // Given: 4 MB of zeros, which gzip shrinks about a thousandfold
+        byte[] bomb = gzip(new byte[4 * 1024 * 1024]);
+
+        // When / Then
+        InputStream in = decompressor.open(new ByteArrayInputStream(bomb));
+        DecompressionLimitException e = assertThrows(DecompressionLimitException.class, () -> read(in));
+        assertEquals("Upload inflates more than 100 times its compressed size", e.getMessage());
+    }
+
+    @Test
+    void largeInflatedSize_IsCutOff() throws IOException {
+        // Given: random-ish text that barely compresses, past the 1 MB limit
+        ReflectionTestUtils.setField(decompressor, "maxInflatedBytes", 1024L * 1024);
+        byte[] gz = gzip(text(2 * 1024 * 1024).getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        InputStream in = decompressor.open(new ByteArrayInputStream(gz));
+        assertThrows(DecompressionLimitException.class, () -> read(in));
+    }
+
+    @Test
+    void gzipRequestBody_HasItsOwnSmallerLimit() throws IOException {
+        // Given: 128 KB, well within the file limit but past the 64 KB request body limit
+        byte[] gz = gzip(text(128 * 1024).getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertEquals(128 * 1024, read(decompressor.open(new ByteArrayInputStream(gz))).length());
+        InputStream body = decompressor.gunzip(new ByteArrayInputStream(gz));
+        DecompressionLimitException e = assertThrows(DecompressionLimitException.class, () -> read(body));
+        assertEquals("Upload inflates to more than 65536 bytes", e.getMessage());
+    }
+
+    /** ASCII text that gzip shrinks only a few times, so the ratio limit stays out of the way. */
+    private static String text(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < length; i++) {
+            text.append(Integer.toHexString(i * 0x9E3779B1)).append('\n');
+        }
+        return text.substring(0, length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
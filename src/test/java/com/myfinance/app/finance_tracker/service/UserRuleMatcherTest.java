@@ -0,0 +1,139 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.model.CategoryRule;
+import com.myfinance.app.finance_tracker.model.TransactionDirection;
+import com.myfinance.app.finance_tracker.model.TransactionOrigin;
+
+class UserRuleMatcherTest {
+
+    @Test
+    void match_ReturnsFirstRuleInListOrder_NotFirstOccurrenceInText() {
+        // Given
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(
+            rule("swiggy", "Food"),
+            rule("uber", "Travel")
+        ), 0L);
+
+        // When / Then
+        assertEquals("Food", matcher.match("UBER EATS via Swiggy"));
+    }
+
+    @Test
+    void match_FindsOverlappingAndNestedPatterns() {
+        // Given
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(
+            rule("prime video", "Streaming"),
+            rule("amazon", "Shopping"),
+            rule("zon pr", "Weird")
+        ), 0L);
+
+        // When / Then
+        assertEquals("Shopping", matcher.match("AMAZON PRIME membership"));
+        assertEquals("Weird", matcher.match("xamazo zon prx"));
+        assertEquals("Streaming", matcher.match("amazon prime video"));
+    }
+
+    @Test
+    void match_IsCaseInsensitiveAndMatchesInsideWords() {
+        // Given
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(rule("mato", "Food")), 0L);
+
+        // When / Then
+        assertEquals("Food", matcher.match("ZOMATO order"));
+        assertNull(matcher.match("swiggy"));
+    }
+
+    @Test
+    void match_RegexRules_KeepListPriorityWithSubstrings() {
+        // Given
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(
+            rule("upi/p2a/\\d+", "Transfers"),
+            rule("zomato", "Food"),
+            rule(".*swiggy.*", "Food"),
+            rule("(uber|ola) ?ride", "Travel")
+        ), 0L);
+
+        // When / Then
+        assertEquals("Transfers", matcher.match("UPI/P2A/12345 zomato"));
+        assertEquals("Food", matcher.match("Swiggy order"));
+        assertEquals("Travel", matcher.match("OLA RIDE to airport"));
+        assertNull(matcher.match("upi/p2a/x"));
+    }
+
+    @Test
+    void match_UnparseableLegacyPattern_FallsBackToSubstring() {
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(rule("cafe (main", "Food")), 0L);
+        assertEquals("Food", matcher.match("paid at CAFE (MAIN street)"));
+    }
+
+    @Test
+    void match_CompoundRules_ApplyOnlyWhenPredicatesHold() {
+        // Given: "UPI transfers over 10,000 that are credits are Income", else Transfers
+        CategoryRule income = rule("upi", "Income");
+        income.setDirection(TransactionDirection.CREDIT);
+        income.setOrigin(TransactionOrigin.SMS);
+        income.setMinAmount(new BigDecimal("10000"));
+        CategoryRule usd = rule("upi", "Forex");
+        usd.setCurrency("USD");
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(income, usd, rule("upi", "Transfers")), 0L);
+
+        // When / Then
+        assertEquals("Income", matcher.match("UPI credit", new BigDecimal("25000"), TransactionOrigin.SMS, "INR"));
+        assertEquals("Transfers", matcher.match("UPI credit", new BigDecimal("9999.99"), TransactionOrigin.SMS, "INR"));
+        assertEquals("Transfers", matcher.match("UPI debit", new BigDecimal("-25000"), TransactionOrigin.SMS, "INR"));
+        assertEquals("Transfers", matcher.match("UPI credit", new BigDecimal("25000"), TransactionOrigin.MANUAL, "INR"));
+        assertEquals("Forex", matcher.match("UPI debit", new BigDecimal("-50"), TransactionOrigin.MANUAL, "usd"));
+        assertEquals("Transfers", matcher.match("UPI credit"));
+    }
+
+    @Test
+    void match_ConditionalRulesOnOnePattern_AreTriedInListOrder() {
+        // Given: one pattern (two spellings that simplify alike) in three amount bands
+        CategoryRule big = rule("swiggy", "Catering");
+        big.setMinAmount(new BigDecimal("5000"));
+        CategoryRule forex = rule(".*swiggy.*", "Forex");
+        forex.setCurrency("USD");
+        CategoryRule small = rule("SWIGGY", "Snacks");
+        small.setMaxAmount(new BigDecimal("200"));
+        UserRuleMatcher matcher = UserRuleMatcher.compile(
+            List.of(big, forex, small, rule("swiggy", "Food")), 0L);
+
+        // When / Then
+        assertEquals("Catering", matcher.match("Paid to Swiggy", new BigDecimal("-6000"), null, "USD"));
+        assertEquals("Forex", matcher.match("Paid to Swiggy", new BigDecimal("-150"), null, "USD"));
+        assertEquals("Snacks", matcher.match("Paid to Swiggy", new BigDecimal("-150"), null, "INR"));
+        assertEquals("Food", matcher.match("Paid to Swiggy", new BigDecimal("-700"), null, "INR"));
+    }
+
+    @Test
+    void contextKey_IsEmptyWithoutPredicates_AndGroupsAmountsByThreshold() {
+        UserRuleMatcher plain = UserRuleMatcher.compile(List.of(rule("upi", "Transfers")), 0L);
+        assertEquals("", plain.contextKey(BigDecimal.TEN, TransactionOrigin.SMS, "INR"));
+
+        CategoryRule big = rule("upi", "Big");
+        big.setMinAmount(new BigDecimal("1000"));
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(big), 0L);
+        assertEquals(matcher.contextKey(new BigDecimal("2000"), null, null),
+            matcher.contextKey(new BigDecimal("5000"), null, null));
+        assertNotEquals(matcher.contextKey(new BigDecimal("999"), null, null),
+            matcher.contextKey(new BigDecimal("1000"), null, null));
+    }
+
+    @Test
+    void match_WithNoRules_ReturnsNull() {
+        UserRuleMatcher matcher = UserRuleMatcher.compile(List.of(), 0L);
+        assertNull(matcher.match("anything"));
+    }
+
+    private static CategoryRule rule(String pattern, String category) {
+        return CategoryRule.builder().pattern(pattern).category(category).build();
+    }
+}
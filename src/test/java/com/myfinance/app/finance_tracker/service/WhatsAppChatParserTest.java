@@ -0,0 +1,107 @@
+package com.myfinance.app.finance_tracker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.myfinance.app.finance_tracker.dto.SmsBatchRequest.SmsMessage;
+
+class WhatsAppChatParserTest {
+
+    @Test
+    void iosAndAndroidLayouts_AreBothRead() {
+        List<SmsMessage> messages = parse(
+            "[30/07/24, 10:30] Bank: Rs.100 debited",
+            "[30/07/24, 22:05:09] Bank: Rs.200 credited",
+            "31/07/2024, 09:15 - HDFC Bank: Rs.300 debited",
+            "2024-08-01, 18:45 - HDFC Bank: Rs.400 debited");
+
+        assertEquals(4, messages.size());
+        assertEquals("2024-07-30T10:30", messages.get(0).getTimestamp());
+        assertEquals("2024-07-30T22:05:09", messages.get(1).getTimestamp());
+        assertEquals("Rs.300 debited", messages.get(2).getText());
+        assertEquals("2024-07-31T09:15", messages.get(2).getTimestamp());
+        assertEquals("2024-08-01T18:45", messages.get(3).getTimestamp());
+    }
+
+    @Test
+    void twelveHourTimes_AndMonthFirstDates_AreResolved() {
+        // Given: a US export; the second line settles month-first for the whole file
+        List<SmsMessage> messages = parse(
+            "\u200E[7/4/24, 12:05:00 AM] Bank: first",
+            "7/30/24, 9:15 p.m. - Bank: second",
+            "8/1/24, 12:00 PM - Bank: third");
+
+        // Then: the order is settled before any message, so the first date is month-first too
+        assertEquals("2024-07-04T00:05", messages.get(0).getTimestamp());
+        assertEquals("2024-07-30T21:15", messages.get(1).getTimestamp());
+        assertEquals("2024-08-01T12:00", messages.get(2).getTimestamp());
+    }
+
+    @Test
+    void dayFirst_IsSettledByTheFirstUnambiguousDate() {
+        assertTrue(WhatsAppChatParser.dayFirst("[1/2/24, 10:00] Bank: a\n[13/2/24, 10:00] Bank: b\n"));
+        assertFalse(WhatsAppChatParser.dayFirst("1/2/24, 10:00 - Bank: a\n2/13/24, 10:00 - Bank: b\n"));
+        assertTrue(WhatsAppChatParser.dayFirst("[1/2/24, 10:00] Bank: only ambiguous dates\n"));
+        assertTrue(WhatsAppChatParser.dayFirst("2024-12-31, 10:00 - Bank: year first\n"));
+    }
+
+    @Test
+    void continuationLines_JoinTheMessage_AndNoticesAreDropped() {
+        List<SmsMessage> messages = parse(
+            "orphan line before any message",
+            "30/07/24, 10:30 - Messages and calls are end-to-end encrypted.",
+            "still part of the notice",
+            "30/07/24, 10:31 - Bank: Rs.100 debited",
+            "  from A/c XX1234  ",
+            "",
+            "2 UPI refs: 1234",
+            "30/07/24, 10:32 - Bank: Avl Bal: Rs.5000.00");
+
+        assertEquals(2, messages.size());
+        assertEquals("Rs.100 debited\nfrom A/c XX1234\n2 UPI refs: 1234", messages.get(0).getText());
+        assertEquals("Avl Bal: Rs.5000.00", messages.get(1).getText());
+    }
+
+    @Test
+    void runawayMessage_IsCutOff() {
+        String[] lines = new String[2001];
+        lines[0] = "[30/07/24, 10:30] Bank: start";
+        for (int i = 1; i < lines.length; i++) {
+            lines[i] = "continued line " + i;
+        }
+
+        List<SmsMessage> messages = parse(lines);
+
+        assertEquals(WhatsAppChatParser.MAX_MESSAGE_CHARS, messages.get(0).getText().length());
+    }
+
+    @Test
+    void startsEntry_RecognisesHeadersOnly() {
+        assertTrue(WhatsAppChatParser.startsEntry("[30/07/24, 10:30] Bank: Rs.100 debited"));
+        assertTrue(WhatsAppChatParser.startsEntry("30/07/24, 10:30 - Messages are encrypted."));
+        assertFalse(WhatsAppChatParser.startsEntry("2 UPI refs: 1234"));
+        assertFalse(WhatsAppChatParser.startsEntry("from A/c XX1234"));
+        assertFalse(WhatsAppChatParser.startsEntry(""));
+    }
+
+    private static List<SmsMessage> parse(String... lines) {
+        WhatsAppChatParser parser = new WhatsAppChatParser(WhatsAppChatParser.dayFirst(String.join("\n", lines)));
+        List<SmsMessage> messages = new ArrayList<>();
+        for (String line : lines) {
+            SmsMessage message = parser.accept(line);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        SmsMessage last = parser.finish();
+        if (last != null) {
+            messages.add(last);
+        }
+        return messages;
+    }
+}